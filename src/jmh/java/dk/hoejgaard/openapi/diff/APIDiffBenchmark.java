@@ -0,0 +1,64 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the comparison of the parsed sample APIs scaled to a multiple of their paths, sequentially and in parallel.
+ * Run using: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=APIDiffBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class APIDiffBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int scale;
+
+    private Swagger existing;
+    private Swagger future;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        existing = SampleAPIs.scaled(SampleAPIs.read(SampleAPIs.EXISTING), scale);
+        future = SampleAPIs.scaled(SampleAPIs.read(SampleAPIs.FUTURE), scale);
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public APIDiff sequential() {
+        return new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE);
+    }
+
+    @Benchmark
+    public APIDiff parallel() {
+        return new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE, executor);
+    }
+}
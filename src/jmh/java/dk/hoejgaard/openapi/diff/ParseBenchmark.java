@@ -0,0 +1,68 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the reading of the sample APIs as they are found in the sample folder and of the scaled sample API, which is written
+ * to a temporary file before measuring.
+ * Run using: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ParseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"petstore_v1.json", "elaborate_example_v1.json", "elaborate_example_v3g.json"})
+    private String file;
+
+    @Param({"1", "10"})
+    private int scale;
+
+    private Path scaled;
+    private String location;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (scale == 1) {
+            location = SampleAPIs.location(file);
+            return;
+        }
+        scaled = Files.createTempFile("scaled-", ".json");
+        Files.write(scaled, Json.mapper().writeValueAsBytes(SampleAPIs.scaled(SampleAPIs.read(file), scale)));
+        location = scaled.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (scaled != null) {
+            Files.deleteIfExists(scaled);
+        }
+    }
+
+    @Benchmark
+    public Swagger read() {
+        return new SwaggerParser().read(location);
+    }
+}
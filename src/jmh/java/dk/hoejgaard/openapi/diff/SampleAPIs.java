@@ -0,0 +1,69 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+
+/**
+ * The APIs used by the benchmarks, read from the sample-api folder and optionally scaled to a multiple of their paths.
+ */
+public final class SampleAPIs {
+    public static final String EXISTING = "elaborate_example_v1.json";
+    public static final String FUTURE = "elaborate_example_v3f.json";
+    private static final String FOLDER = "./sample-api/";
+
+    private SampleAPIs() {
+        //intentionally empty
+    }
+
+    /**
+     * @param file the name of the file in the sample-api folder
+     * @return the parsed API
+     */
+    public static Swagger read(String file) {
+        Swagger api = new SwaggerParser().read(location(file));
+        if (null == api) {
+            throw new IllegalArgumentException("cannot read api-doc from " + location(file) + ", run the benchmark from the project folder");
+        }
+        return api;
+    }
+
+    public static String location(String file) {
+        return FOLDER + file;
+    }
+
+    /**
+     * the paths are repeated under a numbered prefix, e.g. "/s1/accounts", while the definitions are shared, which gives an API
+     * with the same kind of paths and findings as the sample, only more of them.
+     *
+     * @param api    the API to scale
+     * @param factor the number of times the paths of the API are repeated
+     * @return an API having factor times the paths of the given API
+     */
+    public static Swagger scaled(Swagger api, int factor) {
+        Map<String, Path> paths = new LinkedHashMap<>();
+        for (int i = 0; i < factor; i++) {
+            String prefix = i == 0 ? "" : "/s" + i;
+            for (Map.Entry<String, Path> path : api.getPaths().entrySet()) {
+                paths.put(prefix + path.getKey(), path.getValue());
+            }
+        }
+        Swagger scaled = new Swagger()
+            .info(api.getInfo())
+            .host(api.getHost())
+            .basePath(api.getBasePath())
+            .paths(paths);
+        scaled.setSchemes(api.getSchemes());
+        scaled.setConsumes(api.getConsumes());
+        scaled.setProduces(api.getProduces());
+        scaled.setDefinitions(api.getDefinitions());
+        scaled.setParameters(api.getParameters());
+        scaled.setResponses(api.getResponses());
+        scaled.setSecurityDefinitions(api.getSecurityDefinitions());
+        scaled.setTags(api.getTags());
+        return scaled;
+    }
+}
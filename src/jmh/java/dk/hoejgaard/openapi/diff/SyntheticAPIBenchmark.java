@@ -0,0 +1,68 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing and comparison of generated APIs having 10, 100 and 1000 times the paths of the sample APIs, the future API
+ * has every tenth operation mutated.
+ * Run using: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SyntheticAPIBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SyntheticAPIBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int paths;
+
+    private Swagger existing;
+    private Swagger future;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        existing = new SyntheticAPIs().paths(paths).operations(3).refDepth(5).enumSize(50).versions(5).build();
+        future = SyntheticAPIs.mutate(existing, 10, SyntheticAPIs.Mutation.values());
+        file = Files.createTempFile("synthetic-api", ".json");
+        SyntheticAPIs.write(existing, file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Swagger parse() {
+        return new SwaggerParser().read(file.toString());
+    }
+
+    @Benchmark
+    public APIDiff compare() {
+        return new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE);
+    }
+}
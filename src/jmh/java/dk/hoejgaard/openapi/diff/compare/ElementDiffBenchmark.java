@@ -0,0 +1,55 @@
+package dk.hoejgaard.openapi.diff.compare;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dk.hoejgaard.openapi.diff.SampleAPIs;
+import io.swagger.models.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the comparison of every definition shared by the sample APIs including the definitions they refer to.
+ * Run using: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ElementDiffBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementDiffBenchmark {
+
+    private Map<String, Model> existing;
+    private Map<String, Model> future;
+    private final List<String> definitions = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        existing = SampleAPIs.read(SampleAPIs.EXISTING).getDefinitions();
+        future = SampleAPIs.read(SampleAPIs.FUTURE).getDefinitions();
+        for (String definition : existing.keySet()) {
+            if (future.containsKey(definition)) {
+                definitions.add(definition);
+            }
+        }
+    }
+
+    @Benchmark
+    public void diff(Blackhole blackhole) {
+        for (String definition : definitions) {
+            blackhole.consume(new ElementDiff(existing, future, definition, definition, definition));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dk.hoejgaard.openapi.diff.compare;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dk.hoejgaard.openapi.diff.SampleAPIs;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the analysis of every operation shared by the sample APIs, with the definitions compared once per comparison as
+ * in a comparison of the APIs and compared for every parameter and response referring to them.
+ * Run using: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OperationDiffBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationDiffBenchmark {
+
+    @Param({"ALL", "BREAKING"})
+    private Diff depth;
+
+    private Swagger existing;
+    private Swagger future;
+    private final List<String> urls = new ArrayList<>();
+    private final List<HttpMethod> methods = new ArrayList<>();
+    private final List<Operation> existingOperations = new ArrayList<>();
+    private final List<Operation> futureOperations = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        existing = SampleAPIs.read(SampleAPIs.EXISTING);
+        future = SampleAPIs.read(SampleAPIs.FUTURE);
+        for (Map.Entry<String, Path> path : existing.getPaths().entrySet()) {
+            Path futurePath = future.getPath(path.getKey());
+            if (null == futurePath) {
+                continue;
+            }
+            for (Map.Entry<HttpMethod, Operation> operation : path.getValue().getOperationMap().entrySet()) {
+                Operation futureOperation = futurePath.getOperationMap().get(operation.getKey());
+                if (null != futureOperation) {
+                    urls.add(path.getKey());
+                    methods.add(operation.getKey());
+                    existingOperations.add(operation.getValue());
+                    futureOperations.add(futureOperation);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void analyze(Blackhole blackhole) {
+        ElementDiffCache elementDiffs = new ElementDiffCache();
+        for (int i = 0; i < urls.size(); i++) {
+            blackhole.consume(new OperationDiff(existing, future, depth, Maturity.FULL, Versions.SINGLE, elementDiffs)
+                .analyze(existingOperations.get(i), futureOperations.get(i), methods.get(i), urls.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void analyzeUncached(Blackhole blackhole) {
+        for (int i = 0; i < urls.size(); i++) {
+            blackhole.consume(new OperationDiff(existing, future, depth, Maturity.FULL, Versions.SINGLE)
+                .analyze(existingOperations.get(i), futureOperations.get(i), methods.get(i), urls.get(i)));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dk.hoejgaard.openapi.diff.compare.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how the diff of lists scales with the size of the lists, compared to the scanning diff it replaced.
+ * <p>
+ * The lists share three quarters of their elements, the rest are removed from the reference respectively added to the subject.
+ * Run using: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ListsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListsBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private List<String> reference;
+    private List<String> subject;
+
+    @Setup
+    public void setUp() {
+        reference = new ArrayList<>(size);
+        subject = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            reference.add("element-" + i);
+            subject.add("element-" + (i + size / 4));
+        }
+        Collections.shuffle(subject, new Random(size));
+    }
+
+    @Benchmark
+    public Lists<String> diff() {
+        return Lists.diff(reference, subject);
+    }
+
+    @Benchmark
+    public List<String> scan() {
+        List<String> added = new ArrayList<>(subject);
+        List<String> removed = new ArrayList<>();
+        List<String> common = new ArrayList<>();
+        for (String element : reference) {
+            if (subject.contains(element)) {
+                added.remove(element);
+                common.add(element);
+            } else {
+                removed.add(element);
+            }
+        }
+        return added;
+    }
+}
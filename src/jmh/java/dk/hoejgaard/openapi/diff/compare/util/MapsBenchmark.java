@@ -0,0 +1,49 @@
+package dk.hoejgaard.openapi.diff.compare.util;
+
+import java.util.concurrent.TimeUnit;
+
+import dk.hoejgaard.openapi.diff.SampleAPIs;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the diff of the paths of the sample APIs scaled to a multiple of their paths, which is the first step of every
+ * comparison.
+ * Run using: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=MapsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapsBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int scale;
+
+    private Swagger existing;
+    private Swagger future;
+
+    @Setup
+    public void setUp() {
+        existing = SampleAPIs.scaled(SampleAPIs.read(SampleAPIs.EXISTING), scale);
+        future = SampleAPIs.scaled(SampleAPIs.read(SampleAPIs.FUTURE), scale);
+    }
+
+    @Benchmark
+    public Maps<String, Path> diff() {
+        return Maps.diff(existing.getPaths(), future.getPaths());
+    }
+}
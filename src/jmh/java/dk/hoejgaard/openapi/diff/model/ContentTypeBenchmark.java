@@ -0,0 +1,99 @@
+package dk.hoejgaard.openapi.diff.model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the parsing of every produces and consumes entry of the sample APIs, compared to the regular expressions the parsing
+ * replaced and to the shared instances.
+ * Run using: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ContentTypeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentTypeBenchmark {
+
+    private static final String HAL_SCHEME = "^application/hal\\+json;concept=(.*);v=[0-9]+";
+    private static final String JSON_SCHEME = "^application/json;concept=(.*);v=[0-9]+";
+    private static final String HAL_CONCEPT = "^((application\\/hal\\+json)+(, )?(;concept=[a-z][a-z0-9]+)?(;v=[0-9]+)?(, )*)+";
+    private static final String JSON_CONCEPT = "^((application\\/json)+(, )?(;concept=[a-z][a-z0-9]+)?(;v=[0-9]+)?(, )*)+";
+
+    private final List<String> contentTypes = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        File[] apis = new File("sample-api").listFiles((dir, name) -> name.endsWith(".json"));
+        if (null == apis) {
+            throw new RuntimeException("cannot find the sample-api folder, run the benchmark from the project folder.");
+        }
+        for (File api : apis) {
+            Swagger swagger = new SwaggerParser().read(api.getPath());
+            add(swagger.getProduces());
+            add(swagger.getConsumes());
+            for (Path path : swagger.getPaths().values()) {
+                for (Operation operation : path.getOperations()) {
+                    add(operation.getProduces());
+                    add(operation.getConsumes());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String contentType : contentTypes) {
+            ContentType ct = new ContentType(contentType);
+            bh.consume(ct.isSchemeCompliant());
+            bh.consume(ct.isJsonConceptCompliant());
+        }
+    }
+
+    @Benchmark
+    public void shared(Blackhole bh) {
+        for (String contentType : contentTypes) {
+            ContentType ct = ContentType.of(contentType);
+            bh.consume(ct.isSchemeCompliant());
+            bh.consume(ct.isJsonConceptCompliant());
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        for (String contentType : contentTypes) {
+            bh.consume(contentType.matches(HAL_SCHEME));
+            bh.consume(contentType.matches(JSON_SCHEME));
+            bh.consume(contentType.matches(HAL_CONCEPT));
+            bh.consume(contentType.matches(JSON_CONCEPT));
+            bh.consume(contentType.matches("application/hal\\+json"));
+            bh.consume(contentType.matches("application/json"));
+            bh.consume(contentType.split("concept="));
+        }
+    }
+
+    private void add(List<String> found) {
+        if (null != found) {
+            contentTypes.addAll(found);
+        }
+    }
+}
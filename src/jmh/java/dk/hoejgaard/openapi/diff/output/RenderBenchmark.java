@@ -0,0 +1,105 @@
+package dk.hoejgaard.openapi.diff.output;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import dk.hoejgaard.openapi.diff.APIDiff;
+import dk.hoejgaard.openapi.diff.SampleAPIs;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rendering of the comparison of the sample APIs scaled to a multiple of their paths in every format, both into
+ * a string and streamed to an output discarding the report.
+ * Run using: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RenderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"txt", "md", "html", "xml", "json"})
+    private String format;
+
+    @Param({"1", "10"})
+    private int scale;
+
+    private APIDiff diff;
+    private OutputRender render;
+
+    @Setup
+    public void setUp() {
+        diff = new APIDiff(SampleAPIs.scaled(SampleAPIs.read(SampleAPIs.EXISTING), scale),
+            SampleAPIs.scaled(SampleAPIs.read(SampleAPIs.FUTURE), scale), Diff.ALL, Maturity.FULL, Versions.SINGLE);
+        render = render(format);
+    }
+
+    @Benchmark
+    public String rendered() {
+        return render.render(diff);
+    }
+
+    @Benchmark
+    public long streamed() throws IOException {
+        Counting out = new Counting();
+        render.render(diff, out);
+        return out.length;
+    }
+
+    private static OutputRender render(String format) {
+        String existing = SampleAPIs.location(SampleAPIs.EXISTING);
+        String future = SampleAPIs.location(SampleAPIs.FUTURE);
+        switch (format) {
+            case "txt":
+                return new ConsoleRender("API Comparison Results", "Benchmark", existing, future);
+            case "md":
+                return new MarkdownRender("API Comparison Results", "Benchmark", existing, future);
+            case "html":
+                return new HtmlRender("API Comparison Results", "Benchmark", existing, future);
+            case "xml":
+                return new XmlRender("API Comparison Results", "Benchmark", existing, future, "4.3");
+            default:
+                return new JsonRender("API Comparison Results", "Benchmark", existing, future);
+        }
+    }
+
+    /**
+     * discards the report while counting its length, so the streamed rendering is measured without holding the report
+     */
+    private static final class Counting implements Appendable {
+        private long length;
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            length += csq.length();
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            length += end - start;
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            length++;
+            return this;
+        }
+    }
+}
@@ -4,12 +4,23 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import dk.hoejgaard.openapi.diff.DiffMetrics.Phase;
+import dk.hoejgaard.openapi.diff.DiffMetrics.Timer;
+import dk.hoejgaard.openapi.diff.cache.Fingerprints;
+import dk.hoejgaard.openapi.diff.cache.SpecCache;
+import dk.hoejgaard.openapi.diff.compare.ElementDiffCache;
 import dk.hoejgaard.openapi.diff.compare.OperationDiff;
 import dk.hoejgaard.openapi.diff.compare.ResourceDiff;
 import dk.hoejgaard.openapi.diff.compare.util.Maps;
@@ -34,17 +45,37 @@ import org.slf4j.LoggerFactory;
  * versions for a given endpoint or for the api as such according to the rules outlined by github.com/allanhoejgaardjensen
  * <p>
  * The comparison may include HATEOAS (HAL) compatibility issues for backwards compliance as well.
+ * <p>
+ * The resources (paths) shared by the two APIs are independent of each other and may be compared in parallel by handing
+ * an executor to the constructor, the results are merged in the same order as a sequential comparison would produce them.
+ * When an executor is given the existing and the future API specifications are read concurrently as well.
+ * <p>
+ * The specifications may be read through a cache, which allows an API taking part in several comparisons to be parsed once.
+ * APIs that are already parsed, e.g. held in memory by a service, can be compared directly without being read again.
+ * Definitions referred to from several parameters and responses are compared once per comparison and reused.
+ * <p>
+ * The time and memory spent in every phase of the comparison are measured and available as {@link DiffMetrics}.
+ * <p>
+ * A comparison given the {@link DiffSnapshot} of a previous comparison is incremental: the paths having the same fingerprint
+ * as in the previous comparison, including the definitions they refer to, reuse the comparison of the previous one and only
+ * the changed paths are compared. The snapshot of the incremental comparison is available for the next comparison.
  */
 public class APIDiff {
 
     private static Logger logger = LoggerFactory.getLogger(APIDiff.class);
     private final List<ResourceDiff> resourceDiffs = new ArrayList<>();
+    private final ElementDiffCache elementDiffs = new ElementDiffCache();
+    private final DiffMetrics metrics;
 
     private Swagger referenceAPI;
     private Swagger candidateAPI;
     private Diff depths = Diff.LAISSEZ_FAIRE;
     private Maturity maturity = Maturity.LOW;
     private Versions versions = Versions.DOUBLE;
+    private ExecutorService executor;
+    private SpecCache cache;
+    private DiffSnapshot previous;
+    private DiffSnapshot snapshot;
     private List<Endpoint> newEndpointList = new ArrayList<>();
     private List<Endpoint> missingEndpointList = new ArrayList<>();
     private List<Endpoint> changedEndpointList = new ArrayList<>();
@@ -77,12 +108,119 @@ public class APIDiff {
      * @param versions the number of overlapping versions @see Versions
      */
     public APIDiff(String existing, String future, Diff depths, Maturity maturity, Versions versions) {
+        this(existing, future, depths, maturity, versions, null);
+    }
+
+    /**
+     * @param existing the current and thus existing version of the API
+     * @param future   the API that is going to replace the current API
+     * @param depths   the level if depth used in the diff (all, hal, laissez-faire) @see Diff
+     * @param maturity the level of maturity (full, hal, low, none) @see Maturity
+     * @param versions the number of overlapping versions @see Versions
+     * @param executor the executor used for reading the APIs concurrently and comparing resources in parallel, if null the APIs
+     *                 are read and the resources are compared sequentially. The executor is not shut down by the comparison,
+     *                 that is left to the caller
+     */
+    public APIDiff(String existing, String future, Diff depths, Maturity maturity, Versions versions, ExecutorService executor) {
+        this(existing, future, depths, maturity, versions, executor, null);
+    }
+
+    /**
+     * @param existing the current and thus existing version of the API
+     * @param future   the API that is going to replace the current API
+     * @param depths   the level if depth used in the diff (all, hal, laissez-faire) @see Diff
+     * @param maturity the level of maturity (full, hal, low, none) @see Maturity
+     * @param versions the number of overlapping versions @see Versions
+     * @param executor the executor used for reading the APIs concurrently and comparing resources in parallel, if null the APIs
+     *                 are read and the resources are compared sequentially. The executor is not shut down by the comparison,
+     *                 that is left to the caller
+     * @param cache    the cache the APIs are read through, if null the APIs are parsed for this comparison only
+     */
+    public APIDiff(String existing, String future, Diff depths, Maturity maturity, Versions versions, ExecutorService executor,
+                   SpecCache cache) {
+        this(existing, future, depths, maturity, versions, executor, cache, new DiffMetrics());
+    }
+
+    /**
+     * @param existing the current and thus existing version of the API
+     * @param future   the API that is going to replace the current API
+     * @param depths   the level if depth used in the diff (all, hal, laissez-faire) @see Diff
+     * @param maturity the level of maturity (full, hal, low, none) @see Maturity
+     * @param versions the number of overlapping versions @see Versions
+     * @param executor the executor used for reading the APIs concurrently and comparing resources in parallel, if null the APIs
+     *                 are read and the resources are compared sequentially. The executor is not shut down by the comparison,
+     *                 that is left to the caller
+     * @param cache    the cache the APIs are read through, if null the APIs are parsed for this comparison only
+     * @param metrics  the metrics the comparison is measured in, e.g. created to keep more than the default number of slowest
+     *                 endpoints
+     */
+    public APIDiff(String existing, String future, Diff depths, Maturity maturity, Versions versions, ExecutorService executor,
+                   SpecCache cache, DiffMetrics metrics) {
+        this.metrics = metrics;
         this.depths = depths;
         this.maturity = maturity;
         this.versions = versions;
-        SwaggerParser swaggerParser = new SwaggerParser();
-        referenceAPI = swaggerParser.read(existing);
-        candidateAPI = swaggerParser.read(future);
+        this.executor = executor;
+        this.cache = cache;
+        readAPIs(existing, future);
+        compare();
+    }
+
+    /**
+     * @param existing the current and thus existing version of the API already parsed
+     * @param future   the already parsed API that is going to replace the current API
+     * @param depths   the level if depth used in the diff (all, hal, laissez-faire) @see Diff
+     * @param maturity the level of maturity (full, hal, low, none) @see Maturity
+     * @param versions the number of overlapping versions @see Versions
+     */
+    public APIDiff(Swagger existing, Swagger future, Diff depths, Maturity maturity, Versions versions) {
+        this(existing, future, depths, maturity, versions, null);
+    }
+
+    /**
+     * The APIs are compared as they are and must therefore not be changed while the comparison takes place.
+     *
+     * @param existing the current and thus existing version of the API already parsed
+     * @param future   the already parsed API that is going to replace the current API
+     * @param depths   the level if depth used in the diff (all, hal, laissez-faire) @see Diff
+     * @param maturity the level of maturity (full, hal, low, none) @see Maturity
+     * @param versions the number of overlapping versions @see Versions
+     * @param executor the executor used for comparing resources in parallel, if null the resources are compared sequentially.
+     *                 The executor is not shut down by the comparison, that is left to the caller
+     */
+    public APIDiff(Swagger existing, Swagger future, Diff depths, Maturity maturity, Versions versions, ExecutorService executor) {
+        this(existing, future, depths, maturity, versions, executor, null);
+    }
+
+    /**
+     * The APIs are compared as they are and must therefore not be changed while the comparison takes place, nor afterwards if
+     * the snapshot of the comparison is used by a later comparison.
+     *
+     * @param existing the current and thus existing version of the API already parsed
+     * @param future   the already parsed API that is going to replace the current API
+     * @param depths   the level if depth used in the diff (all, hal, laissez-faire) @see Diff
+     * @param maturity the level of maturity (full, hal, low, none) @see Maturity
+     * @param versions the number of overlapping versions @see Versions
+     * @param executor the executor used for comparing resources in parallel, if null the resources are compared sequentially.
+     *                 The executor is not shut down by the comparison, that is left to the caller
+     * @param previous the snapshot of a previous comparison, the paths that have not changed since are reused from it. If null
+     *                 every path is compared and no snapshot is taken, {@link DiffSnapshot#EMPTY} compares every path and takes
+     *                 a snapshot for the next comparison
+     */
+    public APIDiff(Swagger existing, Swagger future, Diff depths, Maturity maturity, Versions versions, ExecutorService executor,
+                   DiffSnapshot previous) {
+        this.metrics = new DiffMetrics();
+        this.depths = depths;
+        this.maturity = maturity;
+        this.versions = versions;
+        this.executor = executor;
+        this.previous = previous;
+        this.referenceAPI = existing;
+        this.candidateAPI = future;
+        compare();
+    }
+
+    private void compare() {
         if (null == referenceAPI || null == candidateAPI) {
             throw new RuntimeException("cannot read api-doc from spec.");
         }
@@ -91,10 +229,22 @@ public class APIDiff {
         Maps<String, Path> pathDelta = Maps.diff(currentResources, futureResources);
         this.newEndpointList = convert2EndpointList(pathDelta.getAdded());
         if (Diff.ALL.equals(depths)) {
-            checkCompliance(futureResources, pathDelta.getAdded());
+            Timer timer = metrics.start(Phase.CHECK_COMPLIANCE);
+            try {
+                checkCompliance(futureResources, pathDelta.getAdded());
+            } finally {
+                timer.close();
+            }
         }
         this.missingEndpointList = convert2EndpointList(pathDelta.getRemoved());
-        boolean ok = compareResources(currentResources, futureResources, pathDelta);
+        boolean ok;
+        Timer timer = metrics.start(Phase.COMPARE_RESOURCES);
+        try {
+            ok = compareResources(currentResources, futureResources, pathDelta);
+        } finally {
+            timer.close();
+        }
+        metrics.countRefs(elementDiffs.getVisited());
         if (!resourceDiffs.isEmpty()) {
             this.changedEndpointList = convert2EndpointList(pathDelta.getCommon(), futureResources);
         }
@@ -130,26 +280,28 @@ public class APIDiff {
         return Collections.unmodifiableList(resourceDiffs);
     }
 
-    private boolean compareResources(Map<String, Path> currentResources, Map<String, Path> futureResources, Maps<String, Path> pathDelta) {
-        List<String> commonURLS = pathDelta.getCommon();
-        ResourceDiff resourceDiff;
-        for (String url : commonURLS) {
-            resourceDiff = new ResourceDiff(depths, url);
-            Path currentPath = currentResources.get(url);
-            Path futurePath = futureResources.get(url);
+    /**
+     * @return the time and memory spent comparing the APIs, rendering of reports is added by the reports rendered
+     */
+    public DiffMetrics getMetrics() {
+        return metrics;
+    }
 
-            Map<HttpMethod, Operation> currentOperations = currentPath.getOperationMap();
-            getCurrentOperationCompliance(resourceDiff, url, currentOperations);
-            Map<HttpMethod, Operation> futureOperations = futurePath.getOperationMap();
-            getCandidateOperationCompliance(resourceDiff, url, futureOperations);
+    /**
+     * @return the snapshot to give the next comparison of the APIs, or null if the comparison was not given a previous snapshot
+     */
+    public DiffSnapshot getSnapshot() {
+        return snapshot;
+    }
 
-            Maps<HttpMethod, Operation> operationsDelta = getOperationDelta(resourceDiff, currentOperations, futureOperations);
-            Map<HttpMethod, OperationDiff> changedOperations = getChangedOperations(currentOperations, futureOperations,
-                operationsDelta, url.replace('/', '.'));
-            resourceDiff.addChangedOperations(changedOperations);
+    private boolean compareResources(Map<String, Path> currentResources, Map<String, Path> futureResources, Maps<String, Path> pathDelta) {
+        List<String> commonURLS = pathDelta.getCommon();
+        List<ResourceDiff> compared = null == previous
+            ? compare(currentResources, futureResources, commonURLS)
+            : compareChanged(currentResources, futureResources, commonURLS);
+        for (ResourceDiff resourceDiff : compared) {
             this.newEndpointList.addAll(convert2EndpointList(resourceDiff.getPathUrl(), resourceDiff.getNewOperations()));
             this.missingEndpointList.addAll(convert2EndpointList(resourceDiff.getPathUrl(), resourceDiff.getMissingOperations()));
-
             if (resourceDiff.isDiff()) {
                 resourceDiffs.add(resourceDiff);
             }
@@ -157,6 +309,154 @@ public class APIDiff {
         return resourceDiffs.isEmpty();
     }
 
+    private List<ResourceDiff> compare(Map<String, Path> currentResources, Map<String, Path> futureResources, List<String> urls) {
+        return null == executor
+            ? compareSequentially(currentResources, futureResources, urls)
+            : compareInParallel(currentResources, futureResources, urls);
+    }
+
+    /**
+     * the paths having the same fingerprints as in the previous comparison are reused, the rest are compared and merged with
+     * the reused paths in the order of the urls, which makes the result equal to comparing every path. The fingerprints of the
+     * existing API are taken from the previous comparison if it was made against the same existing API.
+     */
+    private List<ResourceDiff> compareChanged(Map<String, Path> currentResources, Map<String, Path> futureResources,
+                                              List<String> urls) {
+        Map<String, String> existingPrints = previous.existingPaths(referenceAPI);
+        Fingerprints futurePrints = Fingerprints.of(candidateAPI);
+        DiffSnapshot.Builder next = new DiffSnapshot.Builder(depths, maturity, versions, referenceAPI, existingPrints);
+        Map<String, ResourceDiff> reused = new HashMap<>();
+        List<String> changed = new ArrayList<>();
+        for (String url : urls) {
+            String existingPrint = existingPrints.get(url);
+            String futurePrint = futurePrints.path(url);
+            ResourceDiff resourceDiff = previous.reusable(url, existingPrint, futurePrint, depths, maturity, versions);
+            if (null == resourceDiff) {
+                changed.add(url);
+            } else {
+                reused.put(url, resourceDiff);
+                next.add(url, existingPrint, futurePrint, resourceDiff);
+            }
+        }
+        metrics.countReusedPaths(reused.size());
+        Iterator<ResourceDiff> compared = compare(currentResources, futureResources, changed).iterator();
+        List<ResourceDiff> merged = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            ResourceDiff resourceDiff = reused.get(url);
+            if (null == resourceDiff) {
+                resourceDiff = compared.next();
+                next.add(url, existingPrints.get(url), futurePrints.path(url), resourceDiff);
+            }
+            merged.add(resourceDiff);
+        }
+        snapshot = next.build();
+        return merged;
+    }
+
+    private List<ResourceDiff> compareSequentially(Map<String, Path> currentResources, Map<String, Path> futureResources,
+                                                   List<String> urls) {
+        List<ResourceDiff> compared = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            compared.add(compareResource(url, currentResources.get(url), futureResources.get(url)));
+        }
+        return compared;
+    }
+
+    /**
+     * every resource is compared in a task of its own, the results are collected in the order of the urls in order for the
+     * parallel comparison to be deterministic and equal to the sequential comparison.
+     */
+    private List<ResourceDiff> compareInParallel(Map<String, Path> currentResources, Map<String, Path> futureResources,
+                                                 List<String> urls) {
+        List<Callable<ResourceDiff>> tasks = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            Path currentPath = currentResources.get(url);
+            Path futurePath = futureResources.get(url);
+            tasks.add(() -> {
+                Timer timer = metrics.startWork(Phase.COMPARE_RESOURCES);
+                try {
+                    return compareResource(url, currentPath, futurePath);
+                } finally {
+                    timer.close();
+                }
+            });
+        }
+        List<ResourceDiff> compared = new ArrayList<>(urls.size());
+        List<Future<ResourceDiff>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("comparison of resources was interrupted.", e);
+        }
+        for (Future<ResourceDiff> result : results) {
+            compared.add(await(result, "cannot compare resources"));
+        }
+        return compared;
+    }
+
+    private ResourceDiff compareResource(String url, Path currentPath, Path futurePath) {
+        long start = System.nanoTime();
+        ResourceDiff resourceDiff = new ResourceDiff(depths, url);
+        Map<HttpMethod, Operation> currentOperations = currentPath.getOperationMap();
+        getCurrentOperationCompliance(resourceDiff, url, currentOperations);
+        Map<HttpMethod, Operation> futureOperations = futurePath.getOperationMap();
+        getCandidateOperationCompliance(resourceDiff, url, futureOperations);
+
+        Maps<HttpMethod, Operation> operationsDelta = getOperationDelta(resourceDiff, currentOperations, futureOperations);
+        metrics.countPath();
+        metrics.countOperations(currentOperations.size() + operationsDelta.getAdded().size());
+        Map<HttpMethod, OperationDiff> changedOperations = getChangedOperations(resourceDiff, currentOperations, futureOperations,
+            operationsDelta);
+        resourceDiff.addChangedOperations(changedOperations);
+        resourceDiff.setElapsedNanos(System.nanoTime() - start);
+        return resourceDiff;
+    }
+
+    /**
+     * reads the future candidate API using the executor while the existing API is read by the calling thread, which means that
+     * the reading takes roughly the time of reading the larger of the two specifications.
+     */
+    private void readAPIs(String existing, String future) {
+        if (null == executor) {
+            referenceAPI = read(existing, Phase.PARSE_EXISTING);
+            candidateAPI = read(future, Phase.PARSE_FUTURE);
+            return;
+        }
+        Future<Swagger> candidate = executor.submit(() -> read(future, Phase.PARSE_FUTURE));
+        try {
+            referenceAPI = read(existing, Phase.PARSE_EXISTING);
+        } catch (RuntimeException e) {
+            candidate.cancel(true);
+            throw e;
+        }
+        candidateAPI = await(candidate, "cannot read api-doc from spec");
+    }
+
+    private Swagger read(String api, Phase phase) {
+        Timer timer = metrics.start(phase);
+        try {
+            return null == cache ? new SwaggerParser().read(api) : cache.read(api);
+        } finally {
+            timer.close();
+        }
+    }
+
+    private static <T> T await(Future<T> future, String failure) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(failure + " - interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(failure + ": " + cause.getMessage(), cause);
+        }
+    }
+
     private void getCandidateOperationCompliance(ResourceDiff resourceDiff, String url, Map<HttpMethod, Operation> futureOperations) {
         String scope = "future::" + url.replace('/', '.');
         if (Diff.ALL.equals(depths)) {
@@ -164,7 +464,7 @@ public class APIDiff {
             for (Entry<HttpMethod, Operation> entry : futureOperations.entrySet()) {
                 HttpMethod method = entry.getKey();
                 Operation opr = entry.getValue();
-                OperationDiff od = new OperationDiff(referenceAPI, candidateAPI, depths, maturity, versions);
+                OperationDiff od = new OperationDiff(referenceAPI, candidateAPI, depths, maturity, versions, elementDiffs);
                 od.checkRequestHeaderCompliance(opr, true, scope);
                 od.checkResponseCompliance(opr, method, true, scope);
                 od.checkVersionCompliance(opr, method, true, scope);
@@ -192,14 +492,18 @@ public class APIDiff {
         String api = "future";
         Map<String, Path> subset = Maps.intersection(resources, select);
         for (String url : subset.keySet()) {
+            long start = System.nanoTime();
             String complianceMsg = "observations." + api + "." + url.replace('/', '.');
             Path path = resources.get(url);
             resourceDiff = new ResourceDiff(depths, url);
             Map<HttpMethod, Operation> operations = path.getOperationMap();
+            metrics.countPath();
+            metrics.countOperations(operations.size());
             if (Diff.ALL.equals(depths)) {
                 Map<HttpMethod, OperationDiff> operas = mapOperations(api, true, url, operations);
                 resourceDiff.addNonCompliantCandidateOperations(complianceMsg, operas);
             }
+            resourceDiff.setElapsedNanos(System.nanoTime() - start);
             resourceDiffs.add(resourceDiff);
         }
     }
@@ -209,7 +513,7 @@ public class APIDiff {
         for (Entry<HttpMethod, Operation> entry : operations.entrySet()) {
             HttpMethod method = entry.getKey();
             Operation operation = entry.getValue();
-            OperationDiff od = new OperationDiff(referenceAPI, candidateAPI, depths, maturity, versions);
+            OperationDiff od = new OperationDiff(referenceAPI, candidateAPI, depths, maturity, versions, elementDiffs);
             od.checkRequestHeaderCompliance(operation, futureAPI, api + ".request.headers.compliance.for::" + url.replace('/', '.'));
             od.checkResponseCompliance(operation, method, futureAPI, api + ".response.compliance.for::" + url.replace('/', '.'));
             od.checkVersionCompliance(operation, method, futureAPI, api + ".version.compliance.for::" + url.replace('/', '.'));
@@ -232,18 +536,26 @@ public class APIDiff {
         return operationsDelta;
     }
 
-    private Map<HttpMethod, OperationDiff> getChangedOperations(Map<HttpMethod, Operation> existing,
+    /**
+     * the cost of every operation compared is recorded in the metrics, whether it changed or not, as an unchanged operation
+     * may be as slow to compare as a changed one.
+     */
+    private Map<HttpMethod, OperationDiff> getChangedOperations(ResourceDiff resourceDiff,
+                                                                Map<HttpMethod, Operation> existing,
                                                                 Map<HttpMethod, Operation> future,
-                                                                Maps<HttpMethod, Operation> delta,
-                                                                String context) {
+                                                                Maps<HttpMethod, Operation> delta) {
+        String url = resourceDiff.getPathUrl();
+        String context = url.replace('/', '.');
         List<HttpMethod> common = delta.getCommon();
         Map<HttpMethod, OperationDiff> operas = new EnumMap<>(HttpMethod.class);
         OperationDiff changes;
         for (HttpMethod method : common) {
             Operation existingOpr = existing.get(method);
             Operation futureOpr = future.get(method);
-            changes = new OperationDiff(referenceAPI, candidateAPI, depths, maturity, versions);
+            changes = new OperationDiff(referenceAPI, candidateAPI, depths, maturity, versions, elementDiffs);
             changes = changes.analyze(existingOpr, futureOpr, method, context);
+            resourceDiff.addElementsVisited(changes.getElementsVisited());
+            metrics.addEndpoint(method, url, changes.getElapsedNanos(), changes.getElementsVisited());
             if (changes.isDiff()) {
                 operas.put(method, changes);
             }
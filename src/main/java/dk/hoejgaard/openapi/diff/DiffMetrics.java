@@ -0,0 +1,378 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.swagger.models.HttpMethod;
+
+/**
+ * Measures where the time of a comparison is spent, in order to tell whether a slow comparison is spent parsing the APIs,
+ * comparing them or rendering the reports.
+ * <p>
+ * Every phase is measured by its wall time, the CPU time of the threads working in the phase and the bytes allocated by those
+ * threads. The CPU time and the allocated bytes are -1 if the JVM does not support measuring them. A phase running on several
+ * threads, e.g. resources compared in parallel, has the wall time of the thread waiting for the phase to finish and the CPU
+ * time and the allocated bytes of all the threads working in it. Phases that are not part of a comparison, e.g. parsing of
+ * APIs given already parsed, are zero.
+ * <p>
+ * The time spent and the number of pairs of definitions compared are measured for every operation found in both APIs, and the
+ * slowest of them are kept, which points out the endpoints that make a comparison slow, typically because of deeply nested
+ * body definitions. The number of slowest endpoints kept is set when the metrics are created.
+ * <p>
+ * The metrics may be updated by several threads at the same time.
+ */
+public final class DiffMetrics {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = THREADS instanceof com.sun.management.ThreadMXBean
+        ? (com.sun.management.ThreadMXBean) THREADS : null;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    /**
+     * the number of slowest endpoints kept, unless another number is given when the metrics are created
+     */
+    public static final int SLOWEST_ENDPOINTS = 10;
+    private static final Comparator<EndpointCost> SLOWEST_FIRST = Comparator.comparingLong(EndpointCost::getElapsedNanos).reversed()
+        .thenComparing(EndpointCost::getPath)
+        .thenComparing(EndpointCost::getVerb);
+
+    private final Map<Phase, Measurement> phases = new EnumMap<>(Phase.class);
+    private final AtomicLong paths = new AtomicLong();
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicLong refs = new AtomicLong();
+    private final AtomicLong reusedPaths = new AtomicLong();
+    private final int slowestEndpoints;
+    private final PriorityQueue<EndpointCost> endpoints;
+
+    /**
+     * the phases of a comparison in the order they take place
+     */
+    public enum Phase {
+        PARSE_EXISTING, PARSE_FUTURE, CHECK_COMPLIANCE, COMPARE_RESOURCES, RENDER
+    }
+
+    public DiffMetrics() {
+        this(SLOWEST_ENDPOINTS);
+    }
+
+    /**
+     * @param slowestEndpoints the number of slowest endpoints kept and listed when the metrics are printed or written as JSON
+     */
+    public DiffMetrics(int slowestEndpoints) {
+        if (slowestEndpoints < 0) {
+            throw new IllegalArgumentException("the number of slowest endpoints kept cannot be negative: " + slowestEndpoints);
+        }
+        this.slowestEndpoints = slowestEndpoints;
+        this.endpoints = new PriorityQueue<>(Math.min(slowestEndpoints, SLOWEST_ENDPOINTS) + 1, SLOWEST_FIRST.reversed());
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new Measurement());
+        }
+    }
+
+    /**
+     * starts measuring a phase on the calling thread, the measurement is added to the phase when the timer is closed
+     *
+     * @param phase the phase measured
+     * @return the timer to close when the phase is over
+     */
+    public Timer start(Phase phase) {
+        return new Timer(this, phase, true);
+    }
+
+    /**
+     * starts measuring work done for a phase by a thread other than the one measuring the phase, only the CPU time and the
+     * allocated bytes of the work are added to the phase
+     *
+     * @param phase the phase the work is done for
+     * @return the timer to close when the work is done
+     */
+    public Timer startWork(Phase phase) {
+        return new Timer(this, phase, false);
+    }
+
+    /**
+     * @param phase the phase
+     * @return the measurement of the phase so far
+     */
+    public synchronized Measurement get(Phase phase) {
+        return phases.get(phase).copy();
+    }
+
+    /**
+     * @return the number of paths compared or checked for compliance
+     */
+    public long getPaths() {
+        return paths.get();
+    }
+
+    /**
+     * @return the number of operations compared or checked for compliance
+     */
+    public long getOperations() {
+        return operations.get();
+    }
+
+    /**
+     * @return the number of references to definitions followed, references shared by several operations are counted once
+     */
+    public long getRefs() {
+        return refs.get();
+    }
+
+    /**
+     * @return the number of paths reused from a previous comparison without being compared again
+     */
+    public long getReusedPaths() {
+        return reusedPaths.get();
+    }
+
+    /**
+     * @return the number of slowest endpoints kept
+     */
+    public int getSlowestEndpointsKept() {
+        return slowestEndpoints;
+    }
+
+    /**
+     * @return the slowest endpoints kept, the slowest first
+     */
+    public List<EndpointCost> getSlowestEndpoints() {
+        return getSlowestEndpoints(slowestEndpoints);
+    }
+
+    /**
+     * @param limit the maximum number of endpoints returned, which cannot exceed the number of slowest endpoints kept
+     * @return the endpoints that took the longest to compare, the slowest first
+     */
+    public synchronized List<EndpointCost> getSlowestEndpoints(int limit) {
+        if (limit > slowestEndpoints) {
+            throw new IllegalArgumentException("only the " + slowestEndpoints + " slowest endpoints are kept, not " + limit);
+        }
+        return endpoints.stream()
+            .sorted(SLOWEST_FIRST)
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * the endpoints are kept in a heap having the fastest of the slowest endpoints at its head, which is dropped when a slower
+     * endpoint is added to a full heap, in order not to hold every operation of a large API.
+     */
+    synchronized void addEndpoint(HttpMethod verb, String path, long elapsedNanos, int elementsVisited) {
+        endpoints.add(new EndpointCost(verb, path, elapsedNanos, elementsVisited));
+        if (endpoints.size() > slowestEndpoints) {
+            endpoints.poll();
+        }
+    }
+
+    void countPath() {
+        paths.incrementAndGet();
+    }
+
+    void countOperations(int count) {
+        operations.addAndGet(count);
+    }
+
+    void countRefs(long count) {
+        refs.addAndGet(count);
+    }
+
+    void countReusedPaths(int count) {
+        reusedPaths.addAndGet(count);
+    }
+
+    /**
+     * writes the metrics as a JSON document having a field for every phase, for the counts and for the slowest endpoints
+     *
+     * @param out where the metrics are written, it is not closed
+     */
+    public void writeJson(Writer out) throws IOException {
+        try (JsonGenerator json = FACTORY.createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeObjectFieldStart("phases");
+            for (Phase phase : Phase.values()) {
+                Measurement measurement = get(phase);
+                json.writeObjectFieldStart(phase.name().toLowerCase(Locale.ROOT));
+                json.writeNumberField("wallNanos", measurement.getWallNanos());
+                json.writeNumberField("cpuNanos", measurement.getCpuNanos());
+                json.writeNumberField("allocatedBytes", measurement.getAllocatedBytes());
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+            json.writeNumberField("paths", getPaths());
+            json.writeNumberField("operations", getOperations());
+            json.writeNumberField("refs", getRefs());
+            json.writeNumberField("reusedPaths", getReusedPaths());
+            json.writeArrayFieldStart("slowestEndpoints");
+            for (EndpointCost endpoint : getSlowestEndpoints()) {
+                json.writeStartObject();
+                json.writeStringField("verb", endpoint.getVerb().toString());
+                json.writeStringField("path", endpoint.getPath());
+                json.writeNumberField("elapsedNanos", endpoint.getElapsedNanos());
+                json.writeNumberField("elementsVisited", endpoint.getElementsVisited());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        out.flush();
+    }
+
+    /**
+     * @return the metrics as a table having a line for every phase followed by the counts and the slowest endpoints
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-20s %12s %12s %16s%n", "phase", "wall (ms)", "cpu (ms)", "allocated (KB)"));
+        for (Phase phase : Phase.values()) {
+            Measurement measurement = get(phase);
+            sb.append(String.format(Locale.ROOT, "%-20s %12d %12s %16s%n", phase.name().toLowerCase(Locale.ROOT),
+                measurement.getWallNanos() / NANOS_PER_MILLI,
+                measurement.getCpuNanos() < 0 ? "n/a" : Long.toString(measurement.getCpuNanos() / NANOS_PER_MILLI),
+                measurement.getAllocatedBytes() < 0 ? "n/a" : Long.toString(measurement.getAllocatedBytes() / 1024)));
+        }
+        sb.append("paths: ").append(getPaths())
+            .append(" operations: ").append(getOperations())
+            .append(" refs: ").append(getRefs())
+            .append(" reused paths: ").append(getReusedPaths());
+        List<EndpointCost> slowest = getSlowestEndpoints();
+        if (!slowest.isEmpty()) {
+            sb.append(String.format(Locale.ROOT, "%n%nslowest endpoints:%n%12s %10s  %s", "time (us)", "elements", "endpoint"));
+            for (EndpointCost endpoint : slowest) {
+                sb.append(String.format(Locale.ROOT, "%n%12d %10d  %s %s", endpoint.getElapsedNanos() / NANOS_PER_MICRO,
+                    endpoint.getElementsVisited(), endpoint.getVerb(), endpoint.getPath()));
+            }
+        }
+        return sb.toString();
+    }
+
+    private synchronized void add(Phase phase, long wallNanos, long cpuNanos, long allocatedBytes) {
+        phases.get(phase).add(wallNanos, cpuNanos, allocatedBytes);
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        return null != ALLOCATIONS && ALLOCATIONS.isThreadAllocatedMemorySupported() && ALLOCATIONS.isThreadAllocatedMemoryEnabled()
+            ? ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * the wall time, CPU time and allocated bytes of a phase
+     */
+    public static final class Measurement {
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+
+        private Measurement() {
+            //intentionally empty
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        private void add(long wall, long cpu, long allocated) {
+            wallNanos += wall;
+            cpuNanos = cpu < 0 || cpuNanos < 0 ? -1 : cpuNanos + cpu;
+            allocatedBytes = allocated < 0 || allocatedBytes < 0 ? -1 : allocatedBytes + allocated;
+        }
+
+        private Measurement copy() {
+            Measurement copy = new Measurement();
+            copy.add(wallNanos, cpuNanos, allocatedBytes);
+            return copy;
+        }
+    }
+
+    /**
+     * the time spent comparing an operation found in both APIs and the number of pairs of definitions compared for it
+     */
+    public static final class EndpointCost {
+        private final HttpMethod verb;
+        private final String path;
+        private final long elapsedNanos;
+        private final int elementsVisited;
+
+        private EndpointCost(HttpMethod verb, String path, long elapsedNanos, int elementsVisited) {
+            this.verb = verb;
+            this.path = path;
+            this.elapsedNanos = elapsedNanos;
+            this.elementsVisited = elementsVisited;
+        }
+
+        public HttpMethod getVerb() {
+            return verb;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public int getElementsVisited() {
+            return elementsVisited;
+        }
+    }
+
+    /**
+     * measures a phase, or work done for a phase, on the thread that started it until it is closed
+     */
+    public static final class Timer implements AutoCloseable {
+        private final DiffMetrics metrics;
+        private final Phase phase;
+        private final boolean wall;
+        private final long startWall;
+        private final long startCpu;
+        private final long startAllocated;
+
+        private Timer(DiffMetrics metrics, Phase phase, boolean wall) {
+            this.metrics = metrics;
+            this.phase = phase;
+            this.wall = wall;
+            this.startAllocated = allocatedBytes();
+            this.startCpu = cpuTime();
+            this.startWall = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long wallNanos = System.nanoTime() - startWall;
+            long cpu = cpuTime();
+            long allocated = allocatedBytes();
+            metrics.add(phase, wall ? wallNanos : 0,
+                cpu < 0 || startCpu < 0 ? -1 : cpu - startCpu,
+                allocated < 0 || startAllocated < 0 ? -1 : allocated - startAllocated);
+        }
+    }
+}
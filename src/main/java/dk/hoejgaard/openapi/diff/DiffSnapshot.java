@@ -0,0 +1,136 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import dk.hoejgaard.openapi.diff.cache.Fingerprints;
+import dk.hoejgaard.openapi.diff.compare.ResourceDiff;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import io.swagger.models.Swagger;
+
+/**
+ * The comparison of every path found in both APIs of a comparison together with the fingerprints of the path in the existing
+ * and the future API, which allows a later comparison to reuse the comparison of the paths that have not changed.
+ * <p>
+ * A path is reused when it has the same fingerprint in both APIs as it had when the snapshot was taken and the comparison uses
+ * the same diff level, maturity and versions. The fingerprint includes the definitions the path refers to, directly or through
+ * other definitions, which means that a change to a definition makes every path referring to it compared again.
+ * <p>
+ * The snapshot keeps the fingerprints of every path of the existing API as well, a later comparison against the same parsed
+ * existing API therefore only fingerprints the future API.
+ * <p>
+ * The snapshot holds the compared resources of the parsed APIs and is kept in memory, e.g. by a server comparing edits to an
+ * API against the same existing API. A snapshot is read-only and may be used by several comparisons at the same time.
+ */
+public final class DiffSnapshot {
+
+    /**
+     * the snapshot to start from when no comparison has been made yet, nothing is reused from it
+     */
+    public static final DiffSnapshot EMPTY = new DiffSnapshot(null, null, null, null, Collections.emptyMap(),
+        Collections.emptyMap());
+
+    private final Diff depths;
+    private final Maturity maturity;
+    private final Versions versions;
+    private final Swagger existing;
+    private final Map<String, String> existingPaths;
+    private final Map<String, Resource> resources;
+
+    private DiffSnapshot(Diff depths, Maturity maturity, Versions versions, Swagger existing, Map<String, String> existingPaths,
+                         Map<String, Resource> resources) {
+        this.depths = depths;
+        this.maturity = maturity;
+        this.versions = versions;
+        this.existing = existing;
+        this.existingPaths = existingPaths;
+        this.resources = resources;
+    }
+
+    /**
+     * @return the number of paths held by the snapshot
+     */
+    public int size() {
+        return resources.size();
+    }
+
+    /**
+     * the fingerprints are kept when the snapshot was taken against the same parsed API, which is the case when the existing API
+     * is read through a cache, otherwise every path of the API is fingerprinted.
+     *
+     * @param api the existing API of a comparison
+     * @return the fingerprints of every path of the existing API
+     */
+    Map<String, String> existingPaths(Swagger api) {
+        if (api == existing) {
+            return existingPaths;
+        }
+        Fingerprints fingerprints = Fingerprints.of(api);
+        Map<String, String> paths = new HashMap<>();
+        if (null != api.getPaths()) {
+            for (String url : api.getPaths().keySet()) {
+                paths.put(url, fingerprints.path(url));
+            }
+        }
+        return Collections.unmodifiableMap(paths);
+    }
+
+    /**
+     * @return the comparison of the path if it can be reused, otherwise null
+     */
+    ResourceDiff reusable(String url, String existing, String future, Diff depths, Maturity maturity, Versions versions) {
+        if (this.depths != depths || this.maturity != maturity || this.versions != versions) {
+            return null;
+        }
+        Resource resource = resources.get(url);
+        if (null == resource || !resource.existing.equals(existing) || !resource.future.equals(future)) {
+            return null;
+        }
+        return resource.diff;
+    }
+
+    /**
+     * collects the compared paths of a comparison into a snapshot
+     */
+    static final class Builder {
+        private final Diff depths;
+        private final Maturity maturity;
+        private final Versions versions;
+        private final Swagger existing;
+        private final Map<String, String> existingPaths;
+        private final Map<String, Resource> resources = new HashMap<>();
+
+        Builder(Diff depths, Maturity maturity, Versions versions, Swagger existing, Map<String, String> existingPaths) {
+            this.depths = depths;
+            this.maturity = maturity;
+            this.versions = versions;
+            this.existing = existing;
+            this.existingPaths = existingPaths;
+        }
+
+        Builder add(String url, String existing, String future, ResourceDiff diff) {
+            resources.put(url, new Resource(existing, future, diff));
+            return this;
+        }
+
+        DiffSnapshot build() {
+            return new DiffSnapshot(depths, maturity, versions, existing, existingPaths,
+                Collections.unmodifiableMap(new HashMap<>(resources)));
+        }
+    }
+
+    private static final class Resource {
+        private final String existing;
+        private final String future;
+        private final ResourceDiff diff;
+
+        private Resource(String existing, String future, ResourceDiff diff) {
+            this.existing = existing;
+            this.future = future;
+            this.diff = diff;
+        }
+    }
+}
@@ -1,20 +1,23 @@
 package dk.hoejgaard.openapi.diff;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import dk.hoejgaard.openapi.diff.DiffMetrics.Phase;
+import dk.hoejgaard.openapi.diff.DiffMetrics.Timer;
 import dk.hoejgaard.openapi.diff.criteria.Diff;
 import dk.hoejgaard.openapi.diff.criteria.Maturity;
 import dk.hoejgaard.openapi.diff.criteria.Versions;
-import dk.hoejgaard.openapi.diff.output.ConsoleRender;
-import dk.hoejgaard.openapi.diff.output.HtmlRender;
-import dk.hoejgaard.openapi.diff.output.MarkdownRender;
-import dk.hoejgaard.openapi.diff.output.XmlRender;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,7 +29,8 @@ import org.slf4j.LoggerFactory;
 public final class OpenAPIDiff {
     private static final String TARGET_RESULTS_REPORT = "./target/output/reports";
     private static final String TARGET_REPORT_FILENAME = "APIDiff.txt";
-    private static final boolean CONSOLE_OUT = false;
+    private static final String METRICS_OPTION = "--metrics";
+    private static final String SLOWEST_OPTION = "--metrics-slowest=";
     private static Logger logger = LoggerFactory.getLogger(OpenAPIDiff.class);
     private static String existing = "./sample-api/elaborate_example_v1.json"; // alternative - try out - "./sample-api/petstore_v1.json";
     private static String future = "./sample-api/elaborate_example_v3f.json"; // alternative - try out - "./sample-api/petstore_v2.json";
@@ -36,6 +40,8 @@ public final class OpenAPIDiff {
     private static String reportFolder = TARGET_RESULTS_REPORT;
     private static String reportFileName = TARGET_REPORT_FILENAME;
     private static boolean createReport = true;
+    private static String metrics = null;
+    private static int slowestEndpoints = DiffMetrics.SLOWEST_ENDPOINTS;
 
     private OpenAPIDiff() {
         //intentionally empty
@@ -46,10 +52,17 @@ public final class OpenAPIDiff {
      * or with the shorter form "java OpenAPIDiff  existingAPI(path+file) futureAPI(path+file)" where it will be stores in the folder it
      * was executed in in a file called OpenApiDiff.txt
      *
-     * @param args existingAPI (a path to the file of the existing API) futureAPI (a path to the future API) resultPath resultFileName
+     * <p>
+     * The option "--metrics" prints the time and memory spent in every phase of the comparison once the reports are written,
+     * "--metrics=file.json" writes them to the file as JSON. The option "--metrics-slowest=20" lists the 20 slowest endpoints
+     * in the metrics instead of the 10 listed by default.
+     *
+     * @param arguments existingAPI (a path to the file of the existing API) futureAPI (a path to the future API) resultPath
+     *                  resultFileName [--metrics[=file.json]] [--metrics-slowest=n]
      * @throws Exception if the API files are not found or if trouble with creating the report or reportFolder
      **/
-    public static void main(String[] args) throws Exception {
+    public static void main(String[] arguments) throws Exception {
+        String[] args = handleMetricsOption(arguments);
         if (args.length >= 2) {
             existing = args[0];
             future = args[1];
@@ -70,49 +83,72 @@ public final class OpenAPIDiff {
             reportFileName = "APIDIFF-TXT.txt";
         }
         if (createReport) {
-            System.out.print("The result of the comparing APIs - can be found in: " + reportFolder + "/" + reportFileName + "\n");
+            String[] reportFileNames = Reports.names(reportFileName).toArray(new String[0]);
+            for (String name : reportFileNames) {
+                System.out.print("The result of the comparing APIs - can be found in: " + reportFolder + "/" + name + "\n");
+            }
             System.out.print("Comparing APIs - using diff: " + diffLevel + " maturity: " + maturity + " versions: " + versions + "\n");
 
-            String content = "Empty Report";
-
-            APIDiff api = new APIDiff(existing, future, diffLevel, maturity, versions);
-            if (reportFileName.endsWith(".txt")) {
-                String consoleContent = new ConsoleRender(
-                    "API Comparison Results", "Delivered by Open API Diff tooling", existing, future).render(api);
-                writeReport(reportFolder, "console-" + reportFileName, consoleContent);
-                if (CONSOLE_OUT) System.out.println(consoleContent);
-                content = filtered(consoleContent);
-            } else if (reportFileName.endsWith(".md")) {
-                content = new MarkdownRender(
-                    "API Comparison Results", "Delivered by Open API Diff tooling", existing, future)
-                    .render(api);
-            } else if (reportFileName.endsWith(".html")) {
-                content = new HtmlRender(
-                    "API Comparison Results", "Delivered by Open API Diff tooling", existing, future)
-                    .render(api);
-            } else if (reportFileName.endsWith(".xml")) {
-                content = new XmlRender(
-                    "API Comparison Results", "Delivered by Open API Diff tooling", "Delivered by Open API Diff tooling", existing, future)
-                    .render(api);
+            APIDiff api = new APIDiff(existing, future, diffLevel, maturity, versions, null, null,
+                new DiffMetrics(slowestEndpoints));
+            writeReports(api, reportFolder, reportFileNames);
+            writeMetrics(api.getMetrics());
+        }
+    }
+
+    /**
+     * @return the arguments without the metrics options
+     */
+    private static String[] handleMetricsOption(String[] args) {
+        metrics = null;
+        slowestEndpoints = DiffMetrics.SLOWEST_ENDPOINTS;
+        List<String> remaining = new ArrayList<>(args.length);
+        for (String arg : args) {
+            if (arg.startsWith(SLOWEST_OPTION)) {
+                slowestEndpoints = slowestEndpoints(arg.substring(SLOWEST_OPTION.length()));
+            } else if (METRICS_OPTION.equals(arg)) {
+                metrics = "";
+            } else if (arg.startsWith(METRICS_OPTION + "=")) {
+                metrics = arg.substring(METRICS_OPTION.length() + 1);
             } else {
-                logger.warn("The report format specified by the file extension did not match a supported report, the name was: {} ",
-                    reportFileName);
+                remaining.add(arg);
             }
-            if (CONSOLE_OUT) System.out.println("\n" + content);
-            writeReport(reportFolder, reportFileName, content.trim() + "\n");
         }
+        return remaining.toArray(new String[remaining.size()]);
     }
 
-    private static boolean checkFileExtensionOK() {
-        return
-            reportFileName.endsWith(".md") ||
-                reportFileName.endsWith(".html") ||
-                reportFileName.endsWith(".xml") ||
-                reportFileName.endsWith(".txt");
+    private static int slowestEndpoints(String number) {
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("the number of slowest endpoints must be a number, not: " + number, e);
+        }
     }
 
-    private static String filtered(String consoleContent) {
-        return consoleContent.replaceAll("\u001B\\[[0-9]{1,2}m", "");
+    private static void writeMetrics(DiffMetrics diffMetrics) {
+        if (null == metrics) {
+            return;
+        }
+        if (metrics.isEmpty()) {
+            System.out.println(diffMetrics);
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(Paths.get(metrics), StandardCharsets.UTF_8)) {
+            diffMetrics.writeJson(out);
+            System.out.println("The metrics of the comparison - can be found in: " + metrics);
+        } catch (IOException e) {
+            System.out.println("A problem occurred while attempting to write file: " + metrics);
+            logger.error("A problem occurred while attempting to write file: " + metrics, e);
+        }
+    }
+
+    private static boolean checkFileExtensionOK() {
+        for (String name : reportFileName.split(",")) {
+            if (!Reports.isSupported(name)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static void handleUserInput(String[] args) {
@@ -149,18 +185,58 @@ public final class OpenAPIDiff {
         }
     }
 
-    private static void writeReport(String reportFolder, String reportFileName, String content) {
+    /**
+     * the reports only read the result of the comparison, which is why more than one report is rendered in parallel. The render
+     * phase has the wall time of waiting for all the reports and the CPU time and allocations of every renderer.
+     */
+    private static void writeReports(APIDiff api, String reportFolder, String... reportFileNames) throws InterruptedException {
+        File dir = new File(reportFolder);
+        if (dir.mkdirs()) {
+            System.out.println("Creating dir = " + dir);
+            logger.info("Creating dir = {}", dir);
+        }
+        Timer timer = api.getMetrics().start(Phase.RENDER);
+        try {
+            if (reportFileNames.length == 1) {
+                writeReport(api, reportFolder, reportFileNames[0]);
+            } else {
+                writeReportsInParallel(api, reportFolder, reportFileNames);
+            }
+        } finally {
+            timer.close();
+        }
+    }
+
+    private static void writeReportsInParallel(APIDiff api, String reportFolder, String... reportFileNames)
+        throws InterruptedException {
+        ExecutorService renderers = Executors.newFixedThreadPool(Math.min(reportFileNames.length, Runtime.getRuntime().availableProcessors()));
         try {
-            File dir = new File(reportFolder);
-            if (dir.mkdirs()) {
-                System.out.println("Creating dir = " + dir);
-                logger.info("Creating dir = {}", dir);
+            List<Future<?>> reports = new ArrayList<>(reportFileNames.length);
+            for (String name : reportFileNames) {
+                reports.add(renderers.submit(() -> {
+                    Timer timer = api.getMetrics().startWork(Phase.RENDER);
+                    try {
+                        writeReport(api, reportFolder, name);
+                    } finally {
+                        timer.close();
+                    }
+                }));
             }
-            OutputStreamWriter fw = new OutputStreamWriter(
-                new FileOutputStream(reportFolder + "/" + reportFileName),
-                Charset.forName("UTF-8").newEncoder());
-            fw.write(content);
-            fw.close();
+            for (Future<?> report : reports) {
+                try {
+                    report.get();
+                } catch (ExecutionException e) {
+                    throw new RuntimeException("could not render the report", e.getCause());
+                }
+            }
+        } finally {
+            renderers.shutdown();
+        }
+    }
+
+    private static void writeReport(APIDiff api, String reportFolder, String reportFileName) {
+        try {
+            Reports.write(api, existing, future, reportFolder, reportFileName);
         } catch (IOException e) {
             System.out.println("A problem occurred while attempting to write file: " + reportFolder + "/" + reportFileName);
             logger.error("A problem occurred while attempting to write file: {}/{} ", reportFolder, reportFileName);
@@ -168,29 +244,56 @@ public final class OpenAPIDiff {
     }
 
     private static Versions getVersionArgument(String arg) {
-        if ("1".equals(arg)) return Versions.SINGLE;
-        if ("2".equals(arg)) return Versions.DOUBLE;
-        if ("3".equals(arg)) return Versions.TRIPLE;
+        Versions v = versionsOf(arg);
+        if (null != v) return v;
         createReport = false;
         return versions;
     }
 
     private static Maturity getMaturityArgument(String arg) {
+        Maturity m = maturityOf(arg);
+        if (null != m) return m;
+        createReport = false;
+        return maturity;
+    }
+
+    private static Diff getDiffArgument(String arg) {
+        Diff d = diffOf(arg);
+        if (null != d) return d;
+        createReport = false;
+        return diffLevel;
+    }
+
+    /**
+     * @return the versions given by the argument or null if the argument is not a versions argument
+     */
+    static Versions versionsOf(String arg) {
+        if ("1".equals(arg)) return Versions.SINGLE;
+        if ("2".equals(arg)) return Versions.DOUBLE;
+        if ("3".equals(arg)) return Versions.TRIPLE;
+        return null;
+    }
+
+    /**
+     * @return the maturity given by the argument or null if the argument is not a maturity argument
+     */
+    static Maturity maturityOf(String arg) {
         if ("full".equals(arg) || "f".equals(arg)) return Maturity.FULL;
         if ("hal".equals(arg) || "h".equals(arg)) return Maturity.HAL;
         if ("low".equals(arg) || "l".equals(arg)) return Maturity.LOW;
         if ("non".equals(arg) || "n".equals(arg)) return Maturity.NONE;
-        createReport = false;
-        return maturity;
+        return null;
     }
 
-    private static Diff getDiffArgument(String arg) {
+    /**
+     * @return the diff level given by the argument or null if the argument is not a diff argument
+     */
+    static Diff diffOf(String arg) {
         if (isDiffAll(arg)) return Diff.ALL;
         if (isDiffBreaking(arg)) return Diff.BREAKING;
         if (isDiffPotentiallyBreaking(arg)) return Diff.POTENTIALLY_BREAKING;
         if (isDiffLaissezFaire(arg)) return Diff.LAISSEZ_FAIRE;
-        createReport = false;
-        return diffLevel;
+        return null;
     }
 
     private static boolean isDiffArgument(String arg) {
@@ -240,6 +343,9 @@ public final class OpenAPIDiff {
             "sub-folder having the name api-diff.txt the syntax would be:\n");
         System.out.println("  java OpenAPIDiff ./apis/existing-api.json ./apis/new-api.json report api-diff.txt \n\n");
 
+        System.out.println("- if you want more than one report from the same comparison the report names are separated by commas:\n");
+        System.out.println("  java OpenAPIDiff ./apis/existing-api.json ./apis/new-api.json report api-diff.txt,api-diff.html \n\n");
+
         System.out.println("- if you do not want the full check and the full maturity and more than single overlapping producer versions" +
             " then you can add arguments and the syntax would then be:\n");
         System.out.println("  java OpenAPIDiff ./apis/existing-api.json ./apis/new-api.json report api-diff.txt" +
@@ -247,13 +353,16 @@ public final class OpenAPIDiff {
         System.out.println("  -  [diff-level can be: all/a, breaking/b, potentiallybreaking/pb, laissez-faire/l]");
         System.out.println("  -  [maturity can be: full/f, hal/h(default), low/l, non/n] - full includes all the opinionated parts");
         System.out.println("  -  [version can be: 1(default)/2/3 - which works with hal maturity to check for the correct version overlap");
+        System.out.println("\n- the time and memory spent in every phase of the comparison is printed by adding --metrics" +
+            " or written as JSON by adding --metrics=metrics.json, the 10 slowest endpoints are listed unless e.g." +
+            " --metrics-slowest=20 is added\n");
         outputUsageInput(args);
         resetInput();
     }
 
     private static void outputUsageInput(String[] args) {
         System.out.println("\n-------------------------------------------------------------------\n");
-        System.out.println("\nPlease note that only 3 file extensions are currently supported (txt, md and html)\n");
+        System.out.println("\nPlease note that only 5 file extensions are currently supported (txt, md, html, xml and json)\n");
         System.out.println("\nThe Attempted parameters were:");
         System.out.println("   Existing API file: " + args[0]);
         System.out.println("   Candidate future API file: " + args[1]);
@@ -0,0 +1,375 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import dk.hoejgaard.openapi.diff.DiffMetrics.Phase;
+import dk.hoejgaard.openapi.diff.DiffMetrics.Timer;
+import dk.hoejgaard.openapi.diff.cache.LruSpecCache;
+import dk.hoejgaard.openapi.diff.cache.SpecCache;
+import dk.hoejgaard.openapi.diff.compare.OperationDiff;
+import dk.hoejgaard.openapi.diff.compare.ResourceDiff;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * OpenAPIDiffBatch is the entry point for comparing many pairs of APIs in one run, e.g. a nightly comparison of all the APIs
+ * of an organisation.
+ * <p>
+ * The comparisons are listed in a manifest, one comparison per line in the form:
+ * <pre>
+ *     existingAPI futureAPI reportFolder reportFileNames [diff-level] [maturity] [versions]
+ * </pre>
+ * where the report names may be a comma separated list and the settings use the same values as {@link OpenAPIDiff}, the
+ * default settings are "all", "hal" and "1". Empty lines and lines starting with # are ignored and the paths are relative to
+ * the folder the batch is run from.
+ * <p>
+ * The comparisons run on a bounded pool of workers, each comparison has its own result and a comparison that fails is
+ * reported in the index without affecting the other comparisons. The parsed APIs are shared between the comparisons, which
+ * means an API taking part in several comparisons is parsed once. An index summarizing every comparison is written when all
+ * comparisons are done.
+ */
+public final class OpenAPIDiffBatch {
+    private static final String TARGET_INDEX = "./target/output/reports/index.json";
+    private static final int CACHED_SPECS = 64;
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static Logger logger = LoggerFactory.getLogger(OpenAPIDiffBatch.class);
+
+    private final int workers;
+    private final SpecCache cache;
+
+    /**
+     * @param workers the maximum number of comparisons running at the same time
+     * @param cache   the cache shared by the comparisons, if null every comparison parses its APIs
+     */
+    public OpenAPIDiffBatch(int workers, SpecCache cache) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("the batch must have at least one worker, not " + workers);
+        }
+        this.workers = workers;
+        this.cache = cache;
+    }
+
+    /**
+     * The batch is started with "java OpenAPIDiffBatch manifest [index] [workers]", where the index is written to
+     * ./target/output/reports/index.json and the number of workers matches the number of processors unless they are given.
+     *
+     * @param args manifest (a path to the manifest of comparisons) index (a path to the index) workers (number of workers)
+     * @throws Exception if the manifest could not be read or the index could not be written
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 3) {
+            System.out.println("THE USAGE IS: java OpenAPIDiffBatch manifest(path+file) [index(path+file)] [workers]\n");
+            System.out.println("- where every line in the manifest is a comparison on the form:\n");
+            System.out.println("  existingAPI futureAPI reportFolder reportFileNames [diff-level] [maturity] [versions]\n");
+            return;
+        }
+        Path index = Paths.get(args.length > 1 ? args[1] : TARGET_INDEX);
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        List<Job> jobs = readManifest(Paths.get(args[0]));
+        System.out.println("Comparing " + jobs.size() + " pairs of APIs using " + workers + " workers");
+        List<Result> results = new OpenAPIDiffBatch(workers, new LruSpecCache(CACHED_SPECS)).run(jobs);
+        writeIndex(results, index);
+        long failed = results.stream().filter(r -> !r.isCompleted()).count();
+        System.out.println("The comparisons are done, " + failed + " failed - the index can be found in: " + index);
+    }
+
+    /**
+     * @param manifest the manifest listing the comparisons
+     * @return the comparisons in the order they are listed
+     * @throws IOException if the manifest could not be read
+     */
+    public static List<Job> readManifest(Path manifest) throws IOException {
+        List<Job> jobs = new ArrayList<>();
+        Map<List<String>, Integer> reports = new HashMap<>();
+        int number = 0;
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            number++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split("\\s+");
+            if (fields.length < 4 || fields.length > 7) {
+                throw new IllegalArgumentException("line " + number + " in " + manifest + " must have 4 to 7 fields, not " + fields.length);
+            }
+            Diff diff = fields.length > 4 ? OpenAPIDiff.diffOf(fields[4]) : Diff.ALL;
+            Maturity maturity = fields.length > 5 ? OpenAPIDiff.maturityOf(fields[5]) : Maturity.HAL;
+            Versions versions = fields.length > 6 ? OpenAPIDiff.versionsOf(fields[6]) : Versions.SINGLE;
+            if (null == diff || null == maturity || null == versions) {
+                throw new IllegalArgumentException("line " + number + " in " + manifest + " has unknown settings: " + trimmed);
+            }
+            List<String> reportFileNames = Reports.names(fields[3]);
+            String folder = Paths.get(fields[2]).toAbsolutePath().normalize().toString();
+            for (String name : reportFileNames) {
+                if (!Reports.isSupported(name)) {
+                    throw new IllegalArgumentException("line " + number + " in " + manifest + " has an unsupported report: " + name);
+                }
+                Integer previous = reports.putIfAbsent(Arrays.asList(folder, name), number);
+                if (null != previous) {
+                    throw new IllegalArgumentException("line " + number + " in " + manifest + " writes the report " + name + " to "
+                        + fields[2] + " which line " + previous + " writes as well");
+                }
+            }
+            jobs.add(new Job(fields[0], fields[1], fields[2], reportFileNames, diff, maturity, versions));
+        }
+        return jobs;
+    }
+
+    /**
+     * @param jobs the comparisons
+     * @return the result of every comparison in the order the comparisons were given
+     * @throws InterruptedException if interrupted while waiting for the comparisons
+     */
+    public List<Result> run(List<Job> jobs) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(workers, jobs.size())));
+        try {
+            List<Future<Result>> running = new ArrayList<>(jobs.size());
+            for (Job job : jobs) {
+                running.add(pool.submit(() -> run(job)));
+            }
+            List<Result> results = new ArrayList<>(jobs.size());
+            for (Future<Result> result : running) {
+                try {
+                    results.add(result.get());
+                } catch (ExecutionException e) {
+                    throw new RuntimeException("could not complete the comparison", e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * every comparison has its own result and reports, a failing comparison is recorded in its result. That includes a
+     * comparison running out of stack, e.g. on a deeply nested specification, whereas running out of memory or other failures
+     * of the virtual machine stop the batch.
+     */
+    private Result run(Job job) {
+        long start = System.nanoTime();
+        try {
+            APIDiff api = new APIDiff(job.existing, job.future, job.diff, job.maturity, job.versions, null, cache);
+            File dir = new File(job.reportFolder);
+            if (dir.mkdirs()) {
+                logger.info("Creating dir = {}", dir);
+            }
+            Timer timer = api.getMetrics().start(Phase.RENDER);
+            try {
+                for (String name : job.reportFileNames) {
+                    Reports.write(api, job.existing, job.future, job.reportFolder, name);
+                }
+            } finally {
+                timer.close();
+            }
+            return new Result(job, api, elapsed(start), null);
+        } catch (Throwable e) {
+            if (e instanceof VirtualMachineError && !(e instanceof StackOverflowError)) {
+                throw (VirtualMachineError) e;
+            }
+            logger.error("A problem occurred while comparing " + job.existing + " with " + job.future, e);
+            return new Result(job, null, elapsed(start), null == e.getMessage() ? e.toString() : e.getMessage());
+        }
+    }
+
+    private static long elapsed(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * @param results the results of the comparisons
+     * @param index   the file the index is written to
+     * @throws IOException if the index could not be written
+     */
+    public static void writeIndex(List<Result> results, Path index) throws IOException {
+        Path folder = index.toAbsolutePath().getParent();
+        if (null != folder) {
+            Files.createDirectories(folder);
+        }
+        try (Writer out = Files.newBufferedWriter(index, StandardCharsets.UTF_8);
+             JsonGenerator json = FACTORY.createGenerator(out)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeNumberField("comparisons", results.size());
+            json.writeNumberField("failed", results.stream().filter(r -> !r.isCompleted()).count());
+            json.writeArrayFieldStart("results");
+            for (Result result : results) {
+                Job job = result.getJob();
+                json.writeStartObject();
+                json.writeStringField("existing", job.existing);
+                json.writeStringField("future", job.future);
+                json.writeStringField("reportFolder", job.reportFolder);
+                json.writeArrayFieldStart("reports");
+                for (String name : job.reportFileNames) {
+                    json.writeString(name);
+                }
+                json.writeEndArray();
+                json.writeStringField("diff", job.diff.toString());
+                json.writeStringField("maturity", job.maturity.toString());
+                json.writeStringField("versions", job.versions.toString());
+                json.writeBooleanField("completed", result.isCompleted());
+                json.writeNumberField("millis", result.getMillis());
+                if (result.isCompleted()) {
+                    json.writeNumberField("addedEndpoints", result.getAddedEndpoints());
+                    json.writeNumberField("removedEndpoints", result.getRemovedEndpoints());
+                    json.writeNumberField("changedEndpoints", result.getChangedEndpoints());
+                    json.writeNumberField("breakingOperations", result.getBreakingOperations());
+                    json.writeNumberField("potentiallyBreakingOperations", result.getPotentiallyBreakingOperations());
+                } else {
+                    json.writeStringField("error", result.getError());
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * A comparison listed in the manifest
+     */
+    public static final class Job {
+        private final String existing;
+        private final String future;
+        private final String reportFolder;
+        private final List<String> reportFileNames;
+        private final Diff diff;
+        private final Maturity maturity;
+        private final Versions versions;
+
+        /**
+         * @param existing        the existing API
+         * @param future          the future candidate API
+         * @param reportFolder    the folder the reports are written to
+         * @param reportFileNames the names of the reports, the extension of which determines the format of the report
+         * @param diff            the level if depth used in the diff (all, hal, laissez-faire) @see Diff
+         * @param maturity        the level of maturity (full, hal, low, none) @see Maturity
+         * @param versions        the number of overlapping versions @see Versions
+         */
+        public Job(String existing, String future, String reportFolder, List<String> reportFileNames, Diff diff, Maturity maturity,
+                   Versions versions) {
+            this.existing = existing;
+            this.future = future;
+            this.reportFolder = reportFolder;
+            this.reportFileNames = Collections.unmodifiableList(new ArrayList<>(reportFileNames));
+            this.diff = diff;
+            this.maturity = maturity;
+            this.versions = versions;
+        }
+
+        public String getExisting() {
+            return existing;
+        }
+
+        public String getFuture() {
+            return future;
+        }
+
+        public String getReportFolder() {
+            return reportFolder;
+        }
+
+        public List<String> getReportFileNames() {
+            return reportFileNames;
+        }
+    }
+
+    /**
+     * The summary of a comparison, the comparison itself is not kept, which means the memory used by the batch does not grow
+     * with the number of comparisons
+     */
+    public static final class Result {
+        private final Job job;
+        private final long millis;
+        private final String error;
+        private final int addedEndpoints;
+        private final int removedEndpoints;
+        private final int changedEndpoints;
+        private final int breakingOperations;
+        private final int potentiallyBreakingOperations;
+
+        Result(Job job, APIDiff api, long millis, String error) {
+            this.job = job;
+            this.millis = millis;
+            this.error = error;
+            int breaking = 0;
+            int potentiallyBreaking = 0;
+            if (null != api) {
+                for (ResourceDiff resource : api.getAllDiffs()) {
+                    for (OperationDiff operation : resource.getChangedOperations().values()) {
+                        breaking += operation.isBroke() ? 1 : 0;
+                        potentiallyBreaking += operation.isPotentiallyBroke() ? 1 : 0;
+                    }
+                }
+            }
+            this.addedEndpoints = null == api ? 0 : api.getAddedEndpoints().size();
+            this.removedEndpoints = null == api ? 0 : api.getMissingEndpoints().size();
+            this.changedEndpoints = null == api ? 0 : api.getChangedEndpoints().size();
+            this.breakingOperations = breaking;
+            this.potentiallyBreakingOperations = potentiallyBreaking;
+        }
+
+        public Job getJob() {
+            return job;
+        }
+
+        /**
+         * @return true if the APIs were compared and the reports written
+         */
+        public boolean isCompleted() {
+            return null == error;
+        }
+
+        /**
+         * @return the reason the comparison failed or null if it completed
+         */
+        public String getError() {
+            return error;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public int getAddedEndpoints() {
+            return addedEndpoints;
+        }
+
+        public int getRemovedEndpoints() {
+            return removedEndpoints;
+        }
+
+        public int getChangedEndpoints() {
+            return changedEndpoints;
+        }
+
+        public int getBreakingOperations() {
+            return breakingOperations;
+        }
+
+        public int getPotentiallyBreakingOperations() {
+            return potentiallyBreakingOperations;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dk.hoejgaard.openapi.diff.cache.LruSpecCache;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import dk.hoejgaard.openapi.diff.output.OutputRender;
+import dk.hoejgaard.openapi.diff.output.ReportWriter;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * OpenAPIDiffServer compares APIs posted to it and responds with the report, which avoids starting a JVM for every comparison
+ * e.g. in a pre-commit hook.
+ * <p>
+ * The APIs are posted to /diff as a JSON document holding the existing and the future API, either as JSON objects or as
+ * strings holding the API in JSON or YAML:
+ * <pre>
+ *     POST /diff?format=md&amp;diff=all&amp;maturity=hal&amp;versions=1
+ *     {"existing": {...}, "future": {...}}
+ * </pre>
+ * where the format is one of txt, md, html, xml and json and the settings use the same values as {@link OpenAPIDiff}. The
+ * defaults are txt, "all", "hal" and "1". GET /health responds with "ok" when the server is running.
+ * <p>
+ * The parsed APIs are cached by their content, which means a reference API posted again is not parsed again. The last
+ * comparison against an existing API is kept as a {@link DiffSnapshot}, which means that posting an edited future API
+ * against the same existing API and settings compares only the paths changed since the last comparison. The number of
+ * comparisons running at the same time is limited, and the posted APIs are parsed as part of the comparison. A request
+ * waiting longer than a second for a comparison to finish is answered with 503 (Service Unavailable).
+ */
+public final class OpenAPIDiffServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int CACHED_SPECS = 64;
+    private static final int SNAPSHOTS = 16;
+    private static final int MAX_REQUEST_BYTES = 16 * 1024 * 1024;
+    private static final long MAX_WAIT_MILLIS = 1000;
+    private static final String WARM_UP_SPEC = "{\"swagger\":\"2.0\",\"info\":{\"title\":\"warm-up\",\"version\":\"1\"},"
+        + "\"paths\":{\"/warm-up\":{\"get\":{\"produces\":[\"application/hal+json\"],\"responses\":{\"200\":{\"description\":\"ok\"}}}}}}";
+    private static final String[] FORMATS = {"txt", "md", "html", "xml", "json"};
+    private static Logger logger = LoggerFactory.getLogger(OpenAPIDiffServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final Semaphore comparisons;
+    private final LruSpecCache cache;
+    private final Map<SnapshotKey, DiffSnapshot> snapshots = new LinkedHashMap<SnapshotKey, DiffSnapshot>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SnapshotKey, DiffSnapshot> eldest) {
+            return size() > SNAPSHOTS;
+        }
+    };
+
+    /**
+     * @param port           the port the server listens on, 0 lets the server pick a free port
+     * @param maxComparisons the maximum number of comparisons running at the same time
+     * @param cache          the cache holding the parsed APIs
+     * @throws IOException if the server could not listen on the port
+     */
+    public OpenAPIDiffServer(int port, int maxComparisons, LruSpecCache cache) throws IOException {
+        if (maxComparisons < 1) {
+            throw new IllegalArgumentException("the server must allow at least one comparison, not " + maxComparisons);
+        }
+        this.comparisons = new Semaphore(maxComparisons);
+        this.cache = cache;
+        this.workers = Executors.newFixedThreadPool(2 * maxComparisons);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(workers);
+        this.server.createContext("/diff", this::diff);
+        this.server.createContext("/health", exchange -> respond(exchange, 200, "text/plain", "ok"));
+    }
+
+    /**
+     * The server is started with "java OpenAPIDiffServer [port] [max-comparisons]" and runs until the JVM is stopped.
+     *
+     * @param args port (the port the server listens on) max-comparisons (the number of comparisons running at the same time)
+     * @throws Exception if the server could not be started
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxComparisons = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        OpenAPIDiffServer server = new OpenAPIDiffServer(port, maxComparisons, new LruSpecCache(CACHED_SPECS));
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.println("Comparing APIs posted to http://localhost:" + server.getPort() + "/diff - allowing " + maxComparisons
+            + " comparisons at the same time");
+    }
+
+    /**
+     * starts the server after a comparison has been rendered in every format, which loads the parser and the renderers before
+     * the first request arrives.
+     */
+    public void start() {
+        warmUp();
+        server.start();
+        logger.info("Listening for comparisons on port {}", getPort());
+    }
+
+    /**
+     * stops the server, comparisons running are given a second to finish
+     */
+    public void stop() {
+        server.stop(1);
+        workers.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the permits for the comparisons, which are held while the posted APIs are parsed, compared and rendered
+     */
+    Semaphore getComparisons() {
+        return comparisons;
+    }
+
+    private void warmUp() {
+        Swagger api = new SwaggerParser().parse(WARM_UP_SPEC);
+        APIDiff diff = new APIDiff(api, api, Diff.ALL, Maturity.FULL, Versions.SINGLE);
+        for (String format : FORMATS) {
+            Reports.renderer("warm-up." + format, "warm-up", "warm-up").render(diff);
+        }
+    }
+
+    private void diff(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "text/plain", "the APIs must be posted");
+                return;
+            }
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            String format = query.getOrDefault("format", "txt");
+            Diff diff = OpenAPIDiff.diffOf(query.getOrDefault("diff", "all"));
+            Maturity maturity = OpenAPIDiff.maturityOf(query.getOrDefault("maturity", "hal"));
+            Versions versions = OpenAPIDiff.versionsOf(query.getOrDefault("versions", "1"));
+            OutputRender renderer = Reports.renderer("report." + format, "existing", "future");
+            if (null == renderer || null == diff || null == maturity || null == versions) {
+                respond(exchange, 400, "text/plain", "unknown format or settings: " + exchange.getRequestURI().getRawQuery());
+                return;
+            }
+            byte[] body = readBody(exchange.getRequestBody());
+            if (null == body) {
+                respond(exchange, 413, "text/plain", "the request may not exceed " + MAX_REQUEST_BYTES + " bytes");
+                return;
+            }
+            if (!comparisons.tryAcquire(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 503, "text/plain", "too many comparisons are running, please try again");
+                return;
+            }
+            try {
+                JsonNode apis;
+                try {
+                    apis = Json.mapper().readTree(body);
+                } catch (IOException e) {
+                    respond(exchange, 400, "text/plain", "the request must be a JSON document: " + e.getMessage());
+                    return;
+                }
+                Swagger existing = read(content(apis, "existing"));
+                Swagger future = read(content(apis, "future"));
+                if (null == existing || null == future) {
+                    respond(exchange, 400, "text/plain", "the request must hold an existing and a future API");
+                    return;
+                }
+                SnapshotKey key = new SnapshotKey(existing, diff, maturity, versions);
+                APIDiff result = new APIDiff(existing, future, diff, maturity, versions, null, snapshot(key));
+                snapshot(key, result.getSnapshot());
+                exchange.getResponseHeaders().set("Content-Type", contentType(format));
+                exchange.sendResponseHeaders(200, 0);
+                try (Writer out = new ReportWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), "txt".equals(format))) {
+                    renderer.render(result, out);
+                }
+            } finally {
+                comparisons.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "text/plain", "the server is stopping");
+        } catch (RuntimeException e) {
+            logger.error("A problem occurred while comparing the posted APIs", e);
+            respond(exchange, 500, "text/plain", "the APIs could not be compared: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * an API posted as a JSON object is cached by its compact JSON form, an API posted as a string is cached by the string.
+     */
+    private static String content(JsonNode apis, String name) {
+        JsonNode api = null == apis ? null : apis.get(name);
+        if (null == api || !(api.isObject() || api.isTextual())) {
+            return null;
+        }
+        return api.isTextual() ? api.asText() : api.toString();
+    }
+
+    private Swagger read(String content) {
+        return null == content ? null : cache.readContent(content);
+    }
+
+    private DiffSnapshot snapshot(SnapshotKey key) {
+        synchronized (snapshots) {
+            return snapshots.getOrDefault(key, DiffSnapshot.EMPTY);
+        }
+    }
+
+    private void snapshot(SnapshotKey key, DiffSnapshot snapshot) {
+        synchronized (snapshots) {
+            snapshots.put(key, snapshot);
+        }
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out.size() + read > MAX_REQUEST_BYTES) {
+                return null;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> query(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> query = new HashMap<>();
+        if (null == rawQuery) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int split = parameter.indexOf('=');
+            if (split > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, split), "UTF-8"),
+                    URLDecoder.decode(parameter.substring(split + 1), "UTF-8"));
+            }
+        }
+        return query;
+    }
+
+    private static String contentType(String format) {
+        switch (format) {
+            case "md":
+                return "text/markdown; charset=utf-8";
+            case "html":
+                return "text/html; charset=utf-8";
+            case "xml":
+                return "application/xml; charset=utf-8";
+            case "json":
+                return "application/json; charset=utf-8";
+            default:
+                return "text/plain; charset=utf-8";
+        }
+    }
+
+    /**
+     * responds unless the response has already begun, in which case the report is cut short and the client sees a broken
+     * response.
+     */
+    private static void respond(HttpExchange exchange, int status, String contentType, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            return;
+        }
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * the existing API is compared by identity, the cache hands out the same parsed API for the same content, which spares
+     * hashing the content again. An existing API parsed again after being evicted from the cache starts a new snapshot.
+     */
+    private static final class SnapshotKey {
+        private final Swagger existing;
+        private final Diff diff;
+        private final Maturity maturity;
+        private final Versions versions;
+
+        private SnapshotKey(Swagger existing, Diff diff, Maturity maturity, Versions versions) {
+            this.existing = existing;
+            this.diff = diff;
+            this.maturity = maturity;
+            this.versions = versions;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SnapshotKey)) {
+                return false;
+            }
+            SnapshotKey other = (SnapshotKey) o;
+            return existing == other.existing && diff == other.diff && maturity == other.maturity && versions == other.versions;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(existing), diff, maturity, versions);
+        }
+    }
+}
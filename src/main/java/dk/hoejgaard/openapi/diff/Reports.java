@@ -0,0 +1,116 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import dk.hoejgaard.openapi.diff.output.ConsoleRender;
+import dk.hoejgaard.openapi.diff.output.HtmlRender;
+import dk.hoejgaard.openapi.diff.output.JsonRender;
+import dk.hoejgaard.openapi.diff.output.MarkdownRender;
+import dk.hoejgaard.openapi.diff.output.OutputRender;
+import dk.hoejgaard.openapi.diff.output.ReportWriter;
+import dk.hoejgaard.openapi.diff.output.XmlRender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders and writes the reports for a comparison, the format of a report is given by the extension of its name.
+ * <p>
+ * The reports hold no state of their own and may be written for several comparisons at the same time.
+ */
+final class Reports {
+    static final String TITLE = "API Comparison Results";
+    static final String SUB_TITLE = "Delivered by Open API Diff tooling";
+    static final String CHECKSTYLE_VERSION = "4.3";
+    private static Logger logger = LoggerFactory.getLogger(Reports.class);
+
+    private Reports() {
+        //intentionally empty
+    }
+
+    /**
+     * a report listed more than once is written once, as renderers writing the same file in parallel would corrupt it.
+     *
+     * @param reportFileNames the comma separated names of the reports
+     * @return the names of the reports in the order they are first listed
+     */
+    static List<String> names(String reportFileNames) {
+        return new ArrayList<>(new LinkedHashSet<>(Arrays.asList(reportFileNames.split(","))));
+    }
+
+    /**
+     * @param reportFileName the name of the report
+     * @return true if the extension of the name is one of the supported report formats
+     */
+    static boolean isSupported(String reportFileName) {
+        return
+            reportFileName.endsWith(".md") ||
+                reportFileName.endsWith(".html") ||
+                reportFileName.endsWith(".xml") ||
+                reportFileName.endsWith(".json") ||
+                reportFileName.endsWith(".txt");
+    }
+
+    /**
+     * @param reportFileName the name of the report, the extension of which determines the format
+     * @param existing       the API specification for the existing API
+     * @param future         the API specification for the future candidate API
+     * @return the renderer for the report or null if the format is not supported
+     */
+    static OutputRender renderer(String reportFileName, String existing, String future) {
+        if (reportFileName.endsWith(".txt")) {
+            return new ConsoleRender(TITLE, SUB_TITLE, existing, future);
+        } else if (reportFileName.endsWith(".md")) {
+            return new MarkdownRender(TITLE, SUB_TITLE, existing, future);
+        } else if (reportFileName.endsWith(".html")) {
+            return new HtmlRender(TITLE, SUB_TITLE, existing, future);
+        } else if (reportFileName.endsWith(".xml")) {
+            return new XmlRender(TITLE, SUB_TITLE, existing, future, CHECKSTYLE_VERSION);
+        } else if (reportFileName.endsWith(".json")) {
+            return new JsonRender(TITLE, SUB_TITLE, existing, future);
+        }
+        return null;
+    }
+
+    /**
+     * the report is written to the file while it is rendered, the console report is written in its plain form and a copy
+     * including the colour codes is written to a file prefixed with "console-". The time spent is measured by the caller, as
+     * several reports may be rendered in parallel as part of the same render phase.
+     *
+     * @param api            the result of the comparison
+     * @param existing       the API specification for the existing API
+     * @param future         the API specification for the future candidate API
+     * @param reportFolder   the existing folder the report is written to
+     * @param reportFileName the name of the report
+     */
+    static void write(APIDiff api, String existing, String future, String reportFolder, String reportFileName) throws IOException {
+        OutputRender renderer = renderer(reportFileName, existing, future);
+        if (reportFileName.endsWith(".txt")) {
+            try (Writer console = newWriter(reportFolder, "console-" + reportFileName);
+                 Writer report = new ReportWriter(newWriter(reportFolder, reportFileName), true, console)) {
+                renderer.render(api, report);
+            }
+            return;
+        }
+        try (Writer report = new ReportWriter(newWriter(reportFolder, reportFileName), false)) {
+            if (null == renderer) {
+                logger.warn("The report format specified by the file extension did not match a supported report, the name was: {} ",
+                    reportFileName);
+                report.write("Empty Report");
+            } else {
+                renderer.render(api, report);
+            }
+        }
+    }
+
+    private static Writer newWriter(String reportFolder, String reportFileName) throws IOException {
+        return Files.newBufferedWriter(Paths.get(reportFolder, reportFileName), StandardCharsets.UTF_8);
+    }
+}
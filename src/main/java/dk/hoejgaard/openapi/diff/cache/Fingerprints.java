@@ -0,0 +1,187 @@
+package dk.hoejgaard.openapi.diff.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+/**
+ * Structural fingerprints of the paths and the definitions of an API, which tell whether a path has changed between two
+ * versions of an API without comparing them.
+ * <p>
+ * The fingerprint of a definition, a shared parameter or a shared response is a hash of its JSON form. The fingerprint of a
+ * path is a hash of its JSON form and the fingerprints of every definition, parameter and response it refers to, directly or
+ * through other definitions, which means that a path changes fingerprint when something it refers to changes. The same API
+ * always gives the same fingerprints, also when read again.
+ * <p>
+ * The fingerprints are computed when asked for and remembered, an instance is not thread-safe.
+ */
+public final class Fingerprints {
+    private static final ObjectMapper MAPPER = Json.mapper();
+    private static final String LOCAL_REF = "#/";
+    private static final String REF = "$ref";
+
+    private final Swagger api;
+    private final Map<String, Node> references = new HashMap<>();
+    private final Map<String, String> paths = new HashMap<>();
+
+    private Fingerprints(Swagger api) {
+        this.api = api;
+    }
+
+    /**
+     * @param api the API to fingerprint
+     * @return the fingerprints of the API
+     */
+    public static Fingerprints of(Swagger api) {
+        return new Fingerprints(api);
+    }
+
+    /**
+     * @param content the content of a document, e.g. an API specification
+     * @return the fingerprint of the content
+     */
+    public static String content(String content) {
+        return hex(digest().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @param url the url of the path e.g. "/accounts/{id}"
+     * @return the fingerprint of the path including everything it refers to, or null if the API does not have the path
+     */
+    public String path(String url) {
+        String fingerprint = paths.get(url);
+        if (null == fingerprint) {
+            Path path = null == api.getPaths() ? null : api.getPaths().get(url);
+            if (null == path) {
+                return null;
+            }
+            fingerprint = transitive(node(path));
+            paths.put(url, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * @param name the name of a definition e.g. "Account"
+     * @return the fingerprint of the definition alone, or null if the API does not have the definition
+     */
+    public String definition(String name) {
+        Node definition = reference(LOCAL_REF + "definitions/" + name);
+        return null == definition ? null : definition.fingerprint;
+    }
+
+    /**
+     * the references reached from the node are visited once each, in order for cyclic definitions to be fingerprinted as well,
+     * and hashed in the order of their names in order for the fingerprint not to depend on the order they are reached in.
+     */
+    private String transitive(Node start) {
+        Set<String> reached = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>(start.refs);
+        while (!pending.isEmpty()) {
+            String ref = pending.pop();
+            if (reached.add(ref)) {
+                Node node = reference(ref);
+                if (null != node) {
+                    pending.addAll(node.refs);
+                }
+            }
+        }
+        MessageDigest digest = digest();
+        digest.update(start.fingerprint.getBytes(StandardCharsets.UTF_8));
+        for (String ref : reached) {
+            Node node = reference(ref);
+            digest.update((ref + "=" + (null == node ? "" : node.fingerprint) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * @param ref a reference e.g. "#/definitions/Account", references to other documents are not followed
+     * @return the node referred to or null if it is not found in the API
+     */
+    private Node reference(String ref) {
+        if (references.containsKey(ref)) {
+            return references.get(ref);
+        }
+        Node node = null;
+        if (ref.startsWith(LOCAL_REF)) {
+            int split = ref.indexOf('/', LOCAL_REF.length());
+            if (split > 0) {
+                Object element = element(ref.substring(LOCAL_REF.length(), split), ref.substring(split + 1));
+                node = null == element ? null : node(element);
+            }
+        }
+        references.put(ref, node);
+        return node;
+    }
+
+    private Object element(String section, String name) {
+        Map<String, ?> elements;
+        switch (section) {
+            case "definitions":
+                elements = api.getDefinitions();
+                break;
+            case "parameters":
+                elements = api.getParameters();
+                break;
+            case "responses":
+                elements = api.getResponses();
+                break;
+            default:
+                elements = null;
+        }
+        return null == elements ? null : elements.get(name);
+    }
+
+    private static Node node(Object element) {
+        try {
+            JsonNode json = MAPPER.valueToTree(element);
+            Set<String> refs = new TreeSet<>(json.findValuesAsText(REF));
+            return new Node(hex(digest().digest(MAPPER.writeValueAsBytes(json))), refs);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new RuntimeException("could not fingerprint " + element, e);
+        }
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported by the JVM", e);
+        }
+    }
+
+    private static String hex(byte[] hash) {
+        StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * the fingerprint of an element alone and the references it holds
+     */
+    private static final class Node {
+        private final String fingerprint;
+        private final Set<String> refs;
+
+        private Node(String fingerprint, Set<String> refs) {
+            this.fingerprint = fingerprint;
+            this.refs = refs;
+        }
+    }
+}
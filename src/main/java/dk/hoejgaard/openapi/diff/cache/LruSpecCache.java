@@ -0,0 +1,209 @@
+package dk.hoejgaard.openapi.diff.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A size bounded cache of parsed API specifications keyed by the SHA-256 hash of the content of the specification.
+ * <p>
+ * The least recently used specification is evicted when the cache exceeds the maximum number of entries.
+ * The cache may be given a directory, where the parsed specifications are stored in a serialized form named after the
+ * content hash, which allows the parsing to be skipped across runs, e.g. in a pipeline diffing the same existing API against
+ * a number of candidate APIs.
+ * <p>
+ * The key is the content of the specification itself, external specifications referred to from it are not part of the key.
+ * A specification that cannot be read as content (e.g. an unknown location) is handed directly to the parser and is not cached.
+ */
+public class LruSpecCache implements SpecCache {
+
+    private static Logger logger = LoggerFactory.getLogger(LruSpecCache.class);
+    private static final String SUFFIX = ".json";
+
+    private final int maxEntries;
+    private final Path directory;
+    private final Map<String, Swagger> specs;
+
+    /**
+     * @param maxEntries the maximum number of parsed specifications kept in memory
+     */
+    public LruSpecCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * @param maxEntries the maximum number of parsed specifications kept in memory
+     * @param directory  the directory where the serialized form of the parsed specifications are kept, if null the cache is
+     *                   kept in memory only
+     */
+    public LruSpecCache(int maxEntries, Path directory) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("the cache must be able to hold at least one api-doc, not " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.directory = directory;
+        this.specs = new LinkedHashMap<String, Swagger>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Swagger> eldest) {
+                return size() > LruSpecCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * the specification is parsed outside of the lock, two threads reading the same uncached specification at the same time
+     * may thus both parse it, which is harmless as the last one simply replaces the first one.
+     */
+    @Override
+    public Swagger read(String location) {
+        byte[] content = content(location);
+        if (null == content) {
+            return parse(location);
+        }
+        return cached(hash(content), () -> parse(location));
+    }
+
+    /**
+     * @param content the API specification itself, e.g. received by a service rather than read from a location
+     * @return the parsed API specification or null if the content could not be parsed
+     */
+    public Swagger readContent(String content) {
+        return cached(hash(content.getBytes(StandardCharsets.UTF_8)), () -> new SwaggerParser().parse(content));
+    }
+
+    private Swagger cached(String key, Supplier<Swagger> parser) {
+        Swagger api = lookup(key);
+        if (null != api) {
+            return api;
+        }
+        api = load(key);
+        if (null == api) {
+            api = parser.get();
+            if (null == api) {
+                return null;
+            }
+            store(key, api);
+        }
+        synchronized (specs) {
+            specs.put(key, api);
+        }
+        return api;
+    }
+
+    public int size() {
+        synchronized (specs) {
+            return specs.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (specs) {
+            specs.clear();
+        }
+    }
+
+    private Swagger lookup(String key) {
+        synchronized (specs) {
+            return specs.get(key);
+        }
+    }
+
+    private static Swagger parse(String location) {
+        return new SwaggerParser().read(location);
+    }
+
+    private Swagger load(String key) {
+        if (null == directory) {
+            return null;
+        }
+        Path serialized = directory.resolve(key + SUFFIX);
+        if (!Files.isRegularFile(serialized)) {
+            return null;
+        }
+        try {
+            return new SwaggerParser().parse(new String(Files.readAllBytes(serialized), StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("cannot load cached api-doc from " + serialized + ", the api-doc is parsed again", e);
+            return null;
+        }
+    }
+
+    /**
+     * the serialized form is written to a temporary file which is moved into place, concurrent runs sharing the directory will
+     * therefore never see a partially written specification.
+     */
+    private void store(String key, Swagger api) {
+        if (null == directory) {
+            return;
+        }
+        Path serialized = directory.resolve(key + SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, Json.mapper().writeValueAsBytes(api));
+            Files.move(temp, serialized, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("cannot store cached api-doc in " + serialized, e);
+        }
+    }
+
+    private static byte[] content(String location) {
+        try {
+            File file = new File(location);
+            if (file.isFile()) {
+                return Files.readAllBytes(file.toPath());
+            }
+            if (location.contains(":/")) {
+                try (InputStream in = new URL(location).openStream()) {
+                    return readAll(in);
+                }
+            }
+            try (InputStream in = LruSpecCache.class.getClassLoader().getResourceAsStream(location)) {
+                return null == in ? null : readAll(in);
+            }
+        } catch (IOException e) {
+            logger.info("cannot read content of api-doc from " + location + ", the api-doc is not cached", e);
+            return null;
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("cannot hash api-doc, SHA-256 is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package dk.hoejgaard.openapi.diff.cache;
+
+import io.swagger.models.Swagger;
+
+/**
+ * A cache of parsed API specifications, which allows an API that takes part in many comparisons to be parsed once only.
+ * <p>
+ * The cache is shared between comparisons and possibly between threads, implementations must therefore be thread-safe.
+ * The returned models are shared as well and must be treated as read-only by the callers.
+ */
+public interface SpecCache {
+
+    /**
+     * @param location the file, url or classpath resource holding the API specification
+     * @return the parsed API specification or null if the specification could not be read
+     */
+    Swagger read(String location);
+}
@@ -2,14 +2,20 @@ package dk.hoejgaard.openapi.diff.compare;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import dk.hoejgaard.openapi.diff.compare.util.Maps;
+import dk.hoejgaard.openapi.diff.model.Finding;
+import dk.hoejgaard.openapi.diff.model.Findings;
 import dk.hoejgaard.openapi.diff.model.ScopedProperty;
+import dk.hoejgaard.openapi.diff.model.Severity;
 import io.swagger.models.Model;
 import io.swagger.models.properties.AbstractNumericProperty;
 import io.swagger.models.properties.Property;
@@ -18,9 +24,20 @@ import io.swagger.models.properties.StringProperty;
 
 /**
  * Determines differences in the API model for properties/references
+ * <p>
+ * References are followed until a maximum depth, a reference to a definition that is already being compared further up (e.g. a
+ * tree node referring to itself) is not followed again, as the differences are the same as the ones found further up.
+ * Stopping at the maximum depth is reported as an observation, as differences further down are not found.
  */
 class ElementDiff {
 
+    /**
+     * the scope of a relative diff, every element, context and observation of a relative diff starts with "." and the diff may
+     * therefore be re-scoped by prefixing the scope.
+     */
+    static final String RELATIVE = "";
+    static final int DEFAULT_MAX_DEPTH = 32;
+
     private final Map<String, Model> existingAPI;
     private final Map<String, Model> futureAPI;
 
@@ -28,8 +45,11 @@ class ElementDiff {
     private final List<ScopedProperty> removed;
     private final List<ScopedProperty> changed;
     private final Map<String, List<String>> changeCause;
-    private final Map<String, List<String>> breaking;
-    private final Map<String, List<String>> potentiallyBreaking;
+    private final Findings findings;
+    private final int maxDepth;
+    private final Set<List<String>> comparing = new HashSet<>();
+    private final Set<String> converting = new HashSet<>();
+    private int visited;
 
     /**
      * @param existing definition model for the existing API
@@ -39,15 +59,60 @@ class ElementDiff {
      * @param scope the scope in which this should be seen and reported
      */
     ElementDiff(Map<String, Model> existing, Map<String, Model> future, String existingRef, String nextRef, String scope) {
+        this(existing, future, existingRef, nextRef, scope, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param existing definition model for the existing API
+     * @param future definition model for the future candidate API
+     * @param existingRef name for the reference/property in the existing API
+     * @param nextRef name for the reference/property in the candidate API
+     * @param scope the scope in which this should be seen and reported
+     * @param maxDepth the maximum number of nested references followed
+     */
+    ElementDiff(Map<String, Model> existing, Map<String, Model> future, String existingRef, String nextRef, String scope,
+                int maxDepth) {
         added = new ArrayList<>();
         removed = new ArrayList<>();
         changed = new ArrayList<>();
         changeCause = new LinkedHashMap<>();
-        breaking = new LinkedHashMap<>();
-        potentiallyBreaking = new LinkedHashMap<>();
+        findings = new Findings();
         existingAPI = existing;
         futureAPI = future;
-        diff(existingAPI.get(existingRef), futureAPI.get(nextRef), scope);
+        this.maxDepth = maxDepth;
+        diff(existingRef, nextRef, scope, 0);
+    }
+
+    /**
+     * @param relative the diff made in the relative scope
+     * @param scope the scope in which this should be seen and reported
+     */
+    private ElementDiff(ElementDiff relative, String scope) {
+        existingAPI = relative.existingAPI;
+        futureAPI = relative.futureAPI;
+        added = scoped(relative.added, scope);
+        removed = scoped(relative.removed, scope);
+        changed = scoped(relative.changed, scope);
+        changeCause = new LinkedHashMap<>();
+        for (Entry<String, List<String>> entry : relative.changeCause.entrySet()) {
+            changeCause.put(scope + entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        findings = new Findings();
+        for (Severity severity : Severity.values()) {
+            for (Finding finding : relative.findings.get(severity)) {
+                findings.append(finding.within(scope));
+            }
+        }
+        maxDepth = relative.maxDepth;
+        visited = relative.visited;
+    }
+
+    /**
+     * @param scope the scope in which this relative diff should be seen and reported
+     * @return a copy of this diff in the given scope
+     */
+    ElementDiff scoped(String scope) {
+        return new ElementDiff(this, scope);
     }
 
     /**
@@ -78,21 +143,52 @@ class ElementDiff {
         return Collections.unmodifiableMap(changeCause);
     }
 
+    /**
+     * @return the breaking and potentially breaking changes, and the observations on the comparison itself as changes
+     */
+    public Findings getFindings() {
+        return findings;
+    }
+
     /**
      * @return the breaking changes
      */
     public Map<String, List<String>> getBreaking() {
-        return Collections.unmodifiableMap(breaking);
+        return findings.getMessages(Severity.BREAKING);
     }
 
     /**
      * @return the potentially breaking changes
      */
     public Map<String, List<String>> getPotentiallyBreaking() {
-        return Collections.unmodifiableMap(potentiallyBreaking);
+        return findings.getMessages(Severity.POTENTIALLY_BREAKING);
+    }
+
+    /**
+     * @return observations on the comparison itself, e.g. that references were not followed beyond the maximum depth
+     */
+    public Map<String, List<String>> getObservations() {
+        return findings.getMessages(Severity.CHANGE);
+    }
+
+    /**
+     * @return the number of pairs of definitions compared, including the ones followed by references
+     */
+    int getVisited() {
+        return visited;
+    }
+
+    private void diff(String existingRef, String futureRef, String parentEl, int depth) {
+        List<String> pair = Arrays.asList(existingRef, futureRef);
+        if (!comparing.add(pair)) {
+            return;
+        }
+        visited++;
+        diff(existingAPI.get(existingRef), futureAPI.get(futureRef), parentEl, depth);
+        comparing.remove(pair);
     }
 
-    private void diff(Model existingAPI, Model nextAPI, String parentEl) {
+    private void diff(Model existingAPI, Model nextAPI, String parentEl, int depth) {
         if (null == existingAPI && null == nextAPI) return;
         Map<String, Property> existingProperties = null == existingAPI ? null : existingAPI.getProperties();
         Map<String, Property> futureProperties = null == nextAPI ? null : nextAPI.getProperties();
@@ -100,8 +196,8 @@ class ElementDiff {
         Map<String, Property> increasedProp = diff.getAdded();
         Map<String, Property> missingProp = diff.getRemoved();
 
-        added.addAll(convert2ElProperties(increasedProp, parentEl, false));
-        removed.addAll(convert2ElProperties(missingProp, parentEl, true));
+        added.addAll(convert2ElProperties(increasedProp, parentEl, false, depth));
+        removed.addAll(convert2ElProperties(missingProp, parentEl, true, depth));
         if (existingProperties != null && futureProperties != null) {
             List<String> sharedKey = diff.getCommon();
             for (String key : sharedKey) {
@@ -111,9 +207,13 @@ class ElementDiff {
                     && future instanceof RefProperty) {
                     String existingRef = ((RefProperty) existing).getSimpleRef();
                     String futureRef = ((RefProperty) future).getSimpleRef();
-                    diff(this.existingAPI.get(existingRef),
-                        futureAPI.get(futureRef),
-                        null == parentEl ? key : parentEl + "." + key);
+                    String el = null == parentEl ? key : parentEl + "." + key;
+                    if (depth < maxDepth) {
+                        diff(existingRef, futureRef, el, depth + 1);
+                    } else {
+                        addObservation(el + ".", Finding.explained(Severity.CHANGE, RELATIVE, "comparison.stopped.at.max.depth",
+                            "comparison.of.{0}.and.{1}.stopped.at.max.depth.{2}", existingRef, futureRef, maxDepth));
+                    }
                 } else if (!isCompliant(existing, future)) {
                     ScopedProperty fpWithPath = convert2ELProperty(parentEl, key, future);
                     changed.add(fpWithPath);
@@ -125,154 +225,146 @@ class ElementDiff {
     }
 
     private String investigateAndReport(Property existing, Property future, String context) {
-        StringBuilder sb = new StringBuilder();
+        List<Finding> causes = new ArrayList<>();
         if (existing instanceof StringProperty && future instanceof StringProperty) {
-            appendStringPropertyDiffs(sb, existing, future, context);
+            appendStringPropertyDiffs(causes, existing, future, context);
         }
         if (existing instanceof AbstractNumericProperty && future instanceof AbstractNumericProperty) {
-            appendNumericParameterDiffs(sb, existing, future, context);
+            appendNumericParameterDiffs(causes, existing, future, context);
         }
-        appendPropertyDiffs(sb, existing, future, context);
-        if (sb.lastIndexOf(",") > 0) {
-            int index = sb.lastIndexOf(",");
-            int length = sb.length();
-            sb.delete(index, length);
+        appendPropertyDiffs(causes, existing, future, context);
+        StringBuilder sb = new StringBuilder();
+        for (Finding cause : causes) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(cause.getMessage());
         }
         return sb.toString();
     }
 
-    private void appendNumericParameterDiffs(StringBuilder sb, Property existing, Property future, String context) {
+    private void appendNumericParameterDiffs(List<Finding> causes, Property existing, Property future, String context) {
         AbstractNumericProperty f = (AbstractNumericProperty) future;
         AbstractNumericProperty e = (AbstractNumericProperty) existing;
-        appendMinimum(sb, context, f, e);
-        appendExclusiveMinimum(sb, context, f, e);
-        appendMaximum(sb, context, f, e);
-        appendExclusiveMaximum(sb, context, f, e);
+        appendMinimum(causes, context, f, e);
+        appendExclusiveMinimum(causes, context, f, e);
+        appendMaximum(causes, context, f, e);
+        appendExclusiveMaximum(causes, context, f, e);
     }
 
-    private void appendMinimum(StringBuilder sb, String context, AbstractNumericProperty f, AbstractNumericProperty e) {
+    private void appendMinimum(List<Finding> causes, String context, AbstractNumericProperty f, AbstractNumericProperty e) {
         if (f.getMinimum() != null && !f.getMinimum().equals(e.getMinimum())) {
-            String str = "minimum.changed.from." + e.getMinimum() + ".to." + f.getMinimum();
-            sb.append(str).append(", ");
+            Finding cause = cause(causes, "minimum.changed", e.getMinimum(), f.getMinimum());
             if (f.getMinimum().subtract(e.getMinimum()).longValue() > 0) {
-                addBreaking(context, str);
+                addBreaking(context, cause);
             }
         }
     }
 
-    private void appendMaximum(StringBuilder sb, String context, AbstractNumericProperty f, AbstractNumericProperty e) {
+    private void appendMaximum(List<Finding> causes, String context, AbstractNumericProperty f, AbstractNumericProperty e) {
         if (f.getMaximum() != null && !f.getMaximum().equals(e.getMaximum())) {
-            String str = "maximum.changed.from." + e.getMaximum() + ".to." + f.getMaximum();
-            sb.append(str).append(", ");
+            Finding cause = cause(causes, "maximum.changed", e.getMaximum(), f.getMaximum());
             if (f.getMaximum().subtract(e.getMaximum()).longValue() < 0) {
-                addBreaking(context, str);
+                addBreaking(context, cause);
             }
         }
     }
 
-    private void appendExclusiveMinimum(StringBuilder sb, String context, AbstractNumericProperty f, AbstractNumericProperty e) {
+    private void appendExclusiveMinimum(List<Finding> causes, String context, AbstractNumericProperty f, AbstractNumericProperty e) {
         if (f.getExclusiveMinimum() != null && !f.getExclusiveMinimum().equals(e.getExclusiveMinimum())) {
-            String str = "minimum.exclusive.changed.from." + e.getExclusiveMinimum() + ".to." + f.getExclusiveMinimum();
-            sb.append(str).append(", ");
+            Finding cause = cause(causes, "minimum.exclusive.changed", e.getExclusiveMinimum(), f.getExclusiveMinimum());
             if (f.getExclusiveMinimum() && !e.getExclusiveMinimum()) {
-                addBreaking(context, str);
+                addBreaking(context, cause);
             }
         }
     }
 
-    private void appendExclusiveMaximum(StringBuilder sb, String context, AbstractNumericProperty f, AbstractNumericProperty e) {
+    private void appendExclusiveMaximum(List<Finding> causes, String context, AbstractNumericProperty f, AbstractNumericProperty e) {
         if (f.getExclusiveMaximum() != null && !f.getExclusiveMaximum().equals(e.getExclusiveMaximum())) {
-            String str = "maximum.exclusive.changed.from." + e.getExclusiveMaximum() + ".to." + f.getExclusiveMaximum();
-            sb.append(str).append(", ");
+            Finding cause = cause(causes, "maximum.exclusive.changed", e.getExclusiveMaximum(), f.getExclusiveMaximum());
             if (f.getExclusiveMaximum() && !e.getExclusiveMaximum()) {
-                addBreaking(context, str);
+                addBreaking(context, cause);
             }
         }
     }
 
     //SUGGEST: make null explained in the same way as for parameters null is undefined and as such it does not state client expectations clearly
-    private void appendPropertyDiffs(StringBuilder sb, Property existing, Property future, String context) {
-        appendRequired(sb, existing, future, context);
-        appendType(sb, existing, future, context);
-        appendAllowEmpty(sb, existing, future, context);
-        appendReadOnly(sb, existing, future);
-        appendAccess(sb, existing, future);
-        appendFormat(sb, existing, future);
+    private void appendPropertyDiffs(List<Finding> causes, Property existing, Property future, String context) {
+        appendRequired(causes, existing, future, context);
+        appendType(causes, existing, future, context);
+        appendAllowEmpty(causes, existing, future, context);
+        appendReadOnly(causes, existing, future);
+        appendAccess(causes, existing, future);
+        appendFormat(causes, existing, future);
     }
 
-    private void appendFormat(StringBuilder sb, Property existing, Property future) {
+    private void appendFormat(List<Finding> causes, Property existing, Property future) {
         if (future.getFormat() != null && !future.getFormat().equals(existing.getFormat())) {
-            sb.append("format.changed.from.").append(existing.getFormat()).append(".to.").append(future.getFormat()).append(", ");
+            cause(causes, "format.changed", existing.getFormat(), future.getFormat());
         }
     }
 
-    private void appendAccess(StringBuilder sb, Property existing, Property future) {
+    private void appendAccess(List<Finding> causes, Property existing, Property future) {
         if (future.getAccess() != null && !future.getAccess().equals(existing.getAccess())) {
-            sb.append("access.changed.from.").append(existing.getAccess()).append(".to.").append(future.getAccess()).append(", ");
+            cause(causes, "access.changed", existing.getAccess(), future.getAccess());
         }
     }
 
-    private void appendReadOnly(StringBuilder sb, Property existing, Property future) {
+    private void appendReadOnly(List<Finding> causes, Property existing, Property future) {
         if (future.getReadOnly() != null && existing.getReadOnly() != null && !future.getReadOnly() == (existing.getReadOnly())) {
-            sb.append("readonly.changed.from.").append(existing.getReadOnly()).append(".to.").append(future.getReadOnly()).append(", ");
+            cause(causes, "readonly.changed", existing.getReadOnly(), future.getReadOnly());
         } else if (future.getReadOnly() == null && existing.getReadOnly() != null) {
-            sb.append("readonly.changed.from.").append(existing.getReadOnly()).append(".to.").append(future.getReadOnly()).append(", ");
+            cause(causes, "readonly.changed", existing.getReadOnly(), future.getReadOnly());
         }
     }
 
-    private void appendAllowEmpty(StringBuilder sb, Property existing, Property future, String context) {
+    private void appendAllowEmpty(List<Finding> causes, Property existing, Property future, String context) {
         if (future.getAllowEmptyValue() != null && !future.getAllowEmptyValue().equals(existing.getAllowEmptyValue())) {
-            String str = "emptyAllowed.changed.from." + existing.getAllowEmptyValue() + ".to." + future.getAllowEmptyValue();
-            sb.append(str).append(", ");
+            Finding cause = cause(causes, "emptyAllowed.changed", existing.getAllowEmptyValue(), future.getAllowEmptyValue());
             if (!future.getAllowEmptyValue() && existing.getAllowEmptyValue()) {
-                addBreaking(context, str);
+                addBreaking(context, cause);
             }
         }
     }
 
-    private void appendType(StringBuilder sb, Property existing, Property future, String context) {
+    private void appendType(List<Finding> causes, Property existing, Property future, String context) {
         if (future.getType() != null && !future.getType().equals(existing.getType())) {
-            String str = "type.changed.from." + existing.getType() + ".to." + future.getType();
-            sb.append(str).append(", ");
-            addPotentiallyBreaking(context, str);
+            addPotentiallyBreaking(context, cause(causes, "type.changed", existing.getType(), future.getType()));
         }
     }
 
-    private void appendRequired(StringBuilder sb, Property existing, Property future, String context) {
+    private void appendRequired(List<Finding> causes, Property existing, Property future, String context) {
         if (!future.getRequired() == existing.getRequired()) {
-            String str = "required.changed.from." + existing.getRequired() + ".to." + future.getRequired();
-            sb.append(str).append(", ");
+            Finding cause = cause(causes, "required.changed", existing.getRequired(), future.getRequired());
             if (future.getRequired() && !existing.getRequired()) {
-                addBreaking(context, str);
+                addBreaking(context, cause);
             }
         }
     }
 
-    private void appendStringPropertyDiffs(StringBuilder sb, Property existing, Property future, String context) {
+    private void appendStringPropertyDiffs(List<Finding> causes, Property existing, Property future, String context) {
         StringProperty xisting = (StringProperty) existing;
         StringProperty coming = (StringProperty) future;
         if (coming.getPattern() != null && !coming.getPattern().equals(xisting.getPattern())) {
-            String str = "pattern.changed.from." + xisting.getPattern() + ".to." + coming.getPattern();
-            sb.append(str).append(", ");
-            addPotentiallyBreaking(context, str);
+            addPotentiallyBreaking(context, cause(causes, "pattern.changed", xisting.getPattern(), coming.getPattern()));
         }
         if (coming.getMaxLength() != null && xisting.getMaxLength() != null && coming.getMaxLength() < xisting.getMaxLength()) {
-            String str = "maxlength.changed.from." + xisting.getMaxLength() + ".to." + coming.getMaxLength();
-            sb.append(str).append(", ");
-            addBreaking(context, str);
+            addBreaking(context, cause(causes, "maxlength.changed", xisting.getMaxLength(), coming.getMaxLength()));
         }
         if (coming.getMinLength() != null && xisting.getMinLength() != null && coming.getMinLength() > xisting.getMinLength()) {
-            String str = "minlength.changed.from." + xisting.getMinLength() + ".to." + coming.getMinLength();
-            sb.append(str).append(", ");
-            addBreaking(context, str);
+            addBreaking(context, cause(causes, "minlength.changed", xisting.getMinLength(), coming.getMinLength()));
         }
         if (coming.getDefault() != null && xisting.getDefault() != null && !coming.getDefault().equals(xisting.getDefault())) {
-            String str = "default.changed.from." + xisting.getDefault() + ".to." + coming.getDefault();
-            sb.append(str).append(", ");
-            addPotentiallyBreaking(context, str);
+            addPotentiallyBreaking(context, cause(causes, "default.changed", xisting.getDefault(), coming.getDefault()));
         }
     }
 
+    private static Finding cause(List<Finding> causes, String rule, Object existing, Object future) {
+        Finding cause = new Finding(Severity.CHANGE, RELATIVE, rule, existing, future);
+        causes.add(cause);
+        return cause;
+    }
+
     private boolean isCompliant(Property existing, Property future) {
         boolean isCompliant = existing.equals(future);
         if (isCompliant) {
@@ -283,7 +375,7 @@ class ElementDiff {
     }
 
     private Collection<? extends ScopedProperty> convert2ElProperties(
-        Map<String, Property> propMap, String parentEl, boolean existingProperty) {
+        Map<String, Property> propMap, String parentEl, boolean existingProperty, int depth) {
         List<ScopedProperty> result = new ArrayList<>();
         if (null == propMap) return result;
         for (Entry<String, Property> entry : propMap.entrySet()) {
@@ -293,13 +385,15 @@ class ElementDiff {
                 String ref = ((RefProperty) property).getSimpleRef();
                 io.swagger.models.Model model = existingProperty ? existingAPI.get(ref)
                     : futureAPI.get(ref);
-                if (model != null) {
+                String el = null == parentEl ? propName : parentEl + "." + propName;
+                String walk = (existingProperty ? "existing:" : "future:") + ref;
+                if (model != null && depth >= maxDepth) {
+                    addObservation(el + ".", Finding.explained(Severity.CHANGE, RELATIVE, "listing.stopped.at.max.depth",
+                        "listing.of.{0}.stopped.at.max.depth.{1}", ref, maxDepth));
+                } else if (model != null && converting.add(walk)) {
                     Map<String, Property> properties = model.getProperties();
-                    result.addAll(
-                        convert2ElProperties(properties,
-                            null == parentEl ? propName
-                                : parentEl + "." + propName,
-                            existingProperty));
+                    result.addAll(convert2ElProperties(properties, el, existingProperty, depth + 1));
+                    converting.remove(walk);
                 }
             } else {
                 ScopedProperty pWithPath = convert2ELProperty(parentEl, propName, property);
@@ -314,26 +408,24 @@ class ElementDiff {
         return new ScopedProperty(el, property);
     }
 
-    private void addBreaking(String context, String information) {
-        if (!breaking.containsKey(context)) {
-            List<String> breaks = new ArrayList<>();
-            breaks.add(context + information);
-            breaking.put(context, breaks);
-        } else  {
-            List<String> breaks = breaking.get(context);
-            breaks.add(context + information);
+    private static List<ScopedProperty> scoped(List<ScopedProperty> relative, String scope) {
+        List<ScopedProperty> result = new ArrayList<>(relative.size());
+        for (ScopedProperty property : relative) {
+            result.add(new ScopedProperty(scope + property.getEl(), property.getProperty()));
         }
+        return result;
     }
 
-    private void addPotentiallyBreaking(String context, String information) {
-        if (!potentiallyBreaking.containsKey(context)) {
-            List<String> pbreaks = new ArrayList<>();
-            pbreaks.add(context + information);
-            potentiallyBreaking.put(context, pbreaks);
-        } else {
-            List<String> pbreaks = potentiallyBreaking.get(context);
-            pbreaks.add(context + information);
-        }
+    private void addBreaking(String context, Finding cause) {
+        findings.append(cause.as(Severity.BREAKING).within(context));
+    }
+
+    private void addPotentiallyBreaking(String context, Finding cause) {
+        findings.append(cause.as(Severity.POTENTIALLY_BREAKING).within(context));
+    }
+
+    private void addObservation(String context, Finding observation) {
+        findings.append(observation.within(context));
     }
 
     private void addChangeCause(String context, String information) {
@@ -0,0 +1,76 @@
+package dk.hoejgaard.openapi.diff.compare;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.swagger.models.Model;
+
+/**
+ * Remembers the differences between pairs of definitions in the existing and the future candidate API, in order for shared
+ * definitions (e.g. an error model used by every response) to be compared once per comparison of the APIs.
+ * <p>
+ * The differences are kept in a relative scope and re-scoped to the scope in which they are reported whenever they are used.
+ * A cache must only be used for the comparison of a single pair of APIs, as the definitions are identified by name only.
+ * The cache is thread-safe and can thus be used by resources that are compared in parallel.
+ */
+public final class ElementDiffCache {
+
+    private final ConcurrentMap<List<String>, ElementDiff> diffs = new ConcurrentHashMap<>();
+    private final AtomicLong visited = new AtomicLong();
+    private final int maxDepth;
+
+    public ElementDiffCache() {
+        this(ElementDiff.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param maxDepth the maximum number of nested references followed when comparing definitions
+     */
+    public ElementDiffCache(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param existing definition model for the existing API
+     * @param future definition model for the future candidate API
+     * @param existingRef name for the reference/property in the existing API
+     * @param futureRef name for the reference/property in the candidate API
+     * @param scope the scope in which this should be seen and reported
+     * @return the differences between the definitions in the given scope
+     */
+    ElementDiff diff(Map<String, Model> existing, Map<String, Model> future, String existingRef, String futureRef, String scope) {
+        if (null == scope) {
+            return new ElementDiff(existing, future, existingRef, futureRef, null, maxDepth);
+        }
+        List<String> key = Arrays.asList(existingRef, futureRef);
+        ElementDiff relative = diffs.get(key);
+        if (null == relative) {
+            relative = new ElementDiff(existing, future, existingRef, futureRef, ElementDiff.RELATIVE, maxDepth);
+            ElementDiff previous = diffs.putIfAbsent(key, relative);
+            if (null != previous) {
+                relative = previous;
+            } else {
+                visited.addAndGet(relative.getVisited());
+            }
+        }
+        return relative.scoped(scope);
+    }
+
+    /**
+     * @return the number of pairs of definitions compared
+     */
+    public int size() {
+        return diffs.size();
+    }
+
+    /**
+     * @return the number of pairs of definitions visited while comparing, including the ones followed by references
+     */
+    public long getVisited() {
+        return visited.get();
+    }
+}
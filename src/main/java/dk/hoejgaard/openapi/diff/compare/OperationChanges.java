@@ -1,11 +1,13 @@
 package dk.hoejgaard.openapi.diff.compare;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import dk.hoejgaard.openapi.diff.model.Finding;
+import dk.hoejgaard.openapi.diff.model.Findings;
+import dk.hoejgaard.openapi.diff.model.Severity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,45 +18,49 @@ public class OperationChanges {
 
     private static Logger logger = LoggerFactory.getLogger(OperationChanges.class);
 
-    private Map<String, List<String>> changes = new HashMap<>();
-    private Map<String, List<String>> flawedDefines = new HashMap<>();
-    private Map<String, List<String>> existingFlaws = new HashMap<>();
-    private Map<String, List<String>> potentiallyBreaking = new HashMap<>();
-    private Map<String, List<String>> breaking = new HashMap<>();
+    private final Findings findings = new Findings();
+    private final Set<String> sharedChanges = new HashSet<>();
+
+    /**
+     * @return the findings recorded for the operation
+     */
+    public Findings getFindings() {
+        return findings;
+    }
 
     /**
      * @return a map with change points and the breaking changes recorded for each point
      */
     public Map<String, List<String>> getBreakingChanges() {
-        return Collections.unmodifiableMap(breaking);
+        return findings.getMessages(Severity.BREAKING);
     }
 
     /**
      * @return a map with change points and the potentially breaking changes recorded for each point
      */
     public Map<String, List<String>> getPotentiallyBreaking() {
-        return Collections.unmodifiableMap(potentiallyBreaking);
+        return findings.getMessages(Severity.POTENTIALLY_BREAKING);
     }
 
     /**
      * @return a map with change points and the changes recorded for each point
      */
     public Map<String, List<String>> getChanges() {
-        return changes;
+        return findings.getMessages(Severity.CHANGE);
     }
 
     /**
      * @return a map with change points and the lack of definitions for each point
      */
     public Map<String, List<String>> getFlawedDefines() {
-        return flawedDefines;
+        return findings.getMessages(Severity.FLAW);
     }
 
     /**
      * @return a map with change points and the lack of definitions for each point in the existing operation
      */
     public Map<String, List<String>> getImprovements() {
-        return existingFlaws;
+        return findings.getMessages(Severity.EXISTING_FLAW);
     }
 
     /**
@@ -63,15 +69,7 @@ public class OperationChanges {
      * @param information what the flaw is
      */
     public void addBreakingChange(String origin, String information) {
-        if (breaking.containsKey(origin)) {
-            if (!breaking.get(origin).contains(information)) {
-                breaking.get(origin).add(information);
-            }
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            breaking.put(origin, originList);
-        }
+        addBreakingChange(new Finding(Severity.BREAKING, origin, information));
     }
 
     /**
@@ -80,17 +78,7 @@ public class OperationChanges {
      * @param information what the flaw is
      */
     public void addPotentialBreakingChange(String origin, String information) {
-        if (potentiallyBreaking.containsKey(origin)) {
-            if (!potentiallyBreaking.get(origin).contains(information)) {
-                potentiallyBreaking.get(origin).add(information);
-            } else {
-                logger.trace("potential breaking change ({}, {}) was already registered", origin, information);
-            }
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            potentiallyBreaking.put(origin, originList);
-        }
+        addPotentialBreakingChange(new Finding(Severity.POTENTIALLY_BREAKING, origin, information));
     }
 
     /**
@@ -100,15 +88,7 @@ public class OperationChanges {
      */
 
     public void addRecordedChange(String change, String information) {
-        if (changes.containsKey(change)) {
-            if (!changes.get(change).contains(information)) {
-                changes.get(change).add(information);
-            }
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            changes.put(change, originList);
-        }
+        addRecordedChange(new Finding(Severity.CHANGE, change, information));
     }
 
     /**
@@ -117,57 +97,71 @@ public class OperationChanges {
      * @param information what the flaw is
      */
     public void addDefinitionFlaw(String origin, String information) {
-        if (flawedDefines.containsKey(origin)) {
-            flawedDefines.get(origin).add(information);
-        } else if (existingFlaws.containsKey(origin)) {
-            existingFlaws.get(origin).add(information);
+        addDefinitionFlaw(new Finding(Severity.FLAW, origin, information));
+    }
+
+    void addBreakingChange(Finding change) {
+        findings.add(change.as(Severity.BREAKING));
+    }
+
+    void addPotentialBreakingChange(Finding change) {
+        if (!findings.add(change.as(Severity.POTENTIALLY_BREAKING))) {
+            logger.trace("potential breaking change ({}, {}) was already registered", change.getLocation(), change.getRule());
+        }
+    }
+
+    /**
+     * a change recorded at a point, which was recorded as a change flaw, is recorded as a flaw for that point as well
+     */
+    void addRecordedChange(Finding change) {
+        Finding recorded = change.as(Severity.CHANGE);
+        if (findings.add(recorded) && sharedChanges.contains(recorded.getLocation())) {
+            findings.append(recorded.as(Severity.FLAW, "change" + recorded.getLocation()));
+        }
+    }
+
+    /**
+     * a flaw is recorded as an existing flaw or a future flaw based on the point where it is found, a flaw at a point that is
+     * neither is recorded in place of the changes for that point and as a change flaw.
+     */
+    void addDefinitionFlaw(Finding flaw) {
+        String origin = flaw.getLocation();
+        if (findings.contains(Severity.FLAW, origin)) {
+            findings.append(flaw.as(Severity.FLAW));
+        } else if (findings.contains(Severity.EXISTING_FLAW, origin)) {
+            findings.append(flaw.as(Severity.EXISTING_FLAW));
+        } else if (origin.contains("existing")) {
+            findings.append(flaw.as(Severity.EXISTING_FLAW));
+        } else if (origin.contains("future")) {
+            findings.append(flaw.as(Severity.FLAW));
         } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            if (origin.contains("existing")) {
-                existingFlaws.put(origin, originList);
-            } else if (origin.contains("future")) {
-                flawedDefines.put(origin, originList);
-            } else {
-                flawedDefines.put("change" + origin, originList);
-                changes.put(origin, originList);
-            }
+            findings.replace(flaw.as(Severity.FLAW, "change" + origin));
+            findings.replace(flaw.as(Severity.CHANGE));
+            sharedChanges.add(origin);
         }
     }
 
-    void addRecordedChange(Map<String, List<String>> changes) {
-        for (Map.Entry<String, List<String>> entry : changes.entrySet()) {
-            List<String> observations = entry.getValue();
-            for (String observation : observations) {
-                addRecordedChange(entry.getKey(), observation);
-            }
+    void addRecordedChange(Findings changes) {
+        for (Finding change : changes.get(Severity.CHANGE)) {
+            addRecordedChange(change);
         }
     }
 
-    void addBreakingChange(Map<String, List<String>> changes) {
-        for (Map.Entry<String, List<String>> entry : changes.entrySet()) {
-            List<String> observations = entry.getValue();
-            for (String observation : observations) {
-                addBreakingChange(entry.getKey(), observation);
-            }
+    void addBreakingChange(Findings changes) {
+        for (Finding change : changes.get(Severity.BREAKING)) {
+            addBreakingChange(change);
         }
     }
 
-    void addPotentialBreakingChange(Map<String, List<String>> changes) {
-        for (Map.Entry<String, List<String>> entry : changes.entrySet()) {
-            List<String> observations = entry.getValue();
-            for (String observation : observations) {
-                addPotentialBreakingChange(entry.getKey(), observation);
-            }
+    void addPotentialBreakingChange(Findings changes) {
+        for (Finding change : changes.get(Severity.POTENTIALLY_BREAKING)) {
+            addPotentialBreakingChange(change);
         }
     }
 
-    void addDefinitionFlaw(Map<String, List<String>> changes) {
-        for (Map.Entry<String, List<String>> entry : changes.entrySet()) {
-            List<String> observations = entry.getValue();
-            for (String observation : observations) {
-                addDefinitionFlaw(entry.getKey(), observation);
-            }
+    void addDefinitionFlaw(Findings changes, Severity severity) {
+        for (Finding change : changes.get(severity)) {
+            addDefinitionFlaw(change);
         }
     }
 
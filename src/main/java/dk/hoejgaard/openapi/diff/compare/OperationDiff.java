@@ -14,7 +14,10 @@ import dk.hoejgaard.openapi.diff.criteria.Diff;
 import dk.hoejgaard.openapi.diff.criteria.Maturity;
 import dk.hoejgaard.openapi.diff.criteria.Versions;
 import dk.hoejgaard.openapi.diff.model.ContentType;
+import dk.hoejgaard.openapi.diff.model.Finding;
+import dk.hoejgaard.openapi.diff.model.Findings;
 import dk.hoejgaard.openapi.diff.model.ScopedProperty;
+import dk.hoejgaard.openapi.diff.model.Severity;
 import io.swagger.models.HttpMethod;
 import io.swagger.models.Operation;
 import io.swagger.models.Response;
@@ -33,6 +36,7 @@ public class OperationDiff {
     private final Versions versions;
     private Swagger referenceAPI;
     private Swagger candidateAPI;
+    private ElementDiffCache elementDiffs;
     private final OperationChanges operationChanges = new OperationChanges();
     private final OperationChanges existingCompliance = new OperationChanges();
     private final List<ContentType> addedContentTypes = new ArrayList<>();
@@ -45,6 +49,9 @@ public class OperationDiff {
     private List<Parameter> missingParameters = new ArrayList<>();
     private List<ParameterChanges> changedParameters = new ArrayList<>();
 
+    private long elapsedNanos;
+    private int elementsVisited;
+
     private Map<String, Response> addedResponses = new HashMap<>();
     private Map<String, Response> missingResponses = new HashMap<>();
 
@@ -59,7 +66,22 @@ public class OperationDiff {
      * @param versions     the number of overlapping versions using the content-type as a versioning mechanism
      */
     public OperationDiff(Swagger referenceAPI, Swagger candidateAPI, Diff depths, Maturity maturity, Versions versions) {
+        this(referenceAPI, candidateAPI, depths, maturity, versions, null);
+    }
+
+    /**
+     * @param referenceAPI the existing API
+     * @param candidateAPI the future candidate API
+     * @param depths       the level of detail and depth used in the comparison
+     * @param maturity     the level of REST service maturity used in the comparison
+     * @param versions     the number of overlapping versions using the content-type as a versioning mechanism
+     * @param elementDiffs the cache of differences between definitions shared by the operations of the compared APIs, if null
+     *                     the definitions are compared for every parameter and response that refers to them
+     */
+    public OperationDiff(Swagger referenceAPI, Swagger candidateAPI, Diff depths, Maturity maturity, Versions versions,
+                         ElementDiffCache elementDiffs) {
         this(depths, maturity, versions);
+        this.elementDiffs = elementDiffs;
         this.referenceAPI = referenceAPI;
         this.candidateAPI = candidateAPI;
         this.defaultRequestHeaders.put("Accept", true);
@@ -89,6 +111,7 @@ public class OperationDiff {
      * @return the result of the comparison as a complete object with the changes found
      */
     public OperationDiff analyze(Operation existingOpr, Operation futureOpr, HttpMethod method, String context) {
+        long start = System.nanoTime();
         if (Diff.ALL.equals(depths)) {
             checkRequestHeaderCompliance(existingOpr, false, "existing.operation.had.");
             checkRequestHeaderCompliance(futureOpr, true, "future.operation.had");
@@ -96,9 +119,25 @@ public class OperationDiff {
             getChangedResponses(existingOpr, futureOpr, method);
         }
         getChangedItems(existingOpr, futureOpr);
+        elapsedNanos = System.nanoTime() - start;
         return this;
     }
 
+    /**
+     * @return the time spent analyzing the operation in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the number of pairs of definitions compared for the parameters and responses of the operation, definitions
+     * compared earlier for other operations are counted as well, as they are part of what the operation refers to
+     */
+    public int getElementsVisited() {
+        return elementsVisited;
+    }
+
     /**
      * checks the request headers and evaluates the headers to be compliant or not
      *
@@ -124,20 +163,22 @@ public class OperationDiff {
             }
             if (!found && required) {
                 String key = ".non-compliant.required.header.setup";
-                String value = "a required header " + entry.getKey() + " was not found";
+                Finding missing = Finding.explained(Severity.BREAKING, key, "request.header.required.missing",
+                    "a required header {0} was not found", entry.getKey());
                 if (future) {
-                    operationChanges.addBreakingChange(key, value);
+                    operationChanges.addBreakingChange(missing);
                 } else {
-                    existingCompliance.addBreakingChange(scope + key, value);
+                    existingCompliance.addBreakingChange(missing.as(Severity.BREAKING, scope + key));
 
                 }
             } else if (!found) {
                 String key = ".non-compliant header setup";
-                String value = "a header " + entry.getKey() + " was not found";
                 if (future) {
-                    operationChanges.addDefinitionFlaw(":::non-optimal.header.setup", "the header " + entry.getKey() + " was not found");
+                    operationChanges.addDefinitionFlaw(Finding.explained(Severity.FLAW, ":::non-optimal.header.setup",
+                        "request.header.missing", "the header {0} was not found", entry.getKey()));
                 } else {
-                    existingCompliance.addBreakingChange(scope + key, value);
+                    existingCompliance.addBreakingChange(Finding.explained(Severity.BREAKING, scope + key,
+                        "request.header.missing", "a header {0} was not found", entry.getKey()));
                 }
             }
         }
@@ -157,13 +198,13 @@ public class OperationDiff {
         List<String> missing = new ArrayList<>();
         boolean compliant = rc.checkCompliance(opr.getResponses(), method, future, scope, missing);
         if (!compliant) {
-            String key = ":::non-optimal.response.setup";
-            String value = "the following response codes:  " + missing + "  were either missing or may not include required response " +
-                "headers and thus do not support a future proof API";
+            Finding flaw = Finding.explained(Severity.FLAW, scope + ":::non-optimal.response.setup", "response.setup.non-optimal",
+                "the following response codes:  {0}  were either missing or may not include required response " +
+                "headers and thus do not support a future proof API", missing);
             if (future) {
-                operationChanges.addDefinitionFlaw(scope + key, value);
+                operationChanges.addDefinitionFlaw(flaw);
             } else {
-                existingCompliance.addDefinitionFlaw(scope + key, value);
+                existingCompliance.addDefinitionFlaw(flaw);
             }
         }
     }
@@ -187,22 +228,24 @@ public class OperationDiff {
 
         if (isConsumer && !consumesCompliant) {
             String key = scope + ":::non-optimal.consumer.setup";
-            String value = "the consumers defined did not meet the future prof setup for content-types";
+            Finding flaw = Finding.explained(Severity.FLAW, key, "consumer.setup.non-optimal",
+                "the consumers defined did not meet the future prof setup for content-types");
             if (future) {
-                operationChanges.addDefinitionFlaw(scope + key, value);
+                operationChanges.addDefinitionFlaw(flaw.as(Severity.FLAW, scope + key));
             } else {
-                existingCompliance.addDefinitionFlaw(key, value);
+                existingCompliance.addDefinitionFlaw(flaw);
             }
         }
 
         boolean produceCompliant = getProducerCompliance(opr);
         if (!produceCompliant) {
             String key = scope + ":::non-optimal.producer.setup";
-            String value = "the producers defined did not meet the future prof setup for content-types";
+            Finding flaw = Finding.explained(Severity.FLAW, key, "producer.setup.non-optimal",
+                "the producers defined did not meet the future prof setup for content-types");
             if (future) {
-                operationChanges.addDefinitionFlaw(scope + key, value);
+                operationChanges.addDefinitionFlaw(flaw.as(Severity.FLAW, scope + key));
             } else {
-                existingCompliance.addDefinitionFlaw(key, value);
+                existingCompliance.addDefinitionFlaw(flaw);
             }
         }
     }
@@ -299,26 +342,30 @@ public class OperationDiff {
         if (Diff.ALL.equals(depths)) {
             return isBasicDiff() || isDiffCompliance();
         } else if (Diff.BREAKING.equals(depths)) {
-            return isBasicDiff() || !operationChanges.getBreakingChanges().isEmpty();
+            return isBasicDiff() || observed(Severity.BREAKING);
         } else if (Diff.POTENTIALLY_BREAKING.equals(depths)) {
-            return isBasicDiff() || !operationChanges.getBreakingChanges().isEmpty() || !operationChanges.getPotentiallyBreaking().isEmpty();
+            return isBasicDiff() || observed(Severity.BREAKING) || observed(Severity.POTENTIALLY_BREAKING);
         } else {
             return isBasicDiff();
         }
     }
 
+    private boolean observed(Severity severity) {
+        return !operationChanges.getFindings().isEmpty(severity);
+    }
+
     /**
      * @return is it broken
      */
     public boolean isBroke() {
-        return !operationChanges.getBreakingChanges().isEmpty();
+        return observed(Severity.BREAKING);
     }
 
     /**
      * @return is it potentially broken
      */
     public boolean isPotentiallyBroke() {
-        return !operationChanges.getPotentiallyBreaking().isEmpty();
+        return observed(Severity.POTENTIALLY_BREAKING);
     }
 
     /**
@@ -336,15 +383,22 @@ public class OperationDiff {
         if (Diff.ALL.equals(depths)) {
             return !isCompliant();
         } else if (Diff.POTENTIALLY_BREAKING.equals(depths)) {
-            return !arePropertiesUnAffected() || !areParametersUnAffected() || !operationChanges.getBreakingChanges().isEmpty()
-                || !operationChanges.getPotentiallyBreaking().isEmpty();
+            return !arePropertiesUnAffected() || !areParametersUnAffected() || observed(Severity.BREAKING)
+                || observed(Severity.POTENTIALLY_BREAKING);
         } else if (Diff.BREAKING.equals(depths)) {
-            return !arePropertiesUnAffected() || !areParametersUnAffected() || !operationChanges.getBreakingChanges().isEmpty();
+            return !arePropertiesUnAffected() || !areParametersUnAffected() || observed(Severity.BREAKING);
 
         }
         return true;
     }
 
+    /**
+     * @return the findings for the operation, which allows the findings to be selected by severity without parsing the text
+     */
+    public Findings getFindings() {
+        return operationChanges.getFindings();
+    }
+
     /**
      * @return the breaking changes
      */
@@ -442,7 +496,7 @@ public class OperationDiff {
         Map<String, List<String>> conceptsVersions = new LinkedHashMap<>();
         for (String commonContentType : common) {
             if (Maturity.HAL.equals(maturity) || (Maturity.FULL.equals(maturity))) {
-                ContentType contentType = new ContentType(commonContentType);
+                ContentType contentType = ContentType.of(commonContentType);
                 if (contentType.isDefaultContentType()) {
                     defaultContentTypeFound = true;
                 }
@@ -459,8 +513,8 @@ public class OperationDiff {
             }
             return false;
         } else {
-            operationChanges.addRecordedChange(context + ".content-type.scheme.unknown",
-                "difficult to state facts on breaking or not " + conceptsVersions);
+            operationChanges.addRecordedChange(Finding.explained(Severity.CHANGE, context + ".content-type.scheme.unknown",
+                "content-type.scheme.unknown", "difficult to state facts on breaking or not {0}", conceptsVersions));
             return true;
         }
     }
@@ -479,7 +533,7 @@ public class OperationDiff {
         Map<String, List<String>> conceptsVersions = new LinkedHashMap<>();
         for (String commonContentType : common) {
             if (Maturity.HAL.equals(maturity) || (Maturity.FULL.equals(maturity))) {
-                ContentType contentType = new ContentType(commonContentType);
+                ContentType contentType = ContentType.of(commonContentType);
                 if (contentType.isDefaultContentType()) {
                     defaultContentTypeFound = true;
                 }
@@ -496,8 +550,8 @@ public class OperationDiff {
             }
             return false;
         } else {
-            operationChanges.addRecordedChange(context + ".content-type.scheme.unknown",
-                "difficult to state facts on breaking or not " + conceptsVersions);
+            operationChanges.addRecordedChange(Finding.explained(Severity.CHANGE, context + ".content-type.scheme.unknown",
+                "content-type.scheme.unknown", "difficult to state facts on breaking or not {0}", conceptsVersions));
             return true;
         }
     }
@@ -516,13 +570,14 @@ public class OperationDiff {
             Response future = getResponse(futureOpr, delta, i);
             ResponseChanges changes = getResponseChangesInstance(Diff.ALL.equals(depths));
             changes = changes.diff(existing, future, getResponseCode(delta, i), method);
+            elementsVisited += changes.getElementsVisited();
             if (changes.isDiff()) {
                 addChangedResponse(changes);
-                operationChanges.addBreakingChange(changes.getBreaking());
-                operationChanges.addPotentialBreakingChange(changes.getPotentiallyBreaking());
-                operationChanges.addRecordedChange(changes.getChanges());
-                operationChanges.addDefinitionFlaw(changes.getFlawedDefines());
-                operationChanges.addDefinitionFlaw(changes.getExistingFlaws());
+                operationChanges.addBreakingChange(changes.getFindings());
+                operationChanges.addPotentialBreakingChange(changes.getFindings());
+                operationChanges.addRecordedChange(changes.getFindings());
+                operationChanges.addDefinitionFlaw(changes.getFindings(), Severity.FLAW);
+                operationChanges.addDefinitionFlaw(changes.getFindings(), Severity.EXISTING_FLAW);
             }
         }
         return this;
@@ -536,7 +591,8 @@ public class OperationDiff {
         List<Parameter> oldParameters = existingOpr.getParameters();
         List<Parameter> newParameters = futureOpr.getParameters();
         ParameterDiff differences = new ParameterDiff(referenceAPI.getDefinitions(), candidateAPI.getDefinitions(), depths,
-            oldParameters, newParameters);
+            oldParameters, newParameters, elementDiffs);
+        elementsVisited += differences.getElementsVisited();
         getChangedParameters(differences);
         getChangedProperties(differences);
     }
@@ -547,9 +603,9 @@ public class OperationDiff {
         addPropertyChanges(differences.getChangedProperties());
         List<PropertyChanges> changedProps = differences.getChangedProperties();
         for (PropertyChanges change : changedProps) {
-            operationChanges.addBreakingChange(change.getBreaking());
-            operationChanges.addPotentialBreakingChange(change.getPotentiallyBreaking());
-            operationChanges.addDefinitionFlaw(change.getFlawedDefines());
+            operationChanges.addBreakingChange(change.getFindings());
+            operationChanges.addPotentialBreakingChange(change.getFindings());
+            operationChanges.addDefinitionFlaw(change.getFindings(), Severity.FLAW);
         }
     }
 
@@ -559,18 +615,18 @@ public class OperationDiff {
         addParameterChanges(differences.getChangedParams());
         List<ParameterChanges> changes = differences.getChangedParams();
         for (ParameterChanges change : changes) {
-            operationChanges.addBreakingChange(change.getBreaking());
-            operationChanges.addPotentialBreakingChange(change.getPotentiallyBreaking());
-            operationChanges.addDefinitionFlaw(change.getFlawedDefines());
+            operationChanges.addBreakingChange(change.getFindings());
+            operationChanges.addPotentialBreakingChange(change.getFindings());
+            operationChanges.addDefinitionFlaw(change.getFindings(), Severity.FLAW);
         }
     }
 
     private void addAddedContentTypes(List<String> added) {
-        this.addedContentTypes.addAll(added.stream().map(ContentType::new).collect(Collectors.toList()));
+        this.addedContentTypes.addAll(added.stream().map(ContentType::of).collect(Collectors.toList()));
     }
 
     private void addMissingContentTypes(List<String> removed) {
-        this.missingContentTypes.addAll(removed.stream().map(ContentType::new).collect(Collectors.toList()));
+        this.missingContentTypes.addAll(removed.stream().map(ContentType::of).collect(Collectors.toList()));
     }
 
     private void addAddedParameters(List<Parameter> addParameters) {
@@ -620,54 +676,59 @@ public class OperationDiff {
     }
 
     private boolean isDiffCompliance() {
-        return !operationChanges.getBreakingChanges().isEmpty() || !operationChanges.getPotentiallyBreaking().isEmpty()
-            || !operationChanges.getChanges().isEmpty() || operationChanges.getFlawedDefines().isEmpty();
+        return observed(Severity.BREAKING) || observed(Severity.POTENTIALLY_BREAKING)
+            || observed(Severity.CHANGE) || !observed(Severity.FLAW);
     }
 
     private void missingConsumersReport(String context, Lists<String> consumers) {
-        operationChanges.addRecordedChange(context + ".content-type.consumers.removed", "this may cause problem for some clients" +
-            "removed are: [" + consumers.getRemoved() + "]");
-        operationChanges.addPotentialBreakingChange(context + ".content-type.consumers.removed", "this may cause problem for " +
-            "some clients if support is removed in the endpoint - removed are: [" + consumers.getRemoved() + "]");
+        String location = context + ".content-type.consumers.removed";
+        operationChanges.addRecordedChange(Finding.explained(Severity.CHANGE, location, "content-type.consumers.removed",
+            "this may cause problem for some clientsremoved are: [{0}]", consumers.getRemoved()));
+        operationChanges.addPotentialBreakingChange(Finding.explained(Severity.POTENTIALLY_BREAKING, location,
+            "content-type.consumers.removed", "this may cause problem for some clients if support is removed in the endpoint - " +
+            "removed are: [{0}]", consumers.getRemoved()));
     }
 
     private void missingProducersReport(String context, Lists<String> produces) {
-        operationChanges.addRecordedChange(context + ".content-type.producers.removed", "this may cause problem for some clients " +
-            "removed are: [" + produces.getRemoved() + "]");
-        operationChanges.addPotentialBreakingChange(context + ".content-type.producers.removed", "this may cause problem for some clients " +
-            "removed are: [" + produces.getRemoved() + "]");
+        Finding removed = Finding.explained(Severity.CHANGE, context + ".content-type.producers.removed",
+            "content-type.producers.removed", "this may cause problem for some clients removed are: [{0}]", produces.getRemoved());
+        operationChanges.addRecordedChange(removed);
+        operationChanges.addPotentialBreakingChange(removed);
     }
 
     private void genuineConsumerReport(String context) {
-        operationChanges.addDefinitionFlaw(context + ".producer.version.definition.flaw", "the versioning scheme used for the producer " +
-            "is unknown and creation of a future proof versioning scheme is very difficult and changes will hurt the consumers of " +
-            "the service as well as the implementation team for the service");
+        operationChanges.addDefinitionFlaw(Finding.explained(Severity.FLAW, context + ".producer.version.definition.flaw",
+            "consumer.versioning.unknown", "the versioning scheme used for the producer is unknown and creation of a future proof versioning scheme is very difficult and changes will hurt the consumers of " +
+            "the service as well as the implementation team for the service"));
     }
 
     private void maturityConsumerVersioningReport(String context) {
-        operationChanges.addPotentialBreakingChange(context + ".producer.versioning.non-compliant", "content consumers are" +
-            " not following the scheme of having application/hal+json;concept=[projection];v=[version] with a " +
-            versions + " version available");
-        operationChanges.addRecordedChange(context + ".producer.version.scheme.conflict", "versions do not overlap correctly or " +
-            "and/do not use default version");
+        operationChanges.addPotentialBreakingChange(Finding.explained(Severity.POTENTIALLY_BREAKING,
+            context + ".producer.versioning.non-compliant", "consumer.versioning.non-compliant", "content consumers are" +
+            " not following the scheme of having application/hal+json;concept=[projection];v=[version] with a {0} version available",
+            versions));
+        operationChanges.addRecordedChange(Finding.explained(Severity.CHANGE, context + ".producer.version.scheme.conflict",
+            "consumer.versioning.conflict", "versions do not overlap correctly or and/do not use default version"));
     }
 
     private void genuineProducerReport(String context, Lists<String> produces) {
-        operationChanges.addDefinitionFlaw(context + ".producer.version.definition.flaw", "the versioning scheme used is unknown and " +
+        operationChanges.addDefinitionFlaw(Finding.explained(Severity.FLAW, context + ".producer.version.definition.flaw",
+            "producer.versioning.unknown", "the versioning scheme used is unknown and " +
             "creation of a future proof versioning scheme is very difficult and changes will hurt consumers of the service as they " +
             "have to change as a reaction of the change and have no default way to revert to the previous version on the content in" +
-            " the endpoint. The observed producers are: [common][added][removed] [" + produces.getCommon() + "] ["
-            + produces.getAdded() + "] [" + produces.getRemoved() + "]");
+            " the endpoint. The observed producers are: [common][added][removed] [{0}] [{1}] [{2}]",
+            produces.getCommon(), produces.getAdded(), produces.getRemoved()));
     }
 
     private void maturityProducerVersioningReport(String context, Lists<String> produces) {
-        operationChanges.addPotentialBreakingChange(context + ".producer.versioning.non-compliant",
+        operationChanges.addPotentialBreakingChange(Finding.explained(Severity.POTENTIALLY_BREAKING,
+            context + ".producer.versioning.non-compliant", "producer.versioning.non-compliant",
             "content producers are not following the scheme of having application/hal+json;concept=[projection];v=[version] with a " +
-                versions + " version available. The observed changed and added producers are: [common][added] [" +
-                produces.getCommon() + "] [" + produces.getAdded() + "] [" + produces.getRemoved() + "]");
-        operationChanges.addRecordedChange(context + ".producer.version.scheme.conflict", "versions do not overlap correctly or " +
-            "and/do not use default version. Content-types are [common][added] " +
-            "[" + produces.getCommon() + "] [" + produces.getAdded() + "] [" + produces.getRemoved() + "]");
+                "{0} version available. The observed changed and added producers are: [common][added] [{1}] [{2}] [{3}]",
+            versions, produces.getCommon(), produces.getAdded(), produces.getRemoved()));
+        operationChanges.addRecordedChange(Finding.explained(Severity.CHANGE, context + ".producer.version.scheme.conflict",
+            "producer.versioning.conflict", "versions do not overlap correctly or and/do not use default version. " +
+            "Content-types are [common][added] [{0}] [{1}] [{2}]", produces.getCommon(), produces.getAdded(), produces.getRemoved()));
     }
 
     private void addPropertyChanges(List<PropertyChanges> changed) {
@@ -723,11 +784,12 @@ public class OperationDiff {
                     || !removed.contains("application/hal+json;concept=" + concept + ";v=" + previous)
                     ) {
                     if (Maturity.FULL.equals(maturity) || Maturity.HAL.equals(maturity))
-                        operationChanges.addBreakingChange("non-compliant concept versioning for HAL content-types",
+                        operationChanges.addBreakingChange(Finding.explained(Severity.BREAKING,
+                            "non-compliant concept versioning for HAL content-types", "producer.hal.versioning.non-compliant",
                             "                            content producers are not following the scheme of having" +
-                                " application/hal+json;concept=" + concept + ";v=[version] with a " + versions + " version available");
-                    operationChanges.addRecordedChange("producer.hal.version.scheme.conflict",
-                        "the projections versions do not overlap correctly");
+                                " application/hal+json;concept={0};v=[version] with a {1} version available", concept, versions));
+                    operationChanges.addRecordedChange(Finding.explained(Severity.CHANGE, "producer.hal.version.scheme.conflict",
+                        "producer.hal.versioning.conflict", "the projections versions do not overlap correctly"));
                     return true;
                 }
             }
@@ -760,11 +822,12 @@ public class OperationDiff {
                     || !removed.contains("application/json;concept=" + concept + ";v=" + previous)
                     ) {
                     if (Maturity.FULL.equals(maturity) || Maturity.HAL.equals(maturity) || Maturity.HATEOAS.equals(maturity))
-                        operationChanges.addBreakingChange("non-compliant concept versioning for content-types",
+                        operationChanges.addBreakingChange(Finding.explained(Severity.BREAKING,
+                            "non-compliant concept versioning for content-types", "consumer.concept.versioning.non-compliant",
                             "                            content consumers are not following the scheme of having" +
-                                " application/json;concept=" + concept + ";v=[version] with a " + versions + " version available");
-                    operationChanges.addRecordedChange("consumer.version.scheme.conflict",
-                        "the projections and versions do not overlap correctly");
+                                " application/json;concept={0};v=[version] with a {1} version available", concept, versions));
+                    operationChanges.addRecordedChange(Finding.explained(Severity.CHANGE, "consumer.version.scheme.conflict",
+                        "consumer.concept.versioning.conflict", "the projections and versions do not overlap correctly"));
                     return true;
                 }
             }
@@ -774,44 +837,48 @@ public class OperationDiff {
 
     private void checkAddedResponseCompliance(Map<String, Response> added) {
         if (added.keySet().contains("202")) {
-            operationChanges.addBreakingChange("response.202.added", ResponseChanges.getCodeMsg("202"));
+            operationChanges.addBreakingChange(Finding.explained(Severity.BREAKING, "response.202.added", "response.202.added",
+                ResponseChanges.getCodeMsg("202")));
         }
         if (added.keySet().contains("301")) {
-            operationChanges.addPotentialBreakingChange("response.301.added", "adding 301 may break the client programming model, clients " +
-                "may not be able to follow the location if not implemented and thus experience service as being down");
+            operationChanges.addPotentialBreakingChange(Finding.explained(Severity.POTENTIALLY_BREAKING, "response.301.added",
+                "response.301.added", "adding 301 may break the client programming model, clients " +
+                    "may not be able to follow the location if not implemented and thus experience service as being down"));
         }
         if (added.keySet().contains("307")) {
-            operationChanges.addPotentialBreakingChange("response.307.added", "adding 307 may break the client programming model, clients " +
-                "may not be able to follow the location if not implemented and thus experience service as being down");
+            operationChanges.addPotentialBreakingChange(Finding.explained(Severity.POTENTIALLY_BREAKING, "response.307.added",
+                "response.307.added", "adding 307 may break the client programming model, clients " +
+                    "may not be able to follow the location if not implemented and thus experience service as being down"));
         }
         if (added.keySet().contains("429")) {
-            operationChanges.addPotentialBreakingChange("response.429.added", "adding 429 is not harming the client, clients " +
-                "may however perceive service as being poor");
+            operationChanges.addPotentialBreakingChange(Finding.explained(Severity.POTENTIALLY_BREAKING, "response.429.added",
+                "response.429.added", "adding 429 is not harming the client, clients " +
+                    "may however perceive service as being poor"));
         }
         //SUGGEST: add more to (or deduct from) the list as the experience with the tool shows the needs
     }
 
     private void checkRemovedResponseCompliance(Map<String, Response> removed) {
         if (removed.keySet().contains("429")) {
-            String msg429 = "response.429.removed";
-            String explanation = "removing 429 may result in clients not backing off and thus this may result in higher load and congestion" +
-                " on the server side resulting in a bad client experience";
-            operationChanges.addPotentialBreakingChange(msg429, explanation);
-            operationChanges.addRecordedChange(msg429, explanation);
+            Finding removed429 = Finding.explained(Severity.CHANGE, "response.429.removed", "response.429.removed",
+                "removing 429 may result in clients not backing off and thus this may result in higher load and congestion" +
+                " on the server side resulting in a bad client experience");
+            operationChanges.addPotentialBreakingChange(removed429);
+            operationChanges.addRecordedChange(removed429);
         }
         if (removed.keySet().contains("301")) {
-            String msg301 = "response.301.removed";
-            String explanation = "removing 301 means clients cannot follow change of location and experience service as being down";
-            operationChanges.addBreakingChange(msg301, explanation);
-            operationChanges.addPotentialBreakingChange(msg301, explanation);
-            operationChanges.addRecordedChange(msg301, explanation);
+            Finding removed301 = Finding.explained(Severity.CHANGE, "response.301.removed", "response.301.removed",
+                "removing 301 means clients cannot follow change of location and experience service as being down");
+            operationChanges.addBreakingChange(removed301);
+            operationChanges.addPotentialBreakingChange(removed301);
+            operationChanges.addRecordedChange(removed301);
         }
         if (removed.keySet().contains("307")) {
-            String msg301 = "response.307.removed";
-            String explanation = "removing 307 means clients cannot follow change of location and experience service as being down";
-            operationChanges.addBreakingChange(msg301, explanation);
-            operationChanges.addPotentialBreakingChange(msg301, explanation);
-            operationChanges.addRecordedChange(msg301, explanation);
+            Finding removed307 = Finding.explained(Severity.CHANGE, "response.307.removed", "response.307.removed",
+                "removing 307 means clients cannot follow change of location and experience service as being down");
+            operationChanges.addBreakingChange(removed307);
+            operationChanges.addPotentialBreakingChange(removed307);
+            operationChanges.addRecordedChange(removed307);
         }
         //SUGGEST: add more to (or deduct from) the list as the experience with the tool shows the needs
     }
@@ -821,7 +888,7 @@ public class OperationDiff {
         List<String> producer = opr.getProduces();
         if (producer != null) {
             for (String produce : producer) {
-                ContentType ct = new ContentType(produce);
+                ContentType ct = ContentType.of(produce);
                 if (ct.isDefaultContentType()) {
                     defaultProducerFound = true;
                 }
@@ -829,7 +896,7 @@ public class OperationDiff {
         }
         if (defaultProducerFound) {
             for (String produce : producer) {
-                ContentType ct = new ContentType(produce);
+                ContentType ct = ContentType.of(produce);
                 if (ct.isSchemeCompliant()) {
                     return true;
                 }
@@ -851,7 +918,7 @@ public class OperationDiff {
         }
         if (defaultConsumerFound) {
             for (String consume : consumes) {
-                ContentType ct = new ContentType(consume);
+                ContentType ct = ContentType.of(consume);
                 if (ct.isJsonConceptCompliant()) {
                     return true;
                 }
@@ -869,8 +936,8 @@ public class OperationDiff {
     }
 
     private boolean areOperationsUnAffected() {
-        return operationChanges.getBreakingChanges().isEmpty() && operationChanges.getPotentiallyBreaking().isEmpty() &&
-            operationChanges.getFlawedDefines().isEmpty() && operationChanges.getChanges().isEmpty();
+        return !observed(Severity.BREAKING) && !observed(Severity.POTENTIALLY_BREAKING) &&
+            !observed(Severity.FLAW) && !observed(Severity.CHANGE);
     }
 
     private boolean arePropertiesUnAffected() {
@@ -886,7 +953,7 @@ public class OperationDiff {
     }
 
     private ResponseChanges getResponseChangesInstance(boolean includeHeaders) {
-        return new ResponseChanges(referenceAPI.getDefinitions(), candidateAPI.getDefinitions(), includeHeaders);
+        return new ResponseChanges(referenceAPI.getDefinitions(), candidateAPI.getDefinitions(), includeHeaders, elementDiffs);
     }
 
 }
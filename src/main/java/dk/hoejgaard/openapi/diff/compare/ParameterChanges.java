@@ -2,14 +2,15 @@ package dk.hoejgaard.openapi.diff.compare;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.model.Finding;
+import dk.hoejgaard.openapi.diff.model.Findings;
 import dk.hoejgaard.openapi.diff.model.ScopedProperty;
+import dk.hoejgaard.openapi.diff.model.Severity;
 import io.swagger.models.parameters.AbstractSerializableParameter;
 import io.swagger.models.parameters.CookieParameter;
 import io.swagger.models.parameters.FormParameter;
@@ -25,6 +26,7 @@ import org.slf4j.LoggerFactory;
  * Contains a finite set of differences between an existing and a future parameter.
  */
 public class ParameterChanges {
+    private static final String UNDEFINED = "::makes future proof api design difficult";
     private static Logger logger = LoggerFactory.getLogger(ParameterChanges.class);
 
     private final boolean isRequiredChanged;
@@ -47,10 +49,7 @@ public class ParameterChanges {
     private final List<ScopedProperty> added = new ArrayList<>();
     private final List<ScopedProperty> removed = new ArrayList<>();
 
-    private final Map<String, List<String>> changes = new HashMap<>();
-    private final Map<String, List<String>> flawedDefines = new HashMap<>();
-    private final Map<String, List<String>> potentiallyBreaking = new HashMap<>();
-    private final Map<String, List<String>> breaking = new HashMap<>();
+    private final Findings findings = new Findings();
 
     /**
      * @param existing parameter, which is non null
@@ -155,43 +154,50 @@ public class ParameterChanges {
     public boolean containsDiff() {
         if (Diff.POTENTIALLY_BREAKING.equals(diffDepth)) {
             return anyParameterChanges() || anyThingAddedOrRemoved() ||
-                breakingObserved() || !potentiallyBreaking.isEmpty();
+                breakingObserved() || !findings.isEmpty(Severity.POTENTIALLY_BREAKING);
         } else if (Diff.BREAKING.equals(diffDepth)) {
             return anyParameterChanges() || anyThingAddedOrRemoved() ||
                 breakingObserved();
         } else if (Diff.LAISSEZ_FAIRE.equals(diffDepth)) {
             return anyParameterChanges() || anyThingAddedOrRemoved() ||
-                !breaking.isEmpty();
+                !findings.isEmpty(Severity.BREAKING);
         }
         return anyParameterChanges() || anyThingAddedOrRemoved() || anyObservations();
     }
 
+    /**
+     * @return the findings recorded for the parameter
+     */
+    public Findings getFindings() {
+        return findings;
+    }
+
     /**
      * @return a map with change points and the breaking changes recorded for each point
      */
     public Map<String, List<String>> getBreaking() {
-        return Collections.unmodifiableMap(breaking);
+        return findings.getMessages(Severity.BREAKING);
     }
 
     /**
      * @return a map with change points and the potentially breaking changes recorded for each point
      */
     public Map<String, List<String>> getPotentiallyBreaking() {
-        return Collections.unmodifiableMap(potentiallyBreaking);
+        return findings.getMessages(Severity.POTENTIALLY_BREAKING);
     }
 
     /**
      * @return a map with change points and the changes recorded for each point
      */
     public Map<String, List<String>> getChanges() {
-        return changes;
+        return findings.getMessages(Severity.CHANGE);
     }
 
     /**
      * @return a map with change points and the lack of definitions for each point
      */
     public Map<String, List<String>> getFlawedDefines() {
-        return flawedDefines;
+        return findings.getMessages(Severity.FLAW);
     }
 
     /**
@@ -201,14 +207,7 @@ public class ParameterChanges {
      * @param information what the flaw is
      */
     public void addBreakingChange(String origin, String information) {
-        if (breaking.containsKey(origin)) {
-            if (!breaking.get(origin).contains(information))
-                breaking.get(origin).add(information);
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            breaking.put(origin, originList);
-        }
+        findings.add(new Finding(Severity.BREAKING, origin, information));
     }
 
     /**
@@ -218,14 +217,7 @@ public class ParameterChanges {
      * @param information what the flaw is
      */
     public void addPotentialBreakingChange(String origin, String information) {
-        if (potentiallyBreaking.containsKey(origin)) {
-            if (!potentiallyBreaking.get(origin).contains(information))
-                potentiallyBreaking.get(origin).add(information);
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            potentiallyBreaking.put(origin, originList);
-        }
+        findings.add(new Finding(Severity.POTENTIALLY_BREAKING, origin, information));
     }
 
     /**
@@ -236,15 +228,7 @@ public class ParameterChanges {
      */
 
     public void addRecordedChange(String change, String information) {
-        if (changes.containsKey(change)) {
-            if (!changes.get(change).contains(information)) {
-                changes.get(change).add(information);
-            }
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            changes.put(change, originList);
-        }
+        findings.add(new Finding(Severity.CHANGE, change, information));
     }
 
     /**
@@ -254,23 +238,33 @@ public class ParameterChanges {
      * @param information what the flaw is
      */
     public void addDefinitionFlaw(String origin, String information) {
-        if (flawedDefines.containsKey(origin)) {
-            if (!flawedDefines.get(origin).contains(information))
-                flawedDefines.get(origin).add(information);
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            flawedDefines.put(origin, originList);
-        }
+        findings.add(new Finding(Severity.FLAW, origin, information));
+    }
+
+    /**
+     * a change of a value is recorded as a change and as a potentially breaking change
+     */
+    private Finding recordChange(String rule, Object existingValue, Object futureValue) {
+        Finding cause = new Finding(Severity.CHANGE, scope, rule, existingValue, futureValue);
+        findings.add(cause);
+        findings.add(cause.as(Severity.POTENTIALLY_BREAKING));
+        return cause;
+    }
+
+    /**
+     * a value that is not defined is recorded as a flaw, as the client expectations are not stated clearly
+     */
+    private void recordUndefined(String rule) {
+        findings.add(Finding.explained(Severity.FLAW, "", rule, " " + rule + UNDEFINED).within(scope));
     }
 
     private boolean anyObservations() {
-        return breakingObserved() || !potentiallyBreaking.isEmpty() ||
-            !flawedDefines.isEmpty();
+        return breakingObserved() || !findings.isEmpty(Severity.POTENTIALLY_BREAKING) ||
+            !findings.isEmpty(Severity.FLAW);
     }
 
     private boolean breakingObserved() {
-        return !breaking.isEmpty() || !changes.isEmpty();
+        return !findings.isEmpty(Severity.BREAKING) || !findings.isEmpty(Severity.CHANGE);
     }
 
     private boolean anyParameterChanges() {
@@ -480,30 +474,23 @@ public class ParameterChanges {
     }
 
     private void handleAllowEmptyValue() {
-        String cause = ".allowemptyvalue.changed.from." +
-            existing.getAllowEmptyValue() + ".to." + future.getAllowEmptyValue();
-        addRecordedChange(scope, cause);
-        addPotentialBreakingChange(scope, cause);
+        Finding cause = recordChange(".allowemptyvalue.changed", existing.getAllowEmptyValue(), future.getAllowEmptyValue());
         logger.trace("{} - {}", scope, cause);
         if (existing.getAllowEmptyValue() == null) {
-            addDefinitionFlaw(scope, scope +
-                " .existing.compliance.allowemptyvalue.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".existing.compliance.allowemptyvalue.defined.as.null");
         }
         if (future.getAllowEmptyValue() == null) {
-            addDefinitionFlaw(scope, scope + " .allowemptyvalue.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".allowemptyvalue.defined.as.null");
         }
     }
 
     private void handlePattern() {
-        String cause = "pattern.changed.from." + existing.getPattern() + ".to." + future.getPattern();
-        addRecordedChange(scope, cause);
-        addPotentialBreakingChange(scope, cause); //difficult to know when a regexp is a subset of an existing one
+        recordChange("pattern.changed", existing.getPattern(), future.getPattern()); //difficult to know when a regexp is a subset of an existing one
         if (existing.getPattern() == null) {
-            addDefinitionFlaw(scope, scope +
-                " .existing.compliance.pattern.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".existing.compliance.pattern.defined.as.null");
         }
         if (future.getPattern() == null) {
-            addDefinitionFlaw(scope, scope + " .pattern.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".pattern.defined.as.null");
         }
     }
 
@@ -514,15 +501,12 @@ public class ParameterChanges {
             e = (AbstractSerializableParameter) existing;
             f = (AbstractSerializableParameter) future;
         } else return;
-        String cause = ".type.changed.from." + e.getType() + ".to." + f.getType();
-        addRecordedChange(scope, cause);
-        addPotentialBreakingChange(scope, cause); //difficult to know when a type is compatible with the existing one
+        recordChange(".type.changed", e.getType(), f.getType()); //difficult to know when a type is compatible with the existing one
         if (e.getType() == null) {
-            addDefinitionFlaw(scope, scope +
-                " .existing.compliance.type.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".existing.compliance.type.defined.as.null");
         }
         if (f.getType() == null) {
-            addDefinitionFlaw(scope, scope + " .type.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".type.defined.as.null");
         }
     }
 
@@ -533,20 +517,17 @@ public class ParameterChanges {
             e = (AbstractSerializableParameter) existing;
             f = (AbstractSerializableParameter) future;
         } else return;
-        String cause = ".maximumvalue.changed.from." + e.getMaximum() + ".to." + f.getMaximum();
-        addRecordedChange(scope, cause);
-        addPotentialBreakingChange(scope, cause);
+        Finding cause = recordChange(".maximumvalue.changed", e.getMaximum(), f.getMaximum());
         if (f.getMaximum() != null && e.getMaximum() != null) {
             if (f.getMaximum().subtract(e.getMaximum()).longValue() < 0) { //it now demands lesser max
-                addBreakingChange(scope, cause);
+                findings.add(cause.as(Severity.BREAKING));
             }
         }
         if (e.getMaximum() == null) {
-            addDefinitionFlaw(scope, scope +
-                " .existing.compliance.maximumvalue.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".existing.compliance.maximumvalue.defined.as.null");
         }
         if (f.getMaximum() == null) {
-            addDefinitionFlaw(scope, scope + " .maximumvalue.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".maximumvalue.defined.as.null");
         }
     }
 
@@ -558,20 +539,17 @@ public class ParameterChanges {
             f = (AbstractSerializableParameter) future;
         } else return;
 
-        String cause = ".mimimumvalue.changed.from." + e.getMinimum() + ".to." + f.getMaximum();
-        addRecordedChange(scope, cause);
-        addPotentialBreakingChange(scope, cause);
+        Finding cause = recordChange(".mimimumvalue.changed", e.getMinimum(), f.getMaximum());
         if (f.getMinimum() != null && e.getMinimum() != null) {
             if (f.getMinimum().subtract(e.getMinimum()).longValue() > 0) { //it now demands longer min
-                addBreakingChange(scope, cause);
+                findings.add(cause.as(Severity.BREAKING));
             }
         }
         if (e.getMinimum() == null) {
-            addDefinitionFlaw(scope, scope +
-                " .existing.compliance.mimimumvalue.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".existing.compliance.mimimumvalue.defined.as.null");
         }
         if (f.getMinimum() == null) {
-            addDefinitionFlaw(scope, scope + " .mimimumvalue.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".mimimumvalue.defined.as.null");
         }
     }
 
@@ -583,21 +561,17 @@ public class ParameterChanges {
             f = (AbstractSerializableParameter) future;
         } else return;
 
-        String cause = ".maxlength.changed.from." + e.getMaxLength()
-            + ".to." + f.getMaxLength();
-        addRecordedChange(scope, cause);
-        addPotentialBreakingChange(scope, cause);
+        Finding cause = recordChange(".maxlength.changed", e.getMaxLength(), f.getMaxLength());
         if (f.getMaxLength() != null && e.getMaxLength() != null) {
             if (e.getMaxLength() > f.getMaxLength()) { //it now demands lesser max
-                addBreakingChange(scope, cause);
+                findings.add(cause.as(Severity.BREAKING));
             }
         }
         if (e.getMaxLength() == null) {
-            addDefinitionFlaw(scope, scope +
-                " .existing.compliance.maxlength.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".existing.compliance.maxlength.defined.as.null");
         }
         if (f.getMaxLength() == null) {
-            addDefinitionFlaw(scope, scope + " .maxlength.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".maxlength.defined.as.null");
         }
     }
 
@@ -608,21 +582,17 @@ public class ParameterChanges {
             e = (AbstractSerializableParameter) existing;
             f = (AbstractSerializableParameter) future;
         } else return;
-        String cause = ".minlength.changed.from." +
-            e.getMinLength() + ".to." + f.getMinLength();
-        addRecordedChange(scope, cause);
-        addPotentialBreakingChange(scope, cause);
+        Finding cause = recordChange(".minlength.changed", e.getMinLength(), f.getMinLength());
         if (f.getMinLength() != null) {
             if (f.getMinLength() > e.getMinLength()) { //it now demands longer min
-                addBreakingChange(scope, cause);
+                findings.add(cause.as(Severity.BREAKING));
             }
         }
         if (e.getMinLength() == null) {
-            addDefinitionFlaw(scope, scope +
-                " .existing.compliance.minlength.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".existing.compliance.minlength.defined.as.null");
         }
         if (f.getMinLength() == null) {
-            addDefinitionFlaw(scope, scope + " .minlength.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".minlength.defined.as.null");
         }
     }
 
@@ -633,26 +603,22 @@ public class ParameterChanges {
             e = (AbstractSerializableParameter) existing;
             f = (AbstractSerializableParameter) future;
         } else return;
-        String cause = ".defaultvalue.changed.from." +
-            e.getDefaultValue() + ".to." + f.getDefaultValue();
-        addRecordedChange(scope, cause);
-        addPotentialBreakingChange(scope, cause);
+        Finding cause = recordChange(".defaultvalue.changed", e.getDefaultValue(), f.getDefaultValue());
         if (f.getDefaultValue() != null && e.getDefaultValue() != null) {
             BigDecimal fd = getValue(f);
             if (fd.subtract(e.getMinimum()).longValue() > 0) { //default lower than min
-                addBreakingChange(scope, cause);
+                findings.add(cause.as(Severity.BREAKING));
             }
             if (e.getMaximum().subtract(fd).longValue() > 0) { //default higher than max
-                addBreakingChange(scope, cause);
+                findings.add(cause.as(Severity.BREAKING));
             }
         }
 
         if (e.getMinimum() == null) {
-            addDefinitionFlaw(scope, scope +
-                " .existing.compliance.defaultvalue.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".existing.compliance.defaultvalue.defined.as.null");
         }
         if (f.getMinimum() == null) {
-            addDefinitionFlaw(scope, scope + " .defaultvalue.defined.as.null::makes future proof api design difficult");
+            recordUndefined(".defaultvalue.defined.as.null");
         }
     }
 
@@ -1,11 +1,16 @@
 package dk.hoejgaard.openapi.diff.compare;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.model.Finding;
 import dk.hoejgaard.openapi.diff.model.ScopedProperty;
+import dk.hoejgaard.openapi.diff.model.Severity;
 import io.swagger.models.Model;
 import io.swagger.models.RefModel;
 import io.swagger.models.parameters.BodyParameter;
@@ -26,6 +31,8 @@ class ParameterDiff {
     private List<ScopedProperty> missingProps;
     private List<PropertyChanges> changedProps;
     private Diff depth;
+    private ElementDiffCache elementDiffs;
+    private int elementsVisited;
 
     private ParameterDiff() {
         addedParams = new ArrayList<>();
@@ -46,13 +53,30 @@ class ParameterDiff {
 
     ParameterDiff(Map<String, Model> existModels, Map<String, Model> futureModels, Diff depth,
                   List<Parameter> existingParams, List<Parameter> futureParams) {
+        this(existModels, futureModels, depth, existingParams, futureParams, null);
+    }
+
+    /**
+     * @param elementDiffs the cache of differences between definitions used for body parameters, if null the definitions are
+     *                     compared for every body parameter
+     */
+    ParameterDiff(Map<String, Model> existModels, Map<String, Model> futureModels, Diff depth,
+                  List<Parameter> existingParams, List<Parameter> futureParams, ElementDiffCache elementDiffs) {
         this();
         existingDefinition = existModels;
         futureDefinition = futureModels;
         this.depth = depth;
+        this.elementDiffs = elementDiffs;
         diff(existingParams, futureParams);
     }
 
+    /**
+     * @return the number of pairs of definitions compared for the body parameters
+     */
+    int getElementsVisited() {
+        return elementsVisited;
+    }
+
     /**
      * @return added parameters to the future candidate API compared to the existing API
      */
@@ -95,17 +119,33 @@ class ParameterDiff {
         return changedProps;
     }
 
+    /**
+     * the parameters are matched on name and location (in) first, this ensures that e.g. a header and a query parameter sharing
+     * the same name are matched correctly. The existing parameters that are left are then matched on name only, in order to
+     * detect parameters that have changed location.
+     */
     private void diff(List<Parameter> existing, List<Parameter> future) {
-        addedParams.addAll(future);
         if (null == existing) existing = new ArrayList<>();
-        for (Parameter existingParam : existing) {
+        if (null == future) future = new ArrayList<>();
+        int[] matches = match(existing, future);
+        boolean[] matched = new boolean[future.size()];
+        for (int i = 0; i < existing.size(); i++) {
+            if (-1 != matches[i]) {
+                matched[matches[i]] = true;
+            }
+        }
+        for (int i = 0; i < future.size(); i++) {
+            if (!matched[i]) {
+                addedParams.add(future.get(i));
+            }
+        }
+        for (int i = 0; i < existing.size(); i++) {
+            Parameter existingParam = existing.get(i);
             String name = existingParam.getName();
-            int index = index(addedParams, name);
-            if (-1 == index) {
+            if (-1 == matches[i]) {
                 missingParams.add(existingParam);
             } else {
-                Parameter futureParam = addedParams.get(index);
-                addedParams.remove(index);
+                Parameter futureParam = future.get(matches[i]);
 
                 ParameterChanges parameterChanges = new ParameterChanges(existingParam, futureParam, depth);
                 if (parameterChanges.containsDiff()) {
@@ -138,17 +178,27 @@ class ParameterDiff {
             if (existingSchema instanceof RefModel && futureSchema instanceof RefModel) { // it refers a type definition
                 String existingRef = ((RefModel) existingSchema).getSimpleRef();
                 String futureRef = ((RefModel) futureSchema).getSimpleRef();
-                ElementDiff diff = new ElementDiff(existingDefinition, futureDefinition, existingRef, futureRef, name);
+                ElementDiff diff = null == elementDiffs
+                    ? new ElementDiff(existingDefinition, futureDefinition, existingRef, futureRef, name)
+                    : elementDiffs.diff(existingDefinition, futureDefinition, existingRef, futureRef, name);
+                elementsVisited += diff.getVisited();
                 propertyChanges.addAddedProperties(diff.getAdded());
                 propertyChanges.addRemovedProperties(diff.getRemoved());
+                if (Diff.ALL.equals(depth)) {
+                    for (Finding observation : diff.getFindings().get(Severity.CHANGE)) {
+                        propertyChanges.addRecordedChange(
+                            observation.as(Severity.CHANGE, futureRef + "." + observation.getLocation() + "observation"));
+                    }
+                }
                 if (diff.getChanged().size() > 0) {
                     List<ScopedProperty> changes = diff.getChanged();
                     for (ScopedProperty change : changes) {
                         String origin = futureRef + "." + change.getEl();
-                        String cause = "body.property.changed." + diff.getChangeCause();
-                        propertyChanges.addRecordedChange(origin, cause);
-                        propertyChanges.addPotentialBreakingChange(origin, cause);
-                        propertyChanges.addBreakingChange(origin, cause);
+                        Finding cause = Finding.explained(Severity.CHANGE, origin, "body.property.changed", "body.property.changed.{0}",
+                            diff.getChangeCause());
+                        propertyChanges.addRecordedChange(cause);
+                        propertyChanges.addPotentialBreakingChange(cause);
+                        propertyChanges.addBreakingChange(cause);
                     }
                 }
             }
@@ -164,14 +214,43 @@ class ParameterDiff {
         missingProps.addAll(missing);
     }
 
-    private static int index(List<Parameter> right, String name) {
-        for (int i = 0; i < right.size(); i++) {
-            Parameter para = right.get(i);
-            if (name.equals(para.getName())) {
-                return i;
+    /**
+     * @return the index of the matching future parameter for every existing parameter or -1 if no future parameter matches
+     */
+    private static int[] match(List<Parameter> existing, List<Parameter> future) {
+        Map<String, Deque<Integer>> byLocation = new HashMap<>();
+        Map<String, Deque<Integer>> byName = new HashMap<>();
+        for (int i = 0; i < future.size(); i++) {
+            Parameter para = future.get(i);
+            byLocation.computeIfAbsent(key(para), k -> new ArrayDeque<>()).add(i);
+            byName.computeIfAbsent(para.getName(), k -> new ArrayDeque<>()).add(i);
+        }
+        int[] matches = new int[existing.size()];
+        boolean[] taken = new boolean[future.size()];
+        for (int i = 0; i < existing.size(); i++) {
+            matches[i] = next(byLocation.get(key(existing.get(i))), taken);
+        }
+        for (int i = 0; i < existing.size(); i++) {
+            if (-1 == matches[i]) {
+                matches[i] = next(byName.get(existing.get(i).getName()), taken);
+            }
+        }
+        return matches;
+    }
+
+    private static int next(Deque<Integer> candidates, boolean[] taken) {
+        while (null != candidates && !candidates.isEmpty()) {
+            int index = candidates.poll();
+            if (!taken[index]) {
+                taken[index] = true;
+                return index;
             }
         }
         return -1;
     }
 
+    private static String key(Parameter para) {
+        return para.getIn() + ":" + para.getName();
+    }
+
 }
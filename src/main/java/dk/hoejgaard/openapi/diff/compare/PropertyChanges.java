@@ -1,13 +1,14 @@
 package dk.hoejgaard.openapi.diff.compare;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.model.Finding;
+import dk.hoejgaard.openapi.diff.model.Findings;
 import dk.hoejgaard.openapi.diff.model.ScopedProperty;
+import dk.hoejgaard.openapi.diff.model.Severity;
 import io.swagger.models.parameters.Parameter;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -22,10 +23,7 @@ public class PropertyChanges {
     private final boolean isRequiredChanged;
     private final boolean isDescriptionChanged;
     private final Diff diffDepth;
-    private final Map<String, List<String>> changes = new HashMap<>();
-    private final Map<String, List<String>> flawedDefines = new HashMap<>();
-    private final Map<String, List<String>> potentiallyBreaking = new HashMap<>();
-    private final Map<String, List<String>> breaking = new HashMap<>();
+    private final Findings findings = new Findings();
     private List<ScopedProperty> added = new ArrayList<>();
     private List<ScopedProperty> removed = new ArrayList<>();
 
@@ -70,42 +68,49 @@ public class PropertyChanges {
         if (Diff.ALL.equals(diffDepth)) {
             return anyPropertyChanges() || anyThingAddedOrRemoved() || anyObservations();
         } else if (Diff.POTENTIALLY_BREAKING.equals(diffDepth)) {
-            return anyPropertyChanges() || anyThingAddedOrRemoved() || breakingObserved() || !potentiallyBreaking.isEmpty();
+            return anyPropertyChanges() || anyThingAddedOrRemoved() || breakingObserved() || !findings.isEmpty(Severity.POTENTIALLY_BREAKING);
         } else if (Diff.BREAKING.equals(diffDepth)) {
             return anyPropertyChanges() || anyThingAddedOrRemoved() || breakingObserved();
         } else if (Diff.LAISSEZ_FAIRE.equals(diffDepth)) {
-            return anyPropertyChanges() || anyThingAddedOrRemoved() || !breaking.isEmpty();
+            return anyPropertyChanges() || anyThingAddedOrRemoved() || !findings.isEmpty(Severity.BREAKING);
         }
         logger.error("unhandled diff depth");
         return true;
     }
 
+    /**
+     * @return the findings recorded for the property
+     */
+    public Findings getFindings() {
+        return findings;
+    }
+
     /**
      * @return a map with change points and the breaking changes recorded for each point
      */
     public Map<String, List<String>> getBreaking() {
-        return Collections.unmodifiableMap(breaking);
+        return findings.getMessages(Severity.BREAKING);
     }
 
     /**
      * @return a map with change points and the potentially breaking changes recorded for each point
      */
     public Map<String, List<String>> getPotentiallyBreaking() {
-        return Collections.unmodifiableMap(potentiallyBreaking);
+        return findings.getMessages(Severity.POTENTIALLY_BREAKING);
     }
 
     /**
      * @return a map with change points and the changes recorded for each point
      */
     public Map<String, List<String>> getChanges() {
-        return changes;
+        return findings.getMessages(Severity.CHANGE);
     }
 
     /**
      * @return a map with change points and the lack of definitions for each point
      */
     public Map<String, List<String>> getFlawedDefines() {
-        return flawedDefines;
+        return findings.getMessages(Severity.FLAW);
     }
 
     /**
@@ -114,13 +119,7 @@ public class PropertyChanges {
      * @param information what the flaw is
      */
     public void addBreakingChange(String origin, String information) {
-        if (breaking.containsKey(origin)) {
-            breaking.get(origin).add(information);
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            breaking.put(origin, originList);
-        }
+        findings.append(new Finding(Severity.BREAKING, origin, information));
     }
 
     /**
@@ -129,13 +128,7 @@ public class PropertyChanges {
      * @param information what the flaw is
      */
     public void addPotentialBreakingChange(String origin, String information) {
-        if (potentiallyBreaking.containsKey(origin)) {
-            potentiallyBreaking.get(origin).add(information);
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            potentiallyBreaking.put(origin, originList);
-        }
+        findings.append(new Finding(Severity.POTENTIALLY_BREAKING, origin, information));
     }
 
     /**
@@ -145,28 +138,32 @@ public class PropertyChanges {
      */
 
     public void addRecordedChange(String change, String information) {
-        if (changes.containsKey(change)) {
-            if (!changes.get(change).contains(information)) {
-                changes.get(change).add(information);
-            }
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            changes.put(change, originList);
-        }
+        findings.add(new Finding(Severity.CHANGE, change, information));
+    }
+
+    void addBreakingChange(Finding change) {
+        findings.append(change.as(Severity.BREAKING));
+    }
+
+    void addPotentialBreakingChange(Finding change) {
+        findings.append(change.as(Severity.POTENTIALLY_BREAKING));
+    }
+
+    void addRecordedChange(Finding change) {
+        findings.add(change.as(Severity.CHANGE));
     }
 
     private boolean anyObservations() {
-        return breakingObserved() || !potentiallyBreaking.isEmpty() ||
-            !flawedDefines.isEmpty();
+        return breakingObserved() || !findings.isEmpty(Severity.POTENTIALLY_BREAKING) ||
+            !findings.isEmpty(Severity.FLAW);
     }
 
     private boolean breakingObserved() {
-        return !breaking.isEmpty() || !changes.isEmpty();
+        return !findings.isEmpty(Severity.BREAKING) || !findings.isEmpty(Severity.CHANGE);
     }
 
     private boolean anyPropertyChanges() {
-        return isRequiredChanged || isDescriptionChanged || !changes.isEmpty();
+        return isRequiredChanged || isDescriptionChanged || !findings.isEmpty(Severity.CHANGE);
     }
 
     private boolean anyThingAddedOrRemoved() {
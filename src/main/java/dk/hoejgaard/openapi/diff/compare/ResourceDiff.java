@@ -21,6 +21,8 @@ public class ResourceDiff {
     private final SortedMap<HttpMethod, OperationDiff> changedOperations  = new TreeMap<>();
     private final SortedMap<String, OperationDiff> nonCompliantExistingOperations  = new TreeMap<>();
     private final SortedMap<String, OperationDiff> nonCompliantFutureOperations  = new TreeMap<>();
+    private long elapsedNanos;
+    private int elementsVisited;
 
     public ResourceDiff(Diff depth, String pathUrl) {
         this.depth = depth;
@@ -90,6 +92,28 @@ public class ResourceDiff {
         return pathUrl;
     }
 
+    /**
+     * @return the time spent comparing the resource in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the number of pairs of definitions compared for the operations of the resource
+     */
+    public int getElementsVisited() {
+        return elementsVisited;
+    }
+
+    public void addElementsVisited(int visited) {
+        this.elementsVisited += visited;
+    }
+
     public boolean isDiff() {
         if (Diff.ALL.equals(depth)) {
             return !newOperations.isEmpty() || !missingOperations.isEmpty() || !changedOperations.isEmpty() || isNonCompliant();
@@ -1,16 +1,23 @@
 package dk.hoejgaard.openapi.diff.compare;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import dk.hoejgaard.openapi.diff.compare.util.Maps;
 import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.model.Finding;
+import dk.hoejgaard.openapi.diff.model.Findings;
 import dk.hoejgaard.openapi.diff.model.ScopedProperty;
+import dk.hoejgaard.openapi.diff.model.Severity;
 import io.swagger.models.HttpMethod;
 import io.swagger.models.Model;
 import io.swagger.models.Response;
@@ -26,23 +33,24 @@ import org.slf4j.LoggerFactory;
  * ability to create a future proof API, using particular headers in the existing API make it easier to produce compliant APIs.
  */
 public class ResponseChanges {
-    private static final Map<String, String> HEADERS = new LinkedHashMap<>();
-    private static final Map<String, String> CODES = new LinkedHashMap<>();
+    private static final Map<String, String> HEADERS = initHeadersInfo();
+    private static final Map<String, String> CODES = initCodeInfo();
+    private static final Map<String, String> DEFAULT_HEADERS = initDefaultHeaders();
+    private static final Map<String, List<String>> SPECIFIC_HEADERS = initSpecificHeaders();
+    private static final Map<HttpMethod, Set<String>> REQUIRED_RESPONSES = requiredByMethod(initRequiredResponses());
     private static Logger logger = LoggerFactory.getLogger(ResponseChanges.class);
 
-    private final Map<String, Boolean> responsesRequired = new HashMap<>();
-    private final Map<String, String> defaultHeaders = new LinkedHashMap<>();
-    private final Map<String, List<String>> specificHeaders = new LinkedHashMap<>();
-    private final Map<String, List<String>> changes = new HashMap<>();
-    private final Map<String, List<String>> flawedDefines = new HashMap<>();
-    private final Map<String, List<String>> existingFlaws = new HashMap<>();
-    private final Map<String, List<String>> potentiallyBreaking = new HashMap<>();
-    private final Map<String, List<String>> breaking = new HashMap<>();
+    private final Map<HttpMethod, Set<String>> responsesRequired;
+    private final Map<String, String> defaultHeaders;
+    private final Map<String, List<String>> specificHeaders;
+    private final Findings findings = new Findings();
 
     private Diff depth;
     private boolean includeHeadersCheck = true;
     private Map<String, Model> existingDefinition;
     private Map<String, Model> futureDefinition;
+    private ElementDiffCache elementDiffs;
+    private int elementsVisited;
 
     /**
      * @param requiredResponses a list of response codes that must be present for all verbs
@@ -50,9 +58,9 @@ public class ResponseChanges {
      * @param less              if true the headers associated with the response code are checked
      */
     ResponseChanges(List<String> requiredResponses, boolean headerChecks, boolean less) {
-        for (String requiredResponse : requiredResponses) {
-            responsesRequired.put(requiredResponse, false);
-        }
+        this.responsesRequired = requiredByMethod(requiredResponses);
+        this.defaultHeaders = Collections.emptyMap();
+        this.specificHeaders = Collections.emptyMap();
         this.includeHeadersCheck = headerChecks;
         this.depth = includeHeadersCheck ? Diff.ALL : !less ? Diff.BREAKING : Diff.POTENTIALLY_BREAKING;
     }
@@ -66,14 +74,11 @@ public class ResponseChanges {
     private ResponseChanges(Map<String, Model> existing, Map<String, Model> future, boolean checkHeaders, boolean less) {
         this.existingDefinition = existing;
         this.futureDefinition = future;
-        initRequiredResponses();
-        initHeadersInfo();
-        initCodeInfo();
+        this.responsesRequired = REQUIRED_RESPONSES;
         this.includeHeadersCheck = checkHeaders;
         this.depth = checkHeaders ? Diff.ALL : !less ? Diff.BREAKING : Diff.POTENTIALLY_BREAKING;
-        if (includeHeadersCheck) {
-            initHeaderSetup();
-        }
+        this.defaultHeaders = includeHeadersCheck ? DEFAULT_HEADERS : Collections.<String, String>emptyMap();
+        this.specificHeaders = includeHeadersCheck ? SPECIFIC_HEADERS : Collections.<String, List<String>>emptyMap();
     }
 
     /**
@@ -85,6 +90,18 @@ public class ResponseChanges {
         this(existing, future, checkHeaders, false);
     }
 
+    /**
+     * @param existing model of the existing API
+     * @param future model for the future candidate API
+     * @param checkHeaders include checking headers to get a deep comparison for each response
+     * @param elementDiffs the cache of differences between definitions used for response bodies, if null the definitions are
+     *                     compared for every response
+     */
+    ResponseChanges(Map<String, Model> existing, Map<String, Model> future, boolean checkHeaders, ElementDiffCache elementDiffs) {
+        this(existing, future, checkHeaders, false);
+        this.elementDiffs = elementDiffs;
+    }
+
     /**
      * @param requiredResponses a list of response codes that must be present for all verbs
      * @param headerChecks      if true the headers associated with the response code are checked
@@ -121,6 +138,13 @@ public class ResponseChanges {
         this(requiredResponses, false);
     }
 
+    /**
+     * @return the number of pairs of definitions compared for the response body
+     */
+    int getElementsVisited() {
+        return elementsVisited;
+    }
+
     /**
      * @return diff says if there were differences between responses
      */
@@ -135,32 +159,39 @@ public class ResponseChanges {
         return false;
     }
 
+    /**
+     * @return the findings recorded for the response
+     */
+    public Findings getFindings() {
+        return findings;
+    }
+
     /**
      * @return a map containing the breaking changes observed
      */
     public Map<String, List<String>> getBreaking() {
-        return breaking;
+        return findings.getMessages(Severity.BREAKING);
     }
 
     /**
      * @return a map containing the potentially breaking changes observed
      */
     public Map<String, List<String>> getPotentiallyBreaking() {
-        return potentiallyBreaking;
+        return findings.getMessages(Severity.POTENTIALLY_BREAKING);
     }
 
     /**
      * @return a map containing the design shortcomings observed
      */
     public Map<String, List<String>> getFlawedDefines() {
-        return flawedDefines;
+        return findings.getMessages(Severity.FLAW);
     }
 
     /**
      * @return a map containing the changes observed
      */
     public Map<String, List<String>> getChanges() {
-        return changes;
+        return findings.getMessages(Severity.CHANGE);
     }
 
     /**
@@ -184,16 +215,18 @@ public class ResponseChanges {
 
         if (Diff.ALL.equals(depth)) {
             if (!checkCompliance(responseCode, existing, method, false, "difference.recorded")) {
-                List<String> pList = potentiallyBreaking.containsKey(responseCode) ? potentiallyBreaking.get(responseCode) : new ArrayList<>();
-                pList.add("improvement suggestion - important status code or headers missing for existing API, " +
-                    "potentially breaking clients ahead, see compliance section for further information if full depth is used");
-                potentiallyBreaking.put("existing.compliance.for." + method + ".response.code." + responseCode + ".observation", pList);
+                findings.replace(Finding.explained(Severity.POTENTIALLY_BREAKING,
+                    "existing.compliance.for." + method + ".response.code." + responseCode + ".observation",
+                    "response.compliance.existing",
+                    "improvement suggestion - important status code or headers missing for existing API, " +
+                    "potentially breaking clients ahead, see compliance section for further information if full depth is used"));
             }
             if (!checkCompliance(responseCode, future, method, true, "difference.recorded")) {
-                List<String> pList = flawedDefines.containsKey(responseCode) ? flawedDefines.get(responseCode) : new ArrayList<>();
-                pList.add("improvement suggestion - important status code or headers missing for new API, " +
-                    "may break future APIs for consumers, see compliance section for further information if full depth is used");
-                flawedDefines.put("future.compliance.for." + method + ".response.code." + responseCode + ".observation", pList);
+                findings.replace(Finding.explained(Severity.FLAW,
+                    "future.compliance.for." + method + ".response.code." + responseCode + ".observation",
+                    "response.compliance.future",
+                    "improvement suggestion - important status code or headers missing for new API, " +
+                    "may break future APIs for consumers, see compliance section for further information if full depth is used"));
             }
         }
         Map<String, Property> existingHeaders = existing.getHeaders();
@@ -204,32 +237,29 @@ public class ResponseChanges {
     }
 
     private void handleHeaders(String responseCode, HttpMethod method, Maps<String, Property> headerDiff) {
+        String origin = method + ".response.code." + responseCode + ".observation";
         Map<String, Property> addedHeaders = headerDiff.getAdded();
         if (!addedHeaders.isEmpty()) {
-            List<String> bl = breaking.containsKey(responseCode) ? breaking.get(responseCode) : new ArrayList<>();
-            bl.addAll(addedHeaders.keySet().stream()
+            addBreaking(addedHeaders.keySet().stream()
                 .filter(key -> addedHeaders.get(key) != null)
                 .filter(key -> addedHeaders.get(key).getAllowEmptyValue() != null)
                 .filter(key -> !addedHeaders.get(key).getAllowEmptyValue())
-                .map(key -> " added response header: " + getHeaderName(key, addedHeaders.get(key)) + " which does not allow having empty value")
+                .map(key -> Finding.explained(Severity.BREAKING, origin, "response.header.added.not.empty",
+                    " added response header: {0} which does not allow having empty value", getHeaderName(key, addedHeaders.get(key))))
                 .collect(Collectors.toList()));
-
-            addBreaking(method + ".response.code." + responseCode + ".observation", bl);
-            bl.addAll(addedHeaders.keySet().stream()
+            addBreaking(addedHeaders.keySet().stream()
                 .filter(key -> addedHeaders.get(key) != null)
                 .filter(key -> !addedHeaders.get(key).getRequired())
-                .map(key -> " added header: " + getHeaderName(key, addedHeaders.get(key)) + " which is required")
+                .map(key -> Finding.explained(Severity.BREAKING, origin, "response.header.added.required",
+                    " added header: {0} which is required", getHeaderName(key, addedHeaders.get(key))))
                 .collect(Collectors.toList()));
-            addBreaking(method + ".response.code." + responseCode + ".observation", bl);
         }
         Map<String, Property> removedHeaders = headerDiff.getRemoved();
         if (!removedHeaders.isEmpty()) {
-            List<String> bl = breaking.containsKey(responseCode) ? breaking.get(responseCode) : new ArrayList<>();
-            bl.addAll(removedHeaders.keySet().stream()
-                .map(key -> " verb lacks response code " + responseCode + " : "
-                    + key + " - and that breaks the client contract")
+            addBreaking(removedHeaders.keySet().stream()
+                .map(key -> Finding.explained(Severity.BREAKING, origin, "response.header.removed",
+                    " verb lacks response code {0} : {1} - and that breaks the client contract", responseCode, key))
                 .collect(Collectors.toList()));
-            addBreaking(method + ".response.code." + responseCode + ".observation", bl);
         }
     }
 
@@ -241,64 +271,23 @@ public class ResponseChanges {
     }
 
     /**
-     * a change is detected and thus the API changes at a given point
-     * @param change where the flaw is found
-     * @param information what the flaw is
+     * a change of a property in the body is detected and thus the API changes at a given point
+     * @param origin where the change is found
+     * @param rule the kind of change
+     * @param explanation what the change is, with the differences in the body at "{0}"
+     * @param diff the differences in the body that caused the change
      */
-    private void addChange(String change, String information) {
-        if (changes.containsKey(change)) {
-            if (!changes.get(change).contains(information)) {
-                changes.get(change).add(information);
-            }
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            changes.put(change, originList);
-        }
+    private void addChange(String origin, String rule, String explanation, ElementDiff diff) {
+        findings.add(Finding.explained(Severity.CHANGE, origin, rule, explanation, diff.getChangeCause()));
     }
 
     /**
      * a breaking change is detected and thus the clients will struggle with the new version of the API
-     * @param origin where the flaw is found
-     * @param information what the flaw is
-     */
-    private void addBreakingChange(String origin, String information) {
-        if (breaking.containsKey(origin)) {
-            if (!breaking.get(origin).contains(information)) {
-                breaking.get(origin).add(information);
-            }
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            breaking.put(origin, originList);
-        }
-    }
-
-    /**
-     * a breaking change is detected and thus the clients will struggle with the new version of the API
-     * @param origin where the flaw is found
      * @param observations what the flaws are
      */
-    private void addBreaking(String origin, List<String> observations) {
-        for (String observation: observations) {
-            addBreakingChange(origin, observation);
-        }
-    }
-
-    /**
-     * a potentially breaking change is detected and thus some clients will likely struggle with the new version of the API
-     * @param origin where the flaw is found
-     * @param information what the flaw is
-     */
-    private void addPotentialBreakingChange(String origin, String information) {
-        if (potentiallyBreaking.containsKey(origin)) {
-            if (!potentiallyBreaking.get(origin).contains(information)) {
-                potentiallyBreaking.get(origin).add(information);
-            }
-        } else {
-            List<String> originList = new ArrayList<>();
-            originList.add(information);
-            potentiallyBreaking.put(origin, originList);
+    private void addBreaking(List<Finding> observations) {
+        for (Finding observation: observations) {
+            findings.add(observation);
         }
     }
 
@@ -310,29 +299,27 @@ public class ResponseChanges {
             RefProperty rfp = (RefProperty) fp;
             String existingRef = rep.getSimpleRef();
             String futureRef = rfp.getSimpleRef();
-            ElementDiff diff = new ElementDiff(existingDefinition, futureDefinition, existingRef, futureRef, futureRef + ".response.body");
+            String scope = futureRef + ".response.body";
+            ElementDiff diff = null == elementDiffs
+                ? new ElementDiff(existingDefinition, futureDefinition, existingRef, futureRef, scope)
+                : elementDiffs.diff(existingDefinition, futureDefinition, existingRef, futureRef, scope);
+            elementsVisited += diff.getVisited();
             handleDiffAdded(futureRef, diff);
             handleDiffRemoved(futureRef, diff);
             handleDiffChanged(futureRef, diff);
-            if (!diff.getBreaking().isEmpty()) {
-                Map<String, List<String>> breakingChanges = diff.getBreaking();
-                for (Map.Entry<String, List<String>> entry : breakingChanges.entrySet()) {
-                    List<String> observations = entry.getValue();
-                    for (String change : observations) {
-                        addBreakingChange(entry.getKey(), change);
-                    }
-                }
+            handleDiffObservations(diff);
+            for (Finding change : diff.getFindings().get(Severity.BREAKING)) {
+                findings.add(change);
             }
-            if (!diff.getPotentiallyBreaking().isEmpty()) {
-                Map<String, List<String>> potentiallyBreakingChanges = diff.getPotentiallyBreaking();
-                for (Map.Entry<String, List<String>> entry : potentiallyBreakingChanges.entrySet()) {
-                    List<String> observations = entry.getValue();
-                    for (String change : observations) {
-                        addPotentialBreakingChange(entry.getKey(), change);
-                    }
-                }
+            for (Finding change : diff.getFindings().get(Severity.POTENTIALLY_BREAKING)) {
+                findings.add(change);
             }
+        }
+    }
 
+    private void handleDiffObservations(ElementDiff diff) {
+        for (Finding observation : diff.getFindings().get(Severity.CHANGE)) {
+            findings.add(observation.as(Severity.CHANGE, observation.getLocation() + "observation"));
         }
     }
 
@@ -341,8 +328,7 @@ public class ResponseChanges {
             List<ScopedProperty> diffChanged = diff.getChanged();
             for (ScopedProperty change : diffChanged) {
                 String origin = futureRef + "." + change.getEl();
-                String cause = "body.property.changed." + diff.getChangeCause();
-                addChange(origin, cause);
+                addChange(origin, "body.property.changed", "body.property.changed.{0}", diff);
             }
         }
     }
@@ -352,8 +338,7 @@ public class ResponseChanges {
             List<ScopedProperty> diffRemoved = diff.getAdded();
             for (ScopedProperty gone : diffRemoved) {
                 String origin = futureRef + "." + gone.getEl();
-                String cause = "body.property.removed." + diff.getChangeCause();
-                addChange(origin, cause);
+                addChange(origin, "body.property.removed", "body.property.removed.{0}", diff);
             }
         }
     }
@@ -363,8 +348,7 @@ public class ResponseChanges {
             List<ScopedProperty> diffAdded = diff.getAdded();
             for (ScopedProperty appeared : diffAdded) {
                 String origin = futureRef + "." + appeared.getEl();
-                String cause = "body.property.added." + diff.getChangeCause();
-                addChange(origin, cause);
+                addChange(origin, "body.property.added", "body.property.added.{0}", diff);
             }
         }
     }
@@ -377,8 +361,8 @@ public class ResponseChanges {
      * @return compliant or not
      */
     private boolean checkCompliance(String responseCode, Response response, HttpMethod method, boolean future, String scope) {
-        Map<String, Boolean> required = getConcreteResponsesRequired(method);
-        if (required.containsKey(responseCode)) {
+        Set<String> required = getConcreteResponsesRequired(method);
+        if (required.contains(responseCode)) {
             if (includeHeadersCheck) {
                 return checkHeaders(response, method, responseCode, future, scope);
             } else {
@@ -405,32 +389,44 @@ public class ResponseChanges {
      */
     public boolean checkCompliance(Map<String, Response> responses, HttpMethod method,
                                    boolean futureAPI, String scope, List<String> notObservedOK) {
-        Map<String, Boolean> required = getConcreteResponsesRequired(method);
-        required.keySet().stream()
-            .filter(observe -> responses.get(observe) != null)
-            .forEach(responseCode -> {
-                boolean ok = checkCompliance(responseCode, responses.get(responseCode), method, futureAPI, scope);
-                required.put(responseCode, ok);
-                if (!ok) {
-                    notObservedOK.add(responseCode);
-                }
-            });
+        boolean compliant = true;
+        for (String responseCode : getConcreteResponsesRequired(method)) {
+            Response response = responses.get(responseCode);
+            if (response == null) {
+                compliant = false;
+            } else if (!checkCompliance(responseCode, response, method, futureAPI, scope)) {
+                compliant = false;
+                notObservedOK.add(responseCode);
+            }
+        }
         notObservedOK.sort(Comparator.naturalOrder());
-        return !required.containsValue(false);
+        return compliant;
     }
 
-    private Map<String, Boolean> getConcreteResponsesRequired(HttpMethod method) {
-        Map<String, Boolean> required = new HashMap<>(responsesRequired);
-        if (!HttpMethod.POST.equals(method) && !HttpMethod.PUT.equals(method)) {
-            required.remove("201");
-        }
-        if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)) {
-            required.remove("200");
-            required.remove("203");
-            required.remove("304");
-            required.remove("404");
+    /**
+     * the required response codes are the same for every response of a given verb and are therefore looked up in tables
+     * computed once for each verb, a response that is not in the table for the verb is not required.
+     */
+    private Set<String> getConcreteResponsesRequired(HttpMethod method) {
+        return responsesRequired.get(null == method ? HttpMethod.GET : method);
+    }
+
+    private static Map<HttpMethod, Set<String>> requiredByMethod(Collection<String> requiredResponses) {
+        Map<HttpMethod, Set<String>> required = new EnumMap<>(HttpMethod.class);
+        for (HttpMethod method : HttpMethod.values()) {
+            Set<String> codes = new LinkedHashSet<>(requiredResponses);
+            if (!HttpMethod.POST.equals(method) && !HttpMethod.PUT.equals(method)) {
+                codes.remove("201");
+            }
+            if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)) {
+                codes.remove("200");
+                codes.remove("203");
+                codes.remove("304");
+                codes.remove("404");
+            }
+            required.put(method, Collections.unmodifiableSet(codes));
         }
-        return required;
+        return Collections.unmodifiableMap(required);
     }
 
     /**
@@ -441,7 +437,7 @@ public class ResponseChanges {
      * @return observed flaws in responses in the existing API
      */
     public Map<String, List<String>> getExistingFlaws() {
-        return existingFlaws;
+        return findings.getMessages(Severity.EXISTING_FLAW);
     }
 
     /**
@@ -500,74 +496,69 @@ public class ResponseChanges {
         }
         String key = localPreScope + ".response." + responseCode + ".missing." + missing + "." + header + ".for." + method;
         if (localPreScope.contains("future")) {
-            List<String> flaws = flawedDefines.containsKey(key) ? flawedDefines.get(key) : new ArrayList<>();
-            if (!flaws.contains(HEADERS.get(header))) {
-                flaws.add(HEADERS.get(header));
-                flawedDefines.put(key, flaws);
-            }
+            findings.add(Finding.explained(Severity.FLAW, key, "response.header.missing", String.valueOf(HEADERS.get(header))));
         } else if (localPreScope.contains("existing")) {
-            List<String> flaws = existingFlaws.containsKey(key) ? existingFlaws.get(key) : new ArrayList<>();
-            if (!flaws.contains(HEADERS.get(header))) {
-                flaws.add(HEADERS.get(header));
-                existingFlaws.put(key, flaws);
-            }
+            findings.add(Finding.explained(Severity.EXISTING_FLAW, key, "response.header.missing", String.valueOf(HEADERS.get(header))));
         } else {
             logger.info("missed a flaw! - may be important {} ", key);
         }
     }
 
     private boolean isBreaking() {
-        return !breaking.isEmpty();
+        return !findings.isEmpty(Severity.BREAKING);
     }
 
     private boolean isPotentiallyBreaking() {
-        return !potentiallyBreaking.isEmpty();
+        return !findings.isEmpty(Severity.POTENTIALLY_BREAKING);
     }
 
     private boolean anyChange() {
-        return !changes.isEmpty() || !flawedDefines.isEmpty() || !existingFlaws.isEmpty();
+        return !findings.isEmpty(Severity.CHANGE) || !findings.isEmpty(Severity.FLAW) || !findings.isEmpty(Severity.EXISTING_FLAW);
     }
 
     /**
      * the response headers and what they are good for, is collected here.
      * this would be a //CANDIDATE: for a configurable setup
      */
-    private void initHeadersInfo() {
-        HEADERS.put("X-Log-Token", " X-Log-Token: allows the client side reference to activities and logging on the serverside, " +
+    private static Map<String, String> initHeadersInfo() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("X-Log-Token", " X-Log-Token: allows the client side reference to activities and logging on the serverside, " +
             "if added to the Request as a header using the same name X-Log-Token it should be reused on the client side");
-        HEADERS.put("Cache-Control", "Cache-Control: sets the boundaries for caching e.g. max-age=##### ");
-        HEADERS.put("Expires", "Expires: sets the expiry time for the information retrieved in the response");
-        HEADERS.put("ETag", "ETag: as long as the ETag is the same there is no need to get the value from a resource again");
-        HEADERS.put("Last-Modified", "Last-Modified: this tells the client when the information was last updated and thus the client " +
+        headers.put("Cache-Control", "Cache-Control: sets the boundaries for caching e.g. max-age=##### ");
+        headers.put("Expires", "Expires: sets the expiry time for the information retrieved in the response");
+        headers.put("ETag", "ETag: as long as the ETag is the same there is no need to get the value from a resource again");
+        headers.put("Last-Modified", "Last-Modified: this tells the client when the information was last updated and thus the client " +
             "knows the age of the information, the API needs to state explicit what parts are comprised is it the complete response that was" +
             " updated or could it be a small part only");
-        HEADERS.put("Content-Type", "Content-Type: defines the content-type (e.g. application/json) including projection (concept) and " +
+        headers.put("Content-Type", "Content-Type: defines the content-type (e.g. application/json) including projection (concept) and " +
             "version (v)");
-        HEADERS.put("Content-Encoding", "Content-Encoding: informs on the body - is it compressed or not e.g. gzip");
-        HEADERS.put("X-RateLimit-Limit", "X-RateLimit-Limit: Request limit per minute");
-        HEADERS.put("X-RateLimit-Limit-24h", "X-RateLimit-Limit-24h: Request limit per 24h");
-        HEADERS.put("X-RateLimit-Remaining", "X-RateLimit-Remaining: Requests left for the domain/resource for the 24h (locally determined)");
-        HEADERS.put("X-RateLimit-Reset", "X-RateLimit-Reset: The remaining window before the rate limit resets in UTC epoch seconds");
-        HEADERS.put("Retry-After", "Retry-After: The time a client should wait before trying to fetch in epoch seconds");
-        HEADERS.put("Location", "Location: The url where a resource can be found");
-    }
-
-    private void initCodeInfo() {
-        CODES.put("202", "adding 202 Accepted breaks the client programming model and is not compatible");
-        CODES.put("203", "adding 203 Non Authoritative means the client gets information from a different source than it anticipated and thus" +
+        headers.put("Content-Encoding", "Content-Encoding: informs on the body - is it compressed or not e.g. gzip");
+        headers.put("X-RateLimit-Limit", "X-RateLimit-Limit: Request limit per minute");
+        headers.put("X-RateLimit-Limit-24h", "X-RateLimit-Limit-24h: Request limit per 24h");
+        headers.put("X-RateLimit-Remaining", "X-RateLimit-Remaining: Requests left for the domain/resource for the 24h (locally determined)");
+        headers.put("X-RateLimit-Reset", "X-RateLimit-Reset: The remaining window before the rate limit resets in UTC epoch seconds");
+        headers.put("Retry-After", "Retry-After: The time a client should wait before trying to fetch in epoch seconds");
+        headers.put("Location", "Location: The url where a resource can be found");
+        return Collections.unmodifiableMap(headers);
+    }
+
+    private static Map<String, String> initCodeInfo() {
+        Map<String, String> codes = new LinkedHashMap<>();
+        codes.put("202", "adding 202 Accepted breaks the client programming model and is not compatible");
+        codes.put("203", "adding 203 Non Authoritative means the client gets information from a different source than it anticipated and thus" +
             " the caching headers, modified since etc. may not be as valid as they are when information origins from the resource itself");
-        CODES.put("301", "adding 301 Permanently Moved may break the client programming model, clients " +
+        codes.put("301", "adding 301 Permanently Moved may break the client programming model, clients " +
             "may not be able to follow the location if not implemented and thus experience service as being down");
-        CODES.put("304", "adding 304 Modified allows clients to know whether they need to re-get information, beware that the implementation " +
+        codes.put("304", "adding 304 Modified allows clients to know whether they need to re-get information, beware that the implementation " +
             "in the service must required less effort than the GET would have caused");
-        CODES.put("307", "adding 307 Temporarily Moved may break the client programming model, clients " +
+        codes.put("307", "adding 307 Temporarily Moved may break the client programming model, clients " +
             "may not be able to follow the location if not implemented and thus experience service as being down");
-        CODES.put("410", "adding 410 Gone is not harming the client, it merely tells the client that at some point after having moved " +
+        codes.put("410", "adding 410 Gone is not harming the client, it merely tells the client that at some point after having moved " +
             "the resource to another place you will no longer receive 301's and when this happen a 410 be presented");
-        CODES.put("429", "adding 429 Too Many Requests is not harming the client, clients may however perceive service as being poor");
-        CODES.put("501", "adding 501 Not Implemented allows the service to publish parts of a service and deliver value for the " +
+        codes.put("429", "adding 429 Too Many Requests is not harming the client, clients may however perceive service as being poor");
+        codes.put("501", "adding 501 Not Implemented allows the service to publish parts of a service and deliver value for the " +
             "implemented parts ");
-
+        return Collections.unmodifiableMap(codes);
     }
 
     /**
@@ -576,10 +567,18 @@ public class ResponseChanges {
      *
      * this would be a //CANDIDATE: for a configurable setup
      */
-    private void initHeaderSetup() {
+    private static Map<String, String> initDefaultHeaders() {
+        Map<String, String> defaultHeaders = new LinkedHashMap<>();
         defaultHeaders.put("X-Log-Token", "the client side reference to activities and logging on the serverside, if added to the " +
             "Request as a header using the same name X-Log-Token it should be reused on the client side");
+        return Collections.unmodifiableMap(defaultHeaders);
+    }
 
+    /**
+     * initiates the specific headers required for the individual response codes, see {@link #initDefaultHeaders()}
+     */
+    private static Map<String, List<String>> initSpecificHeaders() {
+        Map<String, List<String>> specificHeaders = new LinkedHashMap<>();
         List<String> headerSetup = new ArrayList<>();
         headerSetup.add("Content-Type"); //"the content-type (e.g. application/json) including projection (concept) and version (v)"
         headerSetup.add("Content-Encoding"); //"is it compressed or not e.g. gzip"
@@ -593,7 +592,7 @@ public class ResponseChanges {
         headerSetup.add("X-RateLimit-Reset"); // "The remaining window before the rate limit resets in UTC epoch seconds"
 
 
-        specificHeaders.put("200", headerSetup);
+        specificHeaders.put("200", Collections.unmodifiableList(headerSetup));
 
         headerSetup = new ArrayList<>();
         headerSetup.add("Location");
@@ -607,23 +606,24 @@ public class ResponseChanges {
         headerSetup.add("X-RateLimit-Limit-24h"); // "Request limit per 24h"
         headerSetup.add("X-RateLimit-Remaining"); // "Requests left for the domain/resource/endpoint for the 24h (locally determined)"
         headerSetup.add("X-RateLimit-Reset"); // "The remaining window before the rate limit resets in UTC epoch seconds"
-        specificHeaders.put("201", headerSetup);
+        specificHeaders.put("201", Collections.unmodifiableList(headerSetup));
 
         headerSetup = new ArrayList<>();
         headerSetup.add("Location");
         headerSetup.add("Retry-After");
-        specificHeaders.put("202", headerSetup);
+        specificHeaders.put("202", Collections.unmodifiableList(headerSetup));
 
         headerSetup = new ArrayList<>();
         headerSetup.add("Location");
         headerSetup.add("Expires"); // "sets the expiry time for the information retrieved in the response");
-        specificHeaders.put("301", headerSetup);
-        specificHeaders.put("307", headerSetup);
+        specificHeaders.put("301", Collections.unmodifiableList(headerSetup));
+        specificHeaders.put("307", specificHeaders.get("301"));
 
         headerSetup = new ArrayList<>();
         headerSetup.add("Retry-After");
-        specificHeaders.put("429", headerSetup);
-        specificHeaders.put("503", headerSetup);
+        specificHeaders.put("429", Collections.unmodifiableList(headerSetup));
+        specificHeaders.put("503", specificHeaders.get("429"));
+        return Collections.unmodifiableMap(specificHeaders);
     }
 
     /**
@@ -637,31 +637,33 @@ public class ResponseChanges {
      * See the complete description of the return codes at:
      * https://www.w3.org/Protocols/rfc2616/rfc2616-sec10.html
      */
-    private void initRequiredResponses() {
-        responsesRequired.put("200", false);  // response stating that everything was handled OK
-        responsesRequired.put("201", false);  // response informing about a new item created at a given location
-        responsesRequired.put("202", false);  // response stating the request accepted and a response will produced and be available
-                                              // at a given location and time
-        responsesRequired.put("203", false);  // the response returned is not authoritative and thus this is proxied from e.g. somewhere else
-        //SUGGEST: - "potentially enable later" as responsesRequired.put("204", false); // the response does not contain any content in the body
+    private static Set<String> initRequiredResponses() {
+        Set<String> responsesRequired = new LinkedHashSet<>();
+        responsesRequired.add("200");  // response stating that everything was handled OK
+        responsesRequired.add("201");  // response informing about a new item created at a given location
+        responsesRequired.add("202");  // response stating the request accepted and a response will produced and be available
+                                       // at a given location and time
+        responsesRequired.add("203");  // the response returned is not authoritative and thus this is proxied from e.g. somewhere else
+        //SUGGEST: - "potentially enable later" as responsesRequired.add("204"); // the response does not contain any content in the body
         //SUGGEST: - "discuss whether 206 Partial Content should be enabled as default (interesting and meaningful, but as default)"
-        //     - as responsesRequired.put("206", false); // the repose is only a partial portion of the complete response to the request
-        responsesRequired.put("301", false);  // response informing about resource/endpoint has been moved permanently to other location
-        responsesRequired.put("304", false);  // response informing about resource/endpoint has or has not been modified
-        responsesRequired.put("307", false);  // response informing about resource/endpoint has been moved temporarily to other location
-
-        responsesRequired.put("400", false);  // response informing about the receipt of a bad request
-        responsesRequired.put("401", false);  // response stating that the request was unauthorized
-        responsesRequired.put("403", false);  // response stating that the request was authorized, but no access was given to the resource
-        responsesRequired.put("404", false);  // response stating that the requested resource was not found
-        responsesRequired.put("410", false);  // response stating that the resource is gone (e.g. moved to an unknown place)
-        responsesRequired.put("412", false);  // response stating that the request preconditions failed
-        responsesRequired.put("415", false);  // response stating that the request asked for a content-type not supported
-        responsesRequired.put("429", false);  // response stating that the clients need to back off as the resource is under load
-
-        responsesRequired.put("500", false);  // response stating that the server failed
-        responsesRequired.put("501", false); // response stating that the resource/endpoint is not yet implemented
-        responsesRequired.put("503", false);  // response stating that the server/service is under heavy load
-        responsesRequired.put("505", false);  // response states that request was using an unsupported version of HTTP
+        //     - as responsesRequired.add("206"); // the repose is only a partial portion of the complete response to the request
+        responsesRequired.add("301");  // response informing about resource/endpoint has been moved permanently to other location
+        responsesRequired.add("304");  // response informing about resource/endpoint has or has not been modified
+        responsesRequired.add("307");  // response informing about resource/endpoint has been moved temporarily to other location
+
+        responsesRequired.add("400");  // response informing about the receipt of a bad request
+        responsesRequired.add("401");  // response stating that the request was unauthorized
+        responsesRequired.add("403");  // response stating that the request was authorized, but no access was given to the resource
+        responsesRequired.add("404");  // response stating that the requested resource was not found
+        responsesRequired.add("410");  // response stating that the resource is gone (e.g. moved to an unknown place)
+        responsesRequired.add("412");  // response stating that the request preconditions failed
+        responsesRequired.add("415");  // response stating that the request asked for a content-type not supported
+        responsesRequired.add("429");  // response stating that the clients need to back off as the resource is under load
+
+        responsesRequired.add("500");  // response stating that the server failed
+        responsesRequired.add("501"); // response stating that the resource/endpoint is not yet implemented
+        responsesRequired.add("503");  // response stating that the server/service is under heavy load
+        responsesRequired.add("505");  // response states that request was using an unsupported version of HTTP
+        return Collections.unmodifiableSet(responsesRequired);
     }
 }
@@ -1,7 +1,9 @@
 package dk.hoejgaard.openapi.diff.compare.util;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * compares two lists and detects what has been added and what has been removed from these lists.
@@ -42,21 +44,44 @@ public final class Lists<T> {
         Lists<T> elements = new Lists<>();
         if (isSimpleInput(reference, subject, elements)) {
             return elements;
-        } else {
-            elements.added.addAll(subject);
         }
-        for (int i = 0; i < reference.size(); i++) {
-            T element = reference.get(i);
-            if (subject.contains(element) && reference.contains(element)) {
-                elements.added.remove(element);
-                elements.common.add(element);
-            } else if (reference.contains(element) && !subject.contains(element)) {
+        Map<T, int[]> unmatched = count(subject);
+        Map<T, int[]> matched = new HashMap<>();
+        for (T element : reference) {
+            int[] remaining = unmatched.get(element);
+            if (null == remaining) {
                 elements.removed.add(element);
+            } else {
+                elements.common.add(element);
+                if (remaining[0] > 0) {
+                    remaining[0]--;
+                    matched.computeIfAbsent(element, e -> new int[1])[0]++;
+                }
+            }
+        }
+        for (T element : subject) {
+            int[] pending = matched.get(element);
+            if (null != pending && pending[0] > 0) {
+                pending[0]--;
+            } else {
+                elements.added.add(element);
             }
         }
         return elements;
     }
 
+    /**
+     * counts the occurrences of every element in the list, which allows the lists to be compared using hash lookups rather than
+     * scanning the lists, the counts are kept in arrays in order to be updated in place.
+     */
+    private static <T> Map<T, int[]> count(List<T> list) {
+        Map<T, int[]> counts = new HashMap<>(list.size() * 2);
+        for (T element : list) {
+            counts.computeIfAbsent(element, e -> new int[1])[0]++;
+        }
+        return counts;
+    }
+
     /**
      * the simplest case is where the reference and/or the subject is not initialized
      */
@@ -1,17 +1,34 @@
 package dk.hoejgaard.openapi.diff.model;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * The content type is a simplified version of the HTTP specified Content Type
  * including parameters and not including quality parameters
+ * <p>
+ * The content type is parsed by hand rather than by regular expressions, as content types are parsed for every produces and
+ * consumes entry of every operation. The accepted formats are:
+ * <ul>
+ * <li>scheme: {@code application/hal+json;concept=(.*);v=[0-9]+} or {@code application/json;concept=(.*);v=[0-9]+}</li>
+ * <li>concept: one or more repetitions of
+ * {@code (application/hal+json)+(, )?(;concept=[a-z][a-z0-9]+)?(;v=[0-9]+)?(, )*} or the same for {@code application/json}</li>
+ * </ul>
+ * <p>
+ * A content type is immutable, the same content types are used across the operations of an API and instances are therefore
+ * shared using {@link #of(String)}.
  */
 public class ContentType {
 
     private static final String JSON = "application/json";
-    private static final String HAL_JSON = "application/hal\\+json";
-    private static final String HAL_SCHEME = "^" + HAL_JSON + ";concept=(.*);v=[0-9]+";
-    private static final String JSON_SCHEME = "^" + JSON + ";concept=(.*);v=[0-9]+";
-    private static final String HAL_CONCEPT = "^((application\\/hal\\+json)+(, )?(;concept=[a-z][a-z0-9]+)?(;v=[0-9]+)?(, )*)+";
-    private static final String JSON_CONCEPT = "^((application\\/json)+(, )?(;concept=[a-z][a-z0-9]+)?(;v=[0-9]+)?(, )*)+";
+    private static final String HAL_JSON = "application/hal+json";
+    private static final String CONCEPT = ";concept=";
+    private static final String VERSION = ";v=";
+    private static final String SEPARATOR = ", ";
+    private static final int MAX_SHARED = 1024;
+    private static final ConcurrentMap<String, ContentType> SHARED = new ConcurrentHashMap<>();
     private final boolean isHALScheme;
     private final boolean isJSONScheme;
     private final boolean isHALConcept;
@@ -31,12 +48,33 @@ public class ContentType {
         deriveType(contentType);
         deriveSubtype(contentType);
         deriveParameters(contentType);
-        isHALScheme = asString.matches(HAL_SCHEME);
-        isJSONScheme = asString.matches(JSON_SCHEME);
-        isHALConcept = asString.matches(HAL_CONCEPT);
-        isJSONConcept = asString.matches(JSON_CONCEPT);
-        isHAL = asString.matches(HAL_JSON);
-        isJSON = asString.matches(JSON);
+        isHALScheme = isScheme(asString, HAL_JSON);
+        isJSONScheme = isScheme(asString, JSON);
+        isHALConcept = isConcept(asString, HAL_JSON);
+        isJSONConcept = isConcept(asString, JSON);
+        isHAL = HAL_JSON.equals(asString);
+        isJSON = JSON.equals(asString);
+    }
+
+    /**
+     * returns a shared instance for the content type, the number of shared instances is bounded and content types beyond that
+     * bound are parsed every time.
+     *
+     * @param contentType the content-type e.g. {@code application/hal+json;concept=account;v=2}
+     * @return the parsed content type
+     */
+    public static ContentType of(String contentType) {
+        ContentType shared = SHARED.get(contentType);
+        if (null == shared) {
+            shared = new ContentType(contentType);
+            if (SHARED.size() < MAX_SHARED) {
+                ContentType existing = SHARED.putIfAbsent(contentType, shared);
+                if (null != existing) {
+                    shared = existing;
+                }
+            }
+        }
+        return shared;
     }
 
     /**
@@ -171,7 +209,7 @@ public class ContentType {
      * @return true of found to be json
      */
     public static boolean isJsonOnly(String contentType) {
-        return contentType.matches(JSON) || contentType.matches(JSON_CONCEPT);
+        return JSON.equals(contentType) || isConcept(contentType, JSON);
     }
 
     /**
@@ -180,7 +218,7 @@ public class ContentType {
      * @return true of found to be json
      */
     public static boolean isHALJson(String contentType) {
-        return contentType.matches(HAL_JSON) || contentType.matches(HAL_CONCEPT);
+        return HAL_JSON.equals(contentType) || isConcept(contentType, HAL_JSON);
     }
 
     private void deriveType(String contentType) {
@@ -201,8 +239,7 @@ public class ContentType {
     }
 
     private void deriveParameters(String contentType) {
-        String[] params = contentType.split("concept=");
-        for (String param : params) {
+        for (String param : split(contentType, "concept=")) {
             if (!param.contains(type) && !param.contains(subtype)) {
                 parameters = "concept=" + param;
                 int versionStart = param.indexOf(';');
@@ -220,4 +257,111 @@ public class ContentType {
             }
         }
     }
+
+    /**
+     * checks for {@code media;concept=(.*);v=[0-9]+} where the projection may be anything but line terminators.
+     */
+    private static boolean isScheme(String contentType, String media) {
+        int start = media.length() + CONCEPT.length();
+        if (!contentType.startsWith(media) || !contentType.startsWith(CONCEPT, media.length())) {
+            return false;
+        }
+        int digits = contentType.length();
+        while (digits > start && isDigit(contentType.charAt(digits - 1))) {
+            digits--;
+        }
+        int version = digits - VERSION.length();
+        if (digits == contentType.length() || version < start || !contentType.startsWith(VERSION, version)) {
+            return false;
+        }
+        for (int i = start; i < version; i++) {
+            if (isLineTerminator(contentType.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * checks for one or more repetitions of {@code (media)+(, )?(;concept=[a-z][a-z0-9]+)?(;v=[0-9]+)?(, )*}.
+     * <p>
+     * The concept name may be followed directly by the media of the next repetition, which starts with lowercase letters as
+     * well, therefore every position reachable in each part of the repetition is tracked while the content type is scanned.
+     */
+    private static boolean isConcept(String contentType, String media) {
+        int length = contentType.length();
+        boolean[] start = new boolean[length + 1];
+        boolean[] afterMedia = new boolean[length + 1];
+        boolean[] afterSeparator = new boolean[length + 1];
+        boolean[] afterConcept = new boolean[length + 1];
+        boolean[] end = new boolean[length + 1];
+        start[0] = true;
+        for (int pos = 0; pos <= length; pos++) {
+            afterSeparator[pos] |= afterMedia[pos];
+            afterConcept[pos] |= afterSeparator[pos];
+            end[pos] |= afterConcept[pos];
+            if (end[pos] && pos > 0) {
+                start[pos] = true;
+                if (contentType.startsWith(SEPARATOR, pos)) {
+                    end[pos + SEPARATOR.length()] = true;
+                }
+            }
+            if ((start[pos] || afterMedia[pos]) && contentType.startsWith(media, pos)) {
+                afterMedia[pos + media.length()] = true;
+            }
+            if (afterMedia[pos] && contentType.startsWith(SEPARATOR, pos)) {
+                afterSeparator[pos + SEPARATOR.length()] = true;
+            }
+            if (afterSeparator[pos] && contentType.startsWith(CONCEPT, pos)) {
+                int name = pos + CONCEPT.length();
+                if (name < length && isLowercase(contentType.charAt(name))) {
+                    for (int i = name + 1; i < length && (isLowercase(contentType.charAt(i)) || isDigit(contentType.charAt(i))); i++) {
+                        afterConcept[i + 1] = true;
+                    }
+                }
+            }
+            if (afterConcept[pos] && contentType.startsWith(VERSION, pos)) {
+                for (int i = pos + VERSION.length(); i < length && isDigit(contentType.charAt(i)); i++) {
+                    end[i + 1] = true;
+                }
+            }
+        }
+        return end[length];
+    }
+
+    /**
+     * splits the content type around the separator the same way as {@link String#split(String)} does for a literal separator.
+     */
+    private static List<String> split(String contentType, String separator) {
+        List<String> parts = new ArrayList<>();
+        int from = 0;
+        int found = contentType.indexOf(separator);
+        if (found < 0) {
+            parts.add(contentType);
+            return parts;
+        }
+        while (found >= 0) {
+            parts.add(contentType.substring(from, found));
+            from = found + separator.length();
+            found = contentType.indexOf(separator, from);
+        }
+        parts.add(contentType.substring(from));
+        int last = parts.size();
+        while (last > 0 && parts.get(last - 1).isEmpty()) {
+            last--;
+        }
+        return parts.subList(0, last);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLowercase(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
 }
@@ -0,0 +1,196 @@
+package dk.hoejgaard.openapi.diff.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A single finding from the comparison of an existing and a future API.
+ * <p>
+ * The finding keeps a fixed rule and the values observed apart, the textual form used in the reports is produced when the
+ * message is asked for, e.g. the rule ".maxlength.changed" with the values 10 and 5 is reported as
+ * ".maxlength.changed.from.10.to.5". A rule may instead carry an explanation, in which the values are placed at "{0}", "{1}",...
+ * <p>
+ * The element is the part of the API the finding is about, it is reported in front of the message and it is re-scoped along
+ * with the location when the finding is seen in a wider scope.
+ */
+public final class Finding {
+
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final Severity severity;
+    private final String location;
+    private final String element;
+    private final String rule;
+    private final String explanation;
+    private final Object[] values;
+
+    /**
+     * @param severity the significance of the finding
+     * @param location where the finding is observed
+     * @param message  what the finding is, used as the rule as well
+     */
+    public Finding(Severity severity, String location, String message) {
+        this(severity, location, "", message, message, NO_VALUES);
+    }
+
+    /**
+     * @param severity the significance of the finding
+     * @param location where the finding is observed
+     * @param rule     the rule that was violated or the kind of change observed
+     * @param existing the value in the existing API
+     * @param future   the value in the future API
+     */
+    public Finding(Severity severity, String location, String rule, Object existing, Object future) {
+        this(severity, location, "", rule, null, new Object[]{existing, future});
+    }
+
+    private Finding(Severity severity, String location, String element, String rule, String explanation, Object[] values) {
+        this.severity = Objects.requireNonNull(severity);
+        this.location = location;
+        this.element = element;
+        this.rule = rule;
+        this.explanation = explanation;
+        this.values = values;
+    }
+
+    /**
+     * @param severity    the significance of the finding
+     * @param location    where the finding is observed
+     * @param rule        the rule that was violated or the kind of change observed
+     * @param explanation what the finding means, with "{0}", "{1}",... where the values are placed
+     * @param values      the values observed
+     * @return the explained finding
+     */
+    public static Finding explained(Severity severity, String location, String rule, String explanation, Object... values) {
+        return new Finding(severity, location, "", rule, Objects.requireNonNull(explanation), values.clone());
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getElement() {
+        return element;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    /**
+     * @return true if the finding is a change from an existing to a future value
+     */
+    public boolean isChange() {
+        return explanation == null;
+    }
+
+    /**
+     * @return the value in the existing API if the finding is a change
+     */
+    public Object getExisting() {
+        return isChange() ? values[0] : null;
+    }
+
+    /**
+     * @return the value in the future API if the finding is a change
+     */
+    public Object getFuture() {
+        return isChange() ? values[1] : null;
+    }
+
+    /**
+     * @return the values observed
+     */
+    public Object[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * @return the textual form of the finding as used in the reports
+     */
+    public String getMessage() {
+        StringBuilder message = new StringBuilder(element);
+        if (isChange()) {
+            return message.append(rule).append(".from.").append(values[0]).append(".to.").append(values[1]).toString();
+        }
+        int from = 0;
+        int start = explanation.indexOf('{');
+        while (start >= 0) {
+            int end = explanation.indexOf('}', start);
+            int index = end > start + 1 ? index(explanation.substring(start + 1, end)) : -1;
+            if (index < 0 || index >= values.length) {
+                start = explanation.indexOf('{', start + 1);
+                continue;
+            }
+            message.append(explanation, from, start).append(values[index]);
+            from = end + 1;
+            start = explanation.indexOf('{', from);
+        }
+        return message.append(explanation, from, explanation.length()).toString();
+    }
+
+    /**
+     * @param severity the significance of the finding
+     * @return the same finding with another severity
+     */
+    public Finding as(Severity severity) {
+        return new Finding(severity, location, element, rule, explanation, values);
+    }
+
+    /**
+     * @param severity the significance of the finding
+     * @param location where the finding is observed
+     * @return the same finding with another severity at another location
+     */
+    public Finding as(Severity severity, String location) {
+        return new Finding(severity, location, element, rule, explanation, values);
+    }
+
+    /**
+     * @param scope the scope in which the finding should be seen
+     * @return the same finding about the element and at the location within the given scope
+     */
+    public Finding within(String scope) {
+        return new Finding(severity, scope + location, scope + element, rule, explanation, values);
+    }
+
+    private static int index(String placeholder) {
+        if (placeholder.length() > 2) {
+            return -1;
+        }
+        for (int i = 0; i < placeholder.length(); i++) {
+            if (!Character.isDigit(placeholder.charAt(i))) {
+                return -1;
+            }
+        }
+        return Integer.parseInt(placeholder);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Finding)) {
+            return false;
+        }
+        Finding other = (Finding) o;
+        return severity == other.severity && Objects.equals(location, other.location) && element.equals(other.element)
+            && Objects.equals(rule, other.rule) && Objects.equals(explanation, other.explanation)
+            && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(severity, location, element, rule, explanation, Arrays.hashCode(values));
+    }
+
+    @Override
+    public String toString() {
+        return severity + " " + location + " " + getMessage();
+    }
+}
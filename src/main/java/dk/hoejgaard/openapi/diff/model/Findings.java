@@ -0,0 +1,120 @@
+package dk.hoejgaard.openapi.diff.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The findings recorded for a part of the comparison, held per severity in the order they were recorded.
+ * <p>
+ * The textual form of the findings as a map from location to messages is built every time it is asked for. The findings may be
+ * read from several threads at the same time, e.g. when more than one report is rendered from the same result.
+ */
+public final class Findings {
+
+    private final Map<Severity, List<Finding>> findings = new EnumMap<>(Severity.class);
+
+    /**
+     * records the finding unless the same finding was recorded before with the same severity at the same location
+     *
+     * @param finding the finding
+     * @return true if the finding was recorded
+     */
+    public synchronized boolean add(Finding finding) {
+        List<Finding> recorded = recorded(finding.getSeverity());
+        if (recorded.contains(finding)) {
+            return false;
+        }
+        recorded.add(finding);
+        return true;
+    }
+
+    /**
+     * records the finding even if the same finding was recorded before
+     *
+     * @param finding the finding
+     */
+    public synchronized void append(Finding finding) {
+        recorded(finding.getSeverity()).add(finding);
+    }
+
+    /**
+     * records the finding in place of the findings recorded with the same severity at the same location, the location keeps its
+     * place among the locations recorded
+     *
+     * @param finding the finding
+     */
+    public synchronized void replace(Finding finding) {
+        List<Finding> recorded = recorded(finding.getSeverity());
+        int first = -1;
+        for (int i = recorded.size() - 1; i >= 0; i--) {
+            if (Objects.equals(recorded.get(i).getLocation(), finding.getLocation())) {
+                recorded.remove(i);
+                first = i;
+            }
+        }
+        recorded.add(first < 0 ? recorded.size() : first, finding);
+    }
+
+    /**
+     * @return true if any finding of the given severity was recorded at the location
+     */
+    public synchronized boolean contains(Severity severity, String location) {
+        List<Finding> recorded = findings.get(severity);
+        if (recorded != null) {
+            for (Finding finding : recorded) {
+                if (Objects.equals(finding.getLocation(), location)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if no finding of the given severity was recorded
+     */
+    public synchronized boolean isEmpty(Severity severity) {
+        List<Finding> recorded = findings.get(severity);
+        return recorded == null || recorded.isEmpty();
+    }
+
+    /**
+     * @return the findings of the given severity in the order they were recorded
+     */
+    public synchronized List<Finding> get(Severity severity) {
+        List<Finding> recorded = findings.get(severity);
+        return recorded == null ? Collections.emptyList() : new ArrayList<>(recorded);
+    }
+
+    /**
+     * the findings are grouped using get and put rather than computeIfAbsent, as the latter places a new location first among
+     * the colliding locations and that would change the order in which the locations are reported.
+     *
+     * @return the findings of the given severity as the messages recorded for each location
+     */
+    public synchronized Map<String, List<String>> getMessages(Severity severity) {
+        List<Finding> recorded = findings.get(severity);
+        if (recorded == null || recorded.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> messages = new HashMap<>();
+        for (Finding finding : recorded) {
+            List<String> located = messages.get(finding.getLocation());
+            if (located == null) {
+                located = new ArrayList<>();
+                messages.put(finding.getLocation(), located);
+            }
+            located.add(finding.getMessage());
+        }
+        return messages;
+    }
+
+    private List<Finding> recorded(Severity severity) {
+        return findings.computeIfAbsent(severity, s -> new ArrayList<>());
+    }
+}
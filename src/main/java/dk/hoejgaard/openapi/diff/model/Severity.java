@@ -0,0 +1,12 @@
+package dk.hoejgaard.openapi.diff.model;
+
+/**
+ * Defines the significance of a finding in the comparison between APIs
+ */
+public enum Severity {
+    BREAKING,
+    POTENTIALLY_BREAKING,
+    CHANGE,
+    FLAW,
+    EXISTING_FLAW
+}
@@ -0,0 +1,44 @@
+package dk.hoejgaard.openapi.diff.output;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Lets the renderers using a writer based generator append to an appendable which is not a writer, e.g. a StringBuilder
+ */
+final class AppendableWriter extends Writer {
+    private final Appendable out;
+
+    private AppendableWriter(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * @param out where the report is written
+     * @return the appendable itself if it is a writer, otherwise a writer appending to it
+     */
+    static Writer of(Appendable out) {
+        return out instanceof Writer ? (Writer) out : new AppendableWriter(out);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        out.append(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        out.append(str, off, off + len);
+    }
+
+    @Override
+    public void flush() {
+        //intentionally empty
+    }
+
+    @Override
+    public void close() {
+        //intentionally empty
+    }
+}
@@ -1,5 +1,6 @@
 package dk.hoejgaard.openapi.diff.output;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -73,15 +74,30 @@ public class ConsoleRender implements OutputRender {
      * @return a complete rendered report
      */
     public String render(APIDiff diff) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            render(diff, sb);
+        } catch (IOException e) {
+            throw new RuntimeException("could not render the console report", e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param diff the difference report containing the comparison between the existing and the future candidate API
+     * @param out  where the rendered report is written, one endpoint at a time
+     */
+    public void render(APIDiff diff, Appendable out) throws IOException {
         StringBuilder sb = new StringBuilder();
         buildIntroduction(sb);
         buildAddedEndpoints(diff, sb);
         buildRemovedEndpoints(diff, sb);
         buildChangedEndpoints(diff, sb);
-        buildElaboratedChangeSection(diff, sb);
-        buildElaboratedSection(diff, sb);
+        Formatter.flush(sb, out);
+        buildElaboratedChangeSection(diff, sb, out);
+        buildElaboratedSection(diff, sb, out);
         buildConsoleEpilogue(sb);
-        return sb.toString();
+        Formatter.flush(sb, out);
     }
 
     private void buildIntroduction(StringBuilder sb) {
@@ -155,7 +171,7 @@ public class ConsoleRender implements OutputRender {
         sb.append(ANSI_RESET);
     }
 
-    private void buildElaboratedChangeSection(APIDiff diff, StringBuilder sb) {
+    private void buildElaboratedChangeSection(APIDiff diff, StringBuilder sb, Appendable out) throws IOException {
         List<ResourceDiff> changed = diff.getChangedResourceDiffs();
         sb.append(ANSI_WHITE).append(ANSI_BLUE_BACKGROUND).append(LINE).append('\n');
         sb.append("The Elaborated Report for changed or observable Endpoints \n");
@@ -175,6 +191,7 @@ public class ConsoleRender implements OutputRender {
                 buildPotentiallyBreaking(sb, oprDiff);
             }
             sb.append("\n\n\n");
+            Formatter.flush(sb, out);
         }
         sb.append(LINE).append("\n\n").append(ANSI_RESET);
     }
@@ -217,7 +234,7 @@ public class ConsoleRender implements OutputRender {
         }
     }
 
-    private void buildElaboratedSection(APIDiff diff, StringBuilder sb) {
+    private void buildElaboratedSection(APIDiff diff, StringBuilder sb, Appendable out) throws IOException {
         sb.append(ANSI_CYAN).append(ANSI_BLACK_BACKGROUND).append(LINE + "\n\n\n");
         sb.append("The Elaborated Compliance Report\n\n");
         sb.append(LINE).append("\n\n").append(ANSI_RESET).append("\n\n");
@@ -242,6 +259,7 @@ public class ConsoleRender implements OutputRender {
                 buildObservations(sb, oprDiff);
             }
             sb.append("\n\n\n");
+            Formatter.flush(sb, out);
         }
     }
 
@@ -1,5 +1,7 @@
 package dk.hoejgaard.openapi.diff.output;
 
+import java.io.IOException;
+
 /**
  * a set of very specific formatting utilities for the renders
  */
@@ -38,6 +40,16 @@ class Formatter {
         return result;
     }
 
+    /**
+     * moves the part of the report rendered so far to the output, which keeps only a part of the report in memory at any time
+     * @param sb the part of the report rendered so far
+     * @param out where the report is written
+     */
+    static void flush(StringBuilder sb, Appendable out) throws IOException {
+        out.append(sb);
+        sb.setLength(0);
+    }
+
     private static String toUpperCamelCase(String input) {
         String[] words = input.trim().split("\\W");
         for (String word : words) {
@@ -1,5 +1,6 @@
 package dk.hoejgaard.openapi.diff.output;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -54,114 +55,140 @@ public class HtmlRender implements OutputRender {
      * @return a complete rendered report
      */
     public String render(APIDiff diff) {
-        ContainerTag addedEndpoints = addedEndpoints(diff);
-        ContainerTag removedEndpoints = removedEndpoints(diff);
-        ContainerTag changedEndpoints = changedEndpoints(diff);
-        ContainerTag elaboratedChangedResources = elaboratedChangedResources(diff);
-        ContainerTag nonCompliantResources = nonCompliantEndpoints(diff);
-
-        ContainerTag html = html().attr("lang", "en").with(
-            head().with(
-                meta().withCharset("utf-8"),
-                title(title),
-                link().withRel("shortcut icon")
-                    .withType("image/png")
-                    .withHref("https://www.openapis.org/wp-content/uploads/2016/11/favicon.png"),
-                style().withText(inlinedStyle)
-            ),
-            body().with(
-                header().with(h1(title)),
-                header().with(h2(subTitle).withClass("subtitle")),
-                div().withClass("intro").with(
-                    p("The report layout uses three sections: short, elaborate and compliance"),
-                    p("The reports shows the added endpoints, the removed and the changed endpoints on a short form."),
-                    p("The changed endpoints are succeeding that presented in a more elaborate form")
-                ),
-                p("The syntax used is:").withClass("syntaxheader"),
-                div().with(
-                    p().with(span(" \" (+) \" means added.")),
-                    p().with(span(" \" (-) \" means removed.")),
-                    p().with(span(" \" (@) \" means altered.")),
-                    p().with(span(" \" (!) \" means issue found in Existing API.")),
-                    p().with(span(" \" (>) \" means issues found in the New API.")),
-                    p().with(span(" \" (C) \" means (Compliance)."))).withClass("syntax"),
-                div().with(
-                    p().with(span(" The APIs compared are:")),
-                    p().with(span(" \" (!) \" " + reference)),
-                    p().with(span(" \" (>) \" " + candidate))).withClass("syntax"),
-                div().withClass("overview").with(
-                    div().with(h2("Added Endpoints"), hr(), addedEndpoints),
-                    div().with(h2("Removed Endpoints"), hr(), removedEndpoints),
-                    div().with(h2("Changed or Observable Endpoints"), hr(), changedEndpoints),
-                    div().with(h2("The Elaborated Report for Changed or Observable Endpoints").withClass("section"),
-                        hr(), elaboratedChangedResources),
-                    div().with(h2("The Elaborated Compliance Report for Changed or Observable Endpoints").withClass("section"),
-                        hr(), nonCompliantResources)
-                )
-            )
-        );
+        StringBuilder sb = new StringBuilder();
+        try {
+            render(diff, sb);
+        } catch (IOException e) {
+            throw new RuntimeException("could not render the html report", e);
+        }
+        return sb.toString();
+    }
 
-        return document().render() + html.render();
+    /**
+     * The report is written section by section, the tags enclosing the sections are written as they are opened and closed and
+     * only the tags for a single endpoint are built at a time.
+     *
+     * @param diff the difference report containing the comparison between the existing and the future candidate API
+     * @param out  where the rendered report is written
+     */
+    public void render(APIDiff diff, Appendable out) throws IOException {
+        ContainerTag html = html().attr("lang", "en");
+        ContainerTag body = body();
+        ContainerTag overview = div().withClass("overview");
+        out.append(document().render());
+        open(html, out);
+        head().with(
+            meta().withCharset("utf-8"),
+            title(title),
+            link().withRel("shortcut icon")
+                .withType("image/png")
+                .withHref("https://www.openapis.org/wp-content/uploads/2016/11/favicon.png"),
+            style().withText(inlinedStyle)
+        ).render(out);
+        open(body, out);
+        header().with(h1(title)).render(out);
+        header().with(h2(subTitle).withClass("subtitle")).render(out);
+        div().withClass("intro").with(
+            p("The report layout uses three sections: short, elaborate and compliance"),
+            p("The reports shows the added endpoints, the removed and the changed endpoints on a short form."),
+            p("The changed endpoints are succeeding that presented in a more elaborate form")
+        ).render(out);
+        p("The syntax used is:").withClass("syntaxheader").render(out);
+        div().with(
+            p().with(span(" \" (+) \" means added.")),
+            p().with(span(" \" (-) \" means removed.")),
+            p().with(span(" \" (@) \" means altered.")),
+            p().with(span(" \" (!) \" means issue found in Existing API.")),
+            p().with(span(" \" (>) \" means issues found in the New API.")),
+            p().with(span(" \" (C) \" means (Compliance)."))).withClass("syntax").render(out);
+        div().with(
+            p().with(span(" The APIs compared are:")),
+            p().with(span(" \" (!) \" " + reference)),
+            p().with(span(" \" (>) \" " + candidate))).withClass("syntax").render(out);
+        open(overview, out);
+        section(h2("Added Endpoints"), out);
+        endpoints(diff.getAddedEndpoints(), "no observations of added endpoints", out);
+        close(div(), out);
+        section(h2("Removed Endpoints"), out);
+        endpoints(diff.getMissingEndpoints(), "no observations of removed endpoints", out);
+        close(div(), out);
+        section(h2("Changed or Observable Endpoints"), out);
+        endpoints(diff.getChangedEndpoints(), "no observations of changed endpoints", out);
+        close(div(), out);
+        section(h2("The Elaborated Report for Changed or Observable Endpoints").withClass("section"), out);
+        elaboratedChangedResources(diff, out);
+        close(div(), out);
+        section(h2("The Elaborated Compliance Report for Changed or Observable Endpoints").withClass("section"), out);
+        nonCompliantEndpoints(diff, out);
+        close(div(), out);
+        close(overview, out);
+        close(body, out);
+        close(html, out);
     }
 
-    private ContainerTag addedEndpoints(APIDiff diff) {
-        List<Endpoint> added = diff.getAddedEndpoints();
-        if (added.isEmpty()) {
-            return ol().with(li().withClass("noobservation").withText("no observations of added endpoints"));
-        }
-        return buildEndpointTabular(added);
+    /**
+     * writes the opening tag, the tag is rendered without content and the closing tag is left out
+     */
+    private static void open(ContainerTag tag, Appendable out) throws IOException {
+        String rendered = tag.render();
+        out.append(rendered, 0, rendered.length() - tag.getTagName().length() - 3);
     }
 
-    private ContainerTag buildEndpointTabular(List<Endpoint> added) {
-        ContainerTag t = table().withClass("tabular");
-        for (Endpoint endpoint : added) {
-            String verb = endpoint.getVerb().toString();
-            t.with(
-                tr().with(
-                    td().withClass("verb").with(span(verb).withClass(verb)),
-                    td().withText(endpoint.getPathUrl() + " ").withClass("observation"),
-                    td().with(span(endpoint.getSummary()).withClass("summary"))
-                ));
-        }
-        return t;
+    private static void close(ContainerTag tag, Appendable out) throws IOException {
+        out.append("</").append(tag.getTagName()).append('>');
     }
 
-    private ContainerTag removedEndpoints(APIDiff diff) {
-        List<Endpoint> missing = diff.getMissingEndpoints();
-        if (missing.isEmpty()) {
-            return ol().with(li().withClass("noobservation").withText("no observations of removed endpoints"));
-        }
-        return buildEndpointTabular(missing);
+    private static void section(ContainerTag heading, Appendable out) throws IOException {
+        open(div(), out);
+        heading.render(out);
+        hr().render(out);
     }
 
-    private ContainerTag changedEndpoints(APIDiff diff) {
-        List<Endpoint> changed = diff.getChangedEndpoints();
-        if (changed.isEmpty()) {
-            return ol().with(li().withClass("noobservation").withText("no observations of changed endpoints"));
+    private void endpoints(List<Endpoint> endpoints, String noObservation, Appendable out) throws IOException {
+        if (endpoints.isEmpty()) {
+            ol().with(li().withClass("noobservation").withText(noObservation)).render(out);
+            return;
+        }
+        ContainerTag table = table().withClass("tabular");
+        open(table, out);
+        for (Endpoint endpoint : endpoints) {
+            endpointRow(endpoint).render(out);
         }
-        return buildEndpointTabular(changed);
+        close(table, out);
     }
 
-    private ContainerTag elaboratedChangedResources(APIDiff diff) {
+    private ContainerTag endpointRow(Endpoint endpoint) {
+        String verb = endpoint.getVerb().toString();
+        return tr().with(
+            td().withClass("verb").with(span(verb).withClass(verb)),
+            td().withText(endpoint.getPathUrl() + " ").withClass("observation"),
+            td().with(span(endpoint.getSummary()).withClass("summary"))
+        );
+    }
+
+    private void elaboratedChangedResources(APIDiff diff, Appendable out) throws IOException {
         List<ResourceDiff> ec = diff.getChangedResourceDiffs();
         if (ec.isEmpty()) {
-            return ol().with(li().withClass("noobservation").withText("no elaborate observation of changed endpoints"));
+            ol().with(li().withClass("noobservation").withText("no elaborate observation of changed endpoints")).render(out);
+            return;
         }
-        ContainerTag div = div();
         for (ResourceDiff resource : ec) {
-            Map<HttpMethod, OperationDiff> changedOperations = resource.getChangedOperations();
-            if (changedOperations.isEmpty()) {
-                return ol().with(li().withClass("noobservation").withText("no observations of changed operations(verbs)"));
+            if (resource.getChangedOperations().isEmpty()) {
+                ol().with(li().withClass("noobservation").withText("no observations of changed operations(verbs)")).render(out);
+                return;
             }
-            ContainerTag resourceContainer = resourceContainer(changedOperations, resource);
-            div.with(
-                ol().with(li().withClass("distance")
-                    .with(span("Operations for:").withClass("operations"))
-                    .withText(" - ")
-                    .with(span(resource.getPathUrl()).withClass("operations"))),
-                div().with(resourceContainer));
         }
-        return div;
+        ContainerTag div = div();
+        open(div, out);
+        for (ResourceDiff resource : ec) {
+            ContainerTag resourceContainer = resourceContainer(resource.getChangedOperations(), resource);
+            ol().with(li().withClass("distance")
+                .with(span("Operations for:").withClass("operations"))
+                .withText(" - ")
+                .with(span(resource.getPathUrl()).withClass("operations"))).render(out);
+            div().with(resourceContainer).render(out);
+        }
+        close(div, out);
     }
 
     private ContainerTag resourceContainer(Map<HttpMethod, OperationDiff> changedOperations, ResourceDiff resource) {
@@ -235,23 +262,24 @@ public class HtmlRender implements OutputRender {
         return ol;
     }
 
-    private ContainerTag nonCompliantEndpoints(APIDiff diff) {
+    private void nonCompliantEndpoints(APIDiff diff, Appendable out) throws IOException {
         List<ResourceDiff> ec = diff.getAllDiffs();
         if (ec.isEmpty()) {
-            return ol().with(li().withClass("noobservation").withText("no compliance observations"));
+            ol().with(li().withClass("noobservation").withText("no compliance observations")).render(out);
+            return;
         }
         ContainerTag div = div();
+        open(div, out);
         for (ResourceDiff resource : ec) {
             Map<HttpMethod, OperationDiff> changedOperations = resource.getChangedOperations();
             ContainerTag resourceContainer = elaboratedResourceContainer(changedOperations, resource);
-            div.with(
-                ol().with(li()
-                    .with(span(resource.getPathUrl()).withClass("operations"))
-                    .withText(" - ")
-                    .with(span("operations:").withClass("operations"))),
-                div().with(resourceContainer));
+            ol().with(li()
+                .with(span(resource.getPathUrl()).withClass("operations"))
+                .withText(" - ")
+                .with(span("operations:").withClass("operations"))).render(out);
+            div().with(resourceContainer).render(out);
         }
-        return div;
+        close(div, out);
     }
 
     private ContainerTag elaboratedResourceContainer(Map<HttpMethod, OperationDiff> changedOperations, ResourceDiff resource) {
@@ -0,0 +1,173 @@
+package dk.hoejgaard.openapi.diff.output;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import dk.hoejgaard.openapi.diff.APIDiff;
+import dk.hoejgaard.openapi.diff.compare.OperationDiff;
+import dk.hoejgaard.openapi.diff.compare.ResourceDiff;
+import dk.hoejgaard.openapi.diff.model.Endpoint;
+import dk.hoejgaard.openapi.diff.model.Finding;
+import dk.hoejgaard.openapi.diff.model.Findings;
+import dk.hoejgaard.openapi.diff.model.Severity;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders output from a compatibility into a JSON format intended for tools consuming the result
+ * <p>
+ * The report contains the added, removed and changed endpoints and for every changed resource the added and removed
+ * operations and the findings of each changed operation grouped by severity, e.g. "breaking", "potentially_breaking",
+ * "change", "flaw" and "existing_flaw". Operations that have not changed but are not compliant, e.g. operations on added
+ * paths, are listed with their findings as non-compliant operations. The report is written while the result is visited and
+ * is not held in memory.
+ */
+public class JsonRender implements OutputRender {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static Logger logger = LoggerFactory.getLogger(JsonRender.class);
+    private final String title;
+    private final String subTitle;
+    private final String reference;
+    private final String candidate;
+
+    /**
+     * @param title the title of the report
+     * @param subTitle the subtitle of the report
+     * @param reference the API specification for the existing API
+     * @param candidate the API specification for the future candidate API
+     */
+    public JsonRender(String title, String subTitle, String reference, String candidate) {
+        this.title = title;
+        this.subTitle = subTitle;
+        this.reference = reference;
+        this.candidate = candidate;
+        logger.info("Rendering a JSON Report for API differences having the title: {} and subtitle: {} for reference API: {} " +
+            "and comparing to future API: {}", new Object[] {title, subTitle, reference, candidate});
+    }
+
+    /**
+     * @param diff the difference report containing the comparison between the existing and the future candidate API
+     * @return a complete rendered report
+     */
+    public String render(APIDiff diff) {
+        StringWriter sw = new StringWriter();
+        try {
+            render(diff, sw);
+        } catch (IOException e) {
+            throw new RuntimeException("could not render the json report", e);
+        }
+        return sw.toString();
+    }
+
+    /**
+     * @param diff the difference report containing the comparison between the existing and the future candidate API
+     * @param out  where the rendered report is written, one finding at a time
+     */
+    public void render(APIDiff diff, Appendable out) throws IOException {
+        try (JsonGenerator json = FACTORY.createGenerator(AppendableWriter.of(out))) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeStringField("title", title);
+            json.writeStringField("subTitle", subTitle);
+            json.writeStringField("reference", reference);
+            json.writeStringField("candidate", candidate);
+            writeEndpoints(json, "addedEndpoints", diff.getAddedEndpoints());
+            writeEndpoints(json, "removedEndpoints", diff.getMissingEndpoints());
+            writeEndpoints(json, "changedEndpoints", diff.getChangedEndpoints());
+            json.writeArrayFieldStart("resources");
+            for (ResourceDiff resource : diff.getAllDiffs()) {
+                writeResource(json, resource);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeEndpoints(JsonGenerator json, String name, List<Endpoint> endpoints) throws IOException {
+        json.writeArrayFieldStart(name);
+        for (Endpoint endpoint : endpoints) {
+            json.writeStartObject();
+            json.writeStringField("verb", endpoint.getVerb().toString());
+            json.writeStringField("path", endpoint.getPathUrl());
+            json.writeStringField("summary", endpoint.getSummary());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private static void writeResource(JsonGenerator json, ResourceDiff resource) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("path", resource.getPathUrl());
+        writeVerbs(json, "addedOperations", resource.getNewOperations());
+        writeVerbs(json, "removedOperations", resource.getMissingOperations());
+        Map<HttpMethod, OperationDiff> changed = resource.getChangedOperations();
+        json.writeArrayFieldStart("changedOperations");
+        for (Map.Entry<HttpMethod, OperationDiff> entry : changed.entrySet()) {
+            writeOperation(json, entry.getKey(), entry.getValue());
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("nonCompliantOperations");
+        for (Map.Entry<HttpMethod, OperationDiff> entry : resource.getNonCompliantOperations().entrySet()) {
+            if (!changed.containsKey(entry.getKey())) {
+                writeOperation(json, entry.getKey(), entry.getValue());
+            }
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private static void writeOperation(JsonGenerator json, HttpMethod verb, OperationDiff operation) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("verb", verb.toString());
+        json.writeBooleanField("compliant", operation.isCompliant());
+        json.writeBooleanField("breaking", operation.isBroke());
+        json.writeBooleanField("potentiallyBreaking", operation.isPotentiallyBroke());
+        writeFindings(json, operation.getFindings());
+        json.writeEndObject();
+    }
+
+    private static void writeVerbs(JsonGenerator json, String name, Map<HttpMethod, Operation> operations) throws IOException {
+        json.writeArrayFieldStart(name);
+        for (HttpMethod verb : operations.keySet()) {
+            json.writeString(verb.toString());
+        }
+        json.writeEndArray();
+    }
+
+    private static void writeFindings(JsonGenerator json, Findings findings) throws IOException {
+        json.writeObjectFieldStart("findings");
+        for (Severity severity : Severity.values()) {
+            json.writeArrayFieldStart(severity.name().toLowerCase(Locale.ROOT));
+            for (Finding finding : findings.get(severity)) {
+                json.writeStartObject();
+                json.writeStringField("location", finding.getLocation());
+                json.writeStringField("message", finding.getMessage());
+                json.writeStringField("rule", finding.getRule());
+                if (finding.getExisting() != null) {
+                    json.writeStringField("existing", String.valueOf(finding.getExisting()));
+                }
+                if (finding.getFuture() != null) {
+                    json.writeStringField("future", String.valueOf(finding.getFuture()));
+                }
+                if (!finding.isChange() && finding.getValues().length > 0) {
+                    json.writeArrayFieldStart("values");
+                    for (Object value : finding.getValues()) {
+                        json.writeString(String.valueOf(value));
+                    }
+                    json.writeEndArray();
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+}
@@ -1,5 +1,6 @@
 package dk.hoejgaard.openapi.diff.output;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -54,6 +55,20 @@ public class MarkdownRender implements OutputRender {
      * @return a complete rendered report
      */
     public String render(APIDiff diff) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            render(diff, sb);
+        } catch (IOException e) {
+            throw new RuntimeException("could not render the markdown report", e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param diff the difference report containing the comparison between the existing and the future candidate API
+     * @param out  where the rendered report is written, one endpoint at a time
+     */
+    public void render(APIDiff diff, Appendable out) throws IOException {
         StringBuilder sb = new StringBuilder();
         sb.append(H1).append(title).append("\n");
         sb.append(H2).append(subTitle).append("\n").append("\n\n");
@@ -72,10 +87,11 @@ public class MarkdownRender implements OutputRender {
         sb.append(" - ` ! ` ").append(reference).append("\n");
         sb.append(" - ` > ` ").append(candidate).append("\n\n");
         buildShortPart(diff, sb);
-        buildElaboratedChanges(diff, sb);
-        buildElaboratedCompliance(diff, sb);
+        Formatter.flush(sb, out);
+        buildElaboratedChanges(diff, sb, out);
+        buildElaboratedCompliance(diff, sb, out);
         sb.append("\n");
-        return sb.toString();
+        Formatter.flush(sb, out);
     }
 
 
@@ -133,7 +149,7 @@ public class MarkdownRender implements OutputRender {
         sb.append("\n\n");
     }
 
-    private void buildElaboratedChanges(APIDiff diff, StringBuilder sb) {
+    private void buildElaboratedChanges(APIDiff diff, StringBuilder sb, Appendable out) throws IOException {
         List<ResourceDiff> changed = diff.getChangedResourceDiffs();
         sb.append(H2).append("The Elaborated Report for Changed Endpoints \n");
         if (changed.isEmpty()) {
@@ -151,6 +167,7 @@ public class MarkdownRender implements OutputRender {
                 buildPotentiallyBreaking(sb, entry.getValue(), H4);
             }
             sb.append("\n\n\n");
+            Formatter.flush(sb, out);
         }
         sb.append("\n\n");
     }
@@ -206,7 +223,7 @@ public class MarkdownRender implements OutputRender {
         }
     }
 
-    private void buildElaboratedCompliance(APIDiff diff, StringBuilder sb) {
+    private void buildElaboratedCompliance(APIDiff diff, StringBuilder sb, Appendable out) throws IOException {
         List<ResourceDiff> nonCompliant = diff.getAllDiffs();
         sb.append(H2).append("The Elaborated Compliance Report\n\n");
         for (ResourceDiff resource : nonCompliant) {
@@ -226,6 +243,7 @@ public class MarkdownRender implements OutputRender {
                 buildObservations(sb, oprDiff);
             }
             sb.append("\n\n\n");
+            Formatter.flush(sb, out);
         }
     }
 
@@ -1,12 +1,13 @@
 package dk.hoejgaard.openapi.diff.output;
 
+import java.io.IOException;
 
 import dk.hoejgaard.openapi.diff.APIDiff;
 
 /**
  * Renders the output from an API difference report into a given format
  */
-interface OutputRender {
+public interface OutputRender {
 
     /**
      * @param diff the difference report containing the comparison between the existing and the future candidate API
@@ -14,4 +15,13 @@ interface OutputRender {
      */
     String render(APIDiff diff);
 
+    /**
+     * renders the report while writing it, which allows large reports to be written without holding the report in memory
+     *
+     * @param diff the difference report containing the comparison between the existing and the future candidate API
+     * @param out  where the rendered report is written
+     * @throws IOException if the report could not be written
+     */
+    void render(APIDiff diff, Appendable out) throws IOException;
+
 }
@@ -0,0 +1,136 @@
+package dk.hoejgaard.openapi.diff.output;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a rendered report while it is being rendered, the report is written without the leading and trailing whitespace and
+ * ended by a single newline, which makes the written report equal to the trimmed report followed by a newline.
+ * <p>
+ * The colour codes used in the console report may be left out, which gives the plain text form of the console report. The
+ * unfiltered report can at the same time be written to a copy, e.g. to keep the console form of the report as well.
+ * <p>
+ * Only the trailing whitespace seen since the last non whitespace character is held back, the report itself is never held in
+ * memory.
+ */
+public final class ReportWriter extends Writer {
+
+    private static final char ESC = '\u001B';
+
+    private final Writer out;
+    private final boolean plain;
+    private final Writer copy;
+    private final StringBuilder whitespace = new StringBuilder();
+    private final StringBuilder escape = new StringBuilder();
+    private final StringBuilder chunk = new StringBuilder();
+    private boolean started;
+
+    /**
+     * @param out   where the report is written
+     * @param plain if true the console colour codes are left out of the report
+     */
+    public ReportWriter(Writer out, boolean plain) {
+        this(out, plain, null);
+    }
+
+    /**
+     * @param out   where the report is written
+     * @param plain if true the console colour codes are left out of the report
+     * @param copy  where the unfiltered and untrimmed report is written as well, may be null
+     */
+    public ReportWriter(Writer out, boolean plain, Writer copy) {
+        this.out = out;
+        this.plain = plain;
+        this.copy = copy;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        if (copy != null) {
+            copy.write(cbuf, off, len);
+        }
+        for (int i = off; i < off + len; i++) {
+            filter(cbuf[i]);
+        }
+        out.append(chunk);
+        chunk.setLength(0);
+    }
+
+    /**
+     * the colour codes are the escape character followed by '[', one or two digits and 'm', any other sequence is written as is.
+     */
+    private void filter(char c) {
+        if (!plain) {
+            trim(c);
+            return;
+        }
+        if (escape.length() == 0) {
+            if (c == ESC) {
+                escape.append(c);
+            } else {
+                trim(c);
+            }
+            return;
+        }
+        int digits = escape.length() - 2;
+        if (escape.length() == 1 ? c == '[' : (c >= '0' && c <= '9' && digits < 2)) {
+            escape.append(c);
+        } else if (c == 'm' && digits > 0) {
+            escape.setLength(0);
+        } else {
+            for (int i = 0; i < escape.length(); i++) {
+                trim(escape.charAt(i));
+            }
+            escape.setLength(0);
+            filter(c);
+        }
+    }
+
+    private void trim(char c) {
+        if (c <= ' ') {
+            if (started) {
+                whitespace.append(c);
+            }
+            return;
+        }
+        if (whitespace.length() > 0) {
+            chunk.append(whitespace);
+            whitespace.setLength(0);
+        }
+        started = true;
+        chunk.append(c);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+        if (copy != null) {
+            copy.flush();
+        }
+    }
+
+    /**
+     * writes what remains of an unfinished escape sequence and ends the report with a newline, the underlying writers are
+     * closed as well.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            for (int i = 0; i < escape.length(); i++) {
+                trim(escape.charAt(i));
+            }
+            escape.setLength(0);
+            chunk.append('\n');
+            out.append(chunk);
+            chunk.setLength(0);
+        } finally {
+            try {
+                out.close();
+            } finally {
+                if (copy != null) {
+                    copy.close();
+                }
+            }
+        }
+    }
+}
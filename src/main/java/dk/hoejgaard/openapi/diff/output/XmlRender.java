@@ -1,37 +1,153 @@
 package dk.hoejgaard.openapi.diff.output;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import dk.hoejgaard.openapi.diff.APIDiff;
+import dk.hoejgaard.openapi.diff.compare.OperationDiff;
+import dk.hoejgaard.openapi.diff.compare.ResourceDiff;
+import dk.hoejgaard.openapi.diff.model.Endpoint;
+import dk.hoejgaard.openapi.diff.model.Finding;
+import dk.hoejgaard.openapi.diff.model.Findings;
+import dk.hoejgaard.openapi.diff.model.Severity;
+import io.swagger.models.HttpMethod;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Renders output from a compatibility into a checkstyle xml format
- *
- * (this is not implemented yet - please indicate if you want that in a checkstyle format)
+ * <p>
+ * Every operation having findings is reported as a file named by the verb and the path of the operation, e.g. "GET /pets",
+ * and the findings are reported as errors using the checkstyle severities:
+ * <ul>
+ * <li>breaking changes and removed endpoints are reported as "error"</li>
+ * <li>potentially breaking changes are reported as "warning"</li>
+ * <li>design flaws in the future and the existing API are reported as "info"</li>
+ * </ul>
+ * Operations that have not changed but are not compliant, e.g. operations on added paths, are reported by their design flaws.
+ * The report is written while the findings are visited and is not held in memory.
  */
-public class XmlRender  implements OutputRender {
+public class XmlRender implements OutputRender {
+    private static final String SOURCE = "openapi-diff.";
+    private static final Severity[] REPORTED = {Severity.BREAKING, Severity.POTENTIALLY_BREAKING, Severity.FLAW, Severity.EXISTING_FLAW};
+    private static final Severity[] FLAWS = {Severity.FLAW, Severity.EXISTING_FLAW};
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newInstance();
     private static Logger logger = LoggerFactory.getLogger(XmlRender.class);
+    private final String version;
 
     /**
      * @param title the title of the report
      * @param subTitle the subtitle of the report
      * @param reference the API specification for the existing API
      * @param candidate the API specification for the future candidate API
-     * @param schema the schema used for the XML report
+     * @param schema the version of the checkstyle format written as the version of the XML report
      */
     public XmlRender(String title, String subTitle, String reference, String candidate, String schema) {
-        logger.info("the xml renderer has not been implemented yet and thus the report with title: {} and subtitle: {} could not " +
-                "be created for comparing the existing API {} with the future {} using the schema {} ",
-            new Object[]{title, subTitle, reference, candidate, schema});
+        this.version = schema;
+        logger.info("Rendering a checkstyle XML Report for API differences having the title: {} and subtitle: {} for reference API: {} " +
+            "and comparing to future API: {} using the schema {}", new Object[] {title, subTitle, reference, candidate, schema});
     }
 
     /**
      * @param diff the difference report containing the comparison between the existing and the future candidate API
-     * @return a complete rendered report (not implemented currently)
+     * @return a complete rendered report
      */
     public String render(APIDiff diff) {
-        String s = "The xml checkstyle renderer has not been implemented yet";
-        logger.info(s);
-        return s;
+        StringWriter sw = new StringWriter();
+        try {
+            render(diff, sw);
+        } catch (IOException e) {
+            throw new RuntimeException("could not render the xml report", e);
+        }
+        return sw.toString();
+    }
+
+    /**
+     * @param diff the difference report containing the comparison between the existing and the future candidate API
+     * @param out  where the rendered report is written, one finding at a time
+     */
+    public void render(APIDiff diff, Appendable out) throws IOException {
+        try {
+            XMLStreamWriter xml = FACTORY.createXMLStreamWriter(AppendableWriter.of(out));
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("checkstyle");
+            xml.writeAttribute("version", version);
+            xml.writeCharacters("\n");
+            for (ResourceDiff resource : diff.getAllDiffs()) {
+                Map<HttpMethod, OperationDiff> changed = resource.getChangedOperations();
+                for (Map.Entry<HttpMethod, OperationDiff> entry : changed.entrySet()) {
+                    writeOperation(xml, entry.getKey() + " " + resource.getPathUrl(), entry.getValue().getFindings(), REPORTED);
+                }
+                for (Map.Entry<HttpMethod, OperationDiff> entry : resource.getNonCompliantOperations().entrySet()) {
+                    if (!changed.containsKey(entry.getKey())) {
+                        writeOperation(xml, entry.getKey() + " " + resource.getPathUrl(), entry.getValue().getFindings(), FLAWS);
+                    }
+                }
+            }
+            for (Endpoint endpoint : diff.getMissingEndpoints()) {
+                xml.writeStartElement("file");
+                xml.writeAttribute("name", endpoint.getVerb() + " " + endpoint.getPathUrl());
+                xml.writeCharacters("\n");
+                writeError(xml, "error", "endpoint.removed", "the endpoint was removed", "removed");
+                xml.writeEndElement();
+                xml.writeCharacters("\n");
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("could not write the xml report", e);
+        }
+    }
+
+    private static void writeOperation(XMLStreamWriter xml, String name, Findings findings, Severity[] reported)
+        throws XMLStreamException {
+        boolean observed = false;
+        for (Severity severity : reported) {
+            observed |= !findings.isEmpty(severity);
+        }
+        if (!observed) {
+            return;
+        }
+        xml.writeStartElement("file");
+        xml.writeAttribute("name", name);
+        xml.writeCharacters("\n");
+        for (Severity severity : reported) {
+            String checkstyleSeverity = checkstyleSeverity(severity);
+            String source = severity.name().toLowerCase(Locale.ROOT).replace('_', '.');
+            for (Finding finding : findings.get(severity)) {
+                writeError(xml, checkstyleSeverity, finding.getLocation(), finding.getMessage(), source);
+            }
+        }
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+    }
+
+    private static void writeError(XMLStreamWriter xml, String severity, String location, String message, String source)
+        throws XMLStreamException {
+        xml.writeEmptyElement("error");
+        xml.writeAttribute("line", "0");
+        xml.writeAttribute("severity", severity);
+        xml.writeAttribute("message", location + ": " + message);
+        xml.writeAttribute("source", SOURCE + source);
+        xml.writeCharacters("\n");
+    }
+
+    private static String checkstyleSeverity(Severity severity) {
+        switch (severity) {
+            case BREAKING:
+                return "error";
+            case POTENTIALLY_BREAKING:
+                return "warning";
+            default:
+                return "info";
+        }
     }
 }
@@ -0,0 +1,229 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dk.hoejgaard.openapi.diff.compare.ResourceDiff;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import dk.hoejgaard.openapi.diff.model.Endpoint;
+import dk.hoejgaard.openapi.diff.output.ConsoleRender;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.parser.SwaggerParser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class APIDiffTest {
+
+    private static final String EXISTING = "./sample-api/elaborate_example_v1.json";
+    private static final String FUTURE = "./sample-api/elaborate_example_v3f.json";
+
+    @Test
+    public void testParallelComparisonEqualsSequential() {
+        APIDiff sequential = new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            APIDiff parallel = new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE, executor);
+            assertFalse(parallel.getAllDiffs().isEmpty());
+            assertEquals(urls(sequential.getAllDiffs()), urls(parallel.getAllDiffs()));
+            assertEquals(endpoints(sequential.getAddedEndpoints()), endpoints(parallel.getAddedEndpoints()));
+            assertEquals(endpoints(sequential.getMissingEndpoints()), endpoints(parallel.getMissingEndpoints()));
+            assertEquals(endpoints(sequential.getChangedEndpoints()), endpoints(parallel.getChangedEndpoints()));
+            assertEquals(render(sequential), render(parallel));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentReadingEqualsSequential() {
+        APIDiff sequential = new APIDiff(EXISTING, FUTURE, Diff.BREAKING, Maturity.LOW, Versions.SINGLE);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            APIDiff concurrent = new APIDiff(EXISTING, FUTURE, Diff.BREAKING, Maturity.LOW, Versions.SINGLE, executor);
+            assertEquals(render(sequential), render(concurrent));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testConcurrentReadingOfMissingAPI() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            new APIDiff(EXISTING, "./sample-api/non-existing.json", Diff.ALL, Maturity.FULL, Versions.SINGLE, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParsedAPIsEqualsRead() {
+        Swagger existing = new SwaggerParser().read(EXISTING);
+        Swagger future = new SwaggerParser().read(FUTURE);
+        String expected = render(new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE));
+        assertEquals(expected, render(new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE)));
+        assertEquals(expected, render(new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE)));
+    }
+
+    @Test
+    public void testPhasesAreMeasured() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            APIDiff diff = new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE, executor);
+            DiffMetrics metrics = diff.getMetrics();
+            assertTrue(metrics.get(DiffMetrics.Phase.PARSE_EXISTING).getWallNanos() > 0);
+            assertTrue(metrics.get(DiffMetrics.Phase.PARSE_FUTURE).getWallNanos() > 0);
+            assertTrue(metrics.get(DiffMetrics.Phase.COMPARE_RESOURCES).getWallNanos() > 0);
+            assertTrue(metrics.get(DiffMetrics.Phase.COMPARE_RESOURCES).getAllocatedBytes() != 0);
+            assertEquals(0, metrics.get(DiffMetrics.Phase.RENDER).getWallNanos());
+            assertTrue(metrics.getPaths() > 0);
+            assertTrue(metrics.getOperations() >= metrics.getPaths());
+            assertTrue(metrics.getRefs() > 0);
+            List<DiffMetrics.EndpointCost> slowest = metrics.getSlowestEndpoints(3);
+            assertEquals(3, slowest.size());
+            assertTrue(slowest.get(0).getElapsedNanos() >= slowest.get(2).getElapsedNanos());
+            assertTrue(metrics.getSlowestEndpoints().stream().anyMatch(endpoint -> endpoint.getElementsVisited() > 0));
+            assertTrue(diff.getAllDiffs().stream().allMatch(resource -> resource.getElapsedNanos() > 0));
+            assertTrue(metrics.toString().contains("slowest endpoints"));
+        } finally {
+            executor.shutdown();
+        }
+        DiffMetrics parsed = new APIDiff(new SwaggerParser().read(EXISTING), new SwaggerParser().read(FUTURE),
+            Diff.ALL, Maturity.FULL, Versions.SINGLE).getMetrics();
+        assertEquals(0, parsed.get(DiffMetrics.Phase.PARSE_EXISTING).getWallNanos());
+    }
+
+    @Test
+    public void testIncrementalComparisonEqualsFull() {
+        Swagger existing = new SyntheticAPIs().paths(30).refDepth(4).build();
+        Swagger future = SyntheticAPIs.mutate(existing, 7, SyntheticAPIs.Mutation.values());
+        APIDiff first = new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE, null, DiffSnapshot.EMPTY);
+        assertEquals(0, first.getMetrics().getReusedPaths());
+        assertEquals(30, first.getSnapshot().size());
+        assertEquals(render(new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE)), render(first));
+
+        Swagger edited = SyntheticAPIs.mutate(existing, 7, SyntheticAPIs.Mutation.values());
+        edited.getDefinitions().get("R5L3").getProperties().put("added", new StringProperty());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            APIDiff incremental = new APIDiff(existing, edited, Diff.ALL, Maturity.FULL, Versions.SINGLE, executor,
+                first.getSnapshot());
+            assertEquals(29, incremental.getMetrics().getReusedPaths());
+            assertEquals(1, incremental.getMetrics().getPaths());
+            assertEquals(30, incremental.getSnapshot().size());
+            assertEquals(render(new APIDiff(existing, edited, Diff.ALL, Maturity.FULL, Versions.SINGLE)), render(incremental));
+        } finally {
+            executor.shutdown();
+        }
+
+        APIDiff otherSettings = new APIDiff(existing, edited, Diff.BREAKING, Maturity.FULL, Versions.SINGLE, null,
+            first.getSnapshot());
+        assertEquals(0, otherSettings.getMetrics().getReusedPaths());
+        assertNull(new APIDiff(existing, edited, Diff.ALL, Maturity.FULL, Versions.SINGLE).getSnapshot());
+    }
+
+    @Test
+    public void testIncrementalComparisonOfSampleAPIs() {
+        Swagger existing = new SwaggerParser().read(EXISTING);
+        Swagger future = new SwaggerParser().read(FUTURE);
+        String expected = render(new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE));
+        APIDiff first = new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE, null, DiffSnapshot.EMPTY);
+        APIDiff second = new APIDiff(new SwaggerParser().read(EXISTING), new SwaggerParser().read(FUTURE),
+            Diff.ALL, Maturity.FULL, Versions.SINGLE, null, first.getSnapshot());
+        assertEquals(expected, render(first));
+        assertEquals(expected, render(second));
+        assertEquals(first.getSnapshot().size(), second.getMetrics().getReusedPaths());
+        assertTrue(second.getMetrics().getSlowestEndpoints().isEmpty());
+    }
+
+    @Test
+    public void testFingerprintsOfExistingAPIAreKept() {
+        Swagger existing = new SyntheticAPIs().paths(10).refDepth(2).build();
+        Swagger future = SyntheticAPIs.mutate(existing, 3, SyntheticAPIs.Mutation.values());
+        DiffSnapshot first = new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE, null, DiffSnapshot.EMPTY)
+            .getSnapshot();
+        assertEquals(10, first.existingPaths(existing).size());
+        DiffSnapshot second = new APIDiff(existing, SyntheticAPIs.mutate(existing, 5, SyntheticAPIs.Mutation.values()),
+            Diff.ALL, Maturity.FULL, Versions.SINGLE, null, first).getSnapshot();
+        assertSame(first.existingPaths(existing), second.existingPaths(existing));
+        Swagger reread = new SyntheticAPIs().paths(10).refDepth(2).build();
+        assertNotSame(first.existingPaths(existing), first.existingPaths(reread));
+        assertEquals(first.existingPaths(existing), first.existingPaths(reread));
+    }
+
+    @Test
+    public void testOnlySlowestEndpointsAreKept() {
+        Swagger api = new SyntheticAPIs().paths(20).operations(3).build();
+        DiffMetrics metrics = new APIDiff(api, SyntheticAPIs.mutate(api, 2, SyntheticAPIs.Mutation.values()),
+            Diff.ALL, Maturity.FULL, Versions.SINGLE).getMetrics();
+        assertEquals(60, metrics.getOperations());
+        List<DiffMetrics.EndpointCost> slowest = metrics.getSlowestEndpoints();
+        assertEquals(DiffMetrics.SLOWEST_ENDPOINTS, slowest.size());
+        for (int i = 1; i < slowest.size(); i++) {
+            assertTrue(slowest.get(i - 1).getElapsedNanos() >= slowest.get(i).getElapsedNanos());
+        }
+    }
+
+    @Test
+    public void testNumberOfSlowestEndpointsKeptIsConfigured() throws Exception {
+        Swagger api = new SyntheticAPIs().paths(20).operations(3).build();
+        Path existing = Files.createTempFile("existing-", ".json");
+        Path future = Files.createTempFile("future-", ".json");
+        try {
+            SyntheticAPIs.write(api, existing);
+            SyntheticAPIs.write(SyntheticAPIs.mutate(api, 2, SyntheticAPIs.Mutation.values()), future);
+            DiffMetrics metrics = new APIDiff(existing.toString(), future.toString(), Diff.ALL, Maturity.FULL, Versions.SINGLE,
+                null, null, new DiffMetrics(25)).getMetrics();
+            assertEquals(25, metrics.getSlowestEndpointsKept());
+            assertEquals(25, metrics.getSlowestEndpoints().size());
+            assertEquals(5, metrics.getSlowestEndpoints(5).size());
+            try {
+                metrics.getSlowestEndpoints(26);
+                fail("a limit beyond the endpoints kept must not be capped silently");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("25"));
+            }
+        } finally {
+            Files.deleteIfExists(existing);
+            Files.deleteIfExists(future);
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testMissingParsedAPI() {
+        new APIDiff(new SwaggerParser().read(EXISTING), null, Diff.ALL, Maturity.FULL, Versions.SINGLE);
+    }
+
+    private static String render(APIDiff diff) {
+        return new ConsoleRender("title", "subtitle", EXISTING, FUTURE).render(diff);
+    }
+
+    private static String urls(List<ResourceDiff> diffs) {
+        StringBuilder sb = new StringBuilder();
+        for (ResourceDiff diff : diffs) {
+            sb.append(diff.getPathUrl()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String endpoints(List<Endpoint> endpoints) {
+        StringBuilder sb = new StringBuilder();
+        for (Endpoint endpoint : endpoints) {
+            sb.append(endpoint.getVerb()).append(' ').append(endpoint.getPathUrl()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dk.hoejgaard.openapi.diff.cache.LruSpecCache;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OpenAPIDiffBatchTest {
+
+    private static final Path FOLDER = Paths.get("./target/output/batch");
+
+    @Test
+    public void testComparisonsAreRunAndIndexed() throws Exception {
+        Path manifest = FOLDER.resolve("manifest.txt");
+        Files.createDirectories(FOLDER);
+        Files.write(manifest, Arrays.asList(
+            "# nightly comparisons",
+            "./sample-api/elaborate_example_v1.json ./sample-api/elaborate_example_v3f.json ./target/output/batch/v3f Report.md,Report.json,Report.md",
+            "",
+            "./sample-api/elaborate_example_v1.json ./sample-api/elaborate_example_v3g.json ./target/output/batch/v3g Report.md all full 1",
+            "./sample-api/does_not_exist.json ./sample-api/elaborate_example_v3g.json ./target/output/batch/none Report.md"
+        ), StandardCharsets.UTF_8);
+        List<OpenAPIDiffBatch.Job> jobs = OpenAPIDiffBatch.readManifest(manifest);
+        assertEquals(3, jobs.size());
+        assertEquals(Arrays.asList("Report.md", "Report.json"), jobs.get(0).getReportFileNames());
+
+        LruSpecCache cache = new LruSpecCache(8);
+        List<OpenAPIDiffBatch.Result> results = new OpenAPIDiffBatch(2, cache).run(jobs);
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isCompleted());
+        assertTrue(results.get(1).isCompleted());
+        assertFalse(results.get(2).isCompleted());
+        assertEquals(3, cache.size());
+        assertTrue(Files.exists(FOLDER.resolve("v3f/Report.json")));
+        assertTrue(Files.exists(FOLDER.resolve("v3g/Report.md")));
+
+        String[] single = {"./sample-api/elaborate_example_v1.json", "./sample-api/elaborate_example_v3f.json",
+            "./target/output/batch/single", "Report.md", "all", "hal", "1"};
+        OpenAPIDiff.main(single);
+        assertArrayEquals(Files.readAllBytes(FOLDER.resolve("single/Report.md")), Files.readAllBytes(FOLDER.resolve("v3f/Report.md")));
+
+        Path index = FOLDER.resolve("index.json");
+        OpenAPIDiffBatch.writeIndex(results, index);
+        JsonNode summary = new ObjectMapper().readTree(index.toFile());
+        assertEquals(3, summary.get("comparisons").asInt());
+        assertEquals(1, summary.get("failed").asInt());
+        assertEquals(results.get(0).getBreakingOperations(), summary.get("results").get(0).get("breakingOperations").asInt());
+        assertTrue(summary.get("results").get(2).has("error"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testManifestWithUnknownSettingsIsRejected() throws Exception {
+        Path manifest = FOLDER.resolve("wrong-manifest.txt");
+        Files.createDirectories(FOLDER);
+        Files.write(manifest, Arrays.asList(
+            "./sample-api/elaborate_example_v1.json ./sample-api/elaborate_example_v3f.json ./target/output/batch Report.md wrong"
+        ), StandardCharsets.UTF_8);
+        OpenAPIDiffBatch.readManifest(manifest);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testManifestWritingSameReportTwiceIsRejected() throws Exception {
+        Path manifest = FOLDER.resolve("twice-manifest.txt");
+        Files.createDirectories(FOLDER);
+        Files.write(manifest, Arrays.asList(
+            "./sample-api/elaborate_example_v1.json ./sample-api/elaborate_example_v3f.json ./target/output/batch/same Report.md",
+            "./sample-api/elaborate_example_v1.json ./sample-api/elaborate_example_v3g.json target/output/batch/same/ Report.md,Report.json"
+        ), StandardCharsets.UTF_8);
+        OpenAPIDiffBatch.readManifest(manifest);
+    }
+
+    @Test
+    public void testComparisonRunningOutOfStackFailsOnItsOwn() throws Exception {
+        Path nested = FOLDER.resolve("nested.json");
+        Files.createDirectories(FOLDER);
+        StringBuilder spec = new StringBuilder();
+        for (int i = 0; i < 500_000; i++) {
+            spec.append('[');
+        }
+        Files.write(nested, spec.toString().getBytes(StandardCharsets.UTF_8));
+        List<OpenAPIDiffBatch.Job> jobs = Arrays.asList(
+            new OpenAPIDiffBatch.Job(nested.toString(), "./sample-api/elaborate_example_v3f.json", "./target/output/batch/nested",
+                Arrays.asList("Report.md"), Diff.ALL, Maturity.HAL, Versions.SINGLE),
+            new OpenAPIDiffBatch.Job("./sample-api/elaborate_example_v1.json", "./sample-api/elaborate_example_v3f.json",
+                "./target/output/batch/beside", Arrays.asList("Report.md"), Diff.ALL, Maturity.HAL, Versions.SINGLE));
+        List<OpenAPIDiffBatch.Result> results = new OpenAPIDiffBatch(1, new LruSpecCache(8)).run(jobs);
+        assertFalse(results.get(0).isCompleted());
+        assertTrue(results.get(0).getError().contains("StackOverflowError"));
+        assertTrue(results.get(1).isCompleted());
+    }
+}
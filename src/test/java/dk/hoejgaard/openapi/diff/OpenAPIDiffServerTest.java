@@ -0,0 +1,134 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dk.hoejgaard.openapi.diff.cache.LruSpecCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OpenAPIDiffServerTest {
+
+    private static final String EXISTING = "./sample-api/elaborate_example_v1.json";
+    private static final String FUTURE = "./sample-api/elaborate_example_v3f.json";
+    private final ObjectMapper mapper = new ObjectMapper();
+    private LruSpecCache cache;
+    private OpenAPIDiffServer server;
+
+    @Before
+    public void start() throws IOException {
+        cache = new LruSpecCache(4);
+        server = new OpenAPIDiffServer(0, 2, cache);
+        server.start();
+    }
+
+    @After
+    public void stop() {
+        server.stop();
+    }
+
+    @Test
+    public void testPostedAPIsAreCompared() throws IOException {
+        ObjectNode apis = mapper.createObjectNode();
+        apis.set("existing", mapper.readTree(Files.readAllBytes(Paths.get(EXISTING))));
+        apis.put("future", new String(Files.readAllBytes(Paths.get(FUTURE)), StandardCharsets.UTF_8));
+        byte[] body = mapper.writeValueAsBytes(apis);
+
+        HttpURLConnection md = post("/diff?format=md&diff=all&maturity=full&versions=1", body);
+        assertEquals(200, md.getResponseCode());
+        assertTrue(md.getContentType().startsWith("text/markdown"));
+        assertTrue(read(md.getInputStream()).contains("API Comparison Results"));
+
+        HttpURLConnection json = post("/diff?format=json", body);
+        assertEquals(200, json.getResponseCode());
+        JsonNode report = mapper.readTree(read(json.getInputStream()));
+        assertTrue(report.get("resources").size() > 0);
+        assertEquals(2, cache.size());
+
+        HttpURLConnection txt = post("/diff", body);
+        assertEquals(200, txt.getResponseCode());
+        assertTrue(!read(txt.getInputStream()).contains("\u001B["));
+    }
+
+    @Test
+    public void testRepeatedComparisonGivesSameReport() throws IOException {
+        ObjectNode apis = mapper.createObjectNode();
+        apis.set("existing", mapper.readTree(Files.readAllBytes(Paths.get(EXISTING))));
+        apis.set("future", mapper.readTree(Files.readAllBytes(Paths.get(FUTURE))));
+        byte[] body = mapper.writeValueAsBytes(apis);
+        String first = read(post("/diff?format=md", body).getInputStream());
+        assertEquals(first, read(post("/diff?format=md", body).getInputStream()));
+    }
+
+    @Test
+    public void testRequestsThatCannotBeComparedAreRejected() throws IOException {
+        assertEquals(400, post("/diff?format=pdf", "{}".getBytes(StandardCharsets.UTF_8)).getResponseCode());
+        assertEquals(400, post("/diff?diff=wrong", "{}".getBytes(StandardCharsets.UTF_8)).getResponseCode());
+        assertEquals(400, post("/diff", "not json".getBytes(StandardCharsets.UTF_8)).getResponseCode());
+        assertEquals(400, post("/diff", "{\"existing\": {}}".getBytes(StandardCharsets.UTF_8)).getResponseCode());
+        HttpURLConnection get = (HttpURLConnection) url("/diff").openConnection();
+        assertEquals(405, get.getResponseCode());
+        HttpURLConnection health = (HttpURLConnection) url("/health").openConnection();
+        assertEquals(200, health.getResponseCode());
+        assertEquals("ok", read(health.getInputStream()));
+    }
+
+    @Test
+    public void testRequestsBeyondTheLimitAreNotParsed() throws Exception {
+        ObjectNode apis = mapper.createObjectNode();
+        apis.set("existing", mapper.readTree(Files.readAllBytes(Paths.get(EXISTING))));
+        apis.set("future", mapper.readTree(Files.readAllBytes(Paths.get(FUTURE))));
+        byte[] body = mapper.writeValueAsBytes(apis);
+        server.getComparisons().acquire(2);
+        try {
+            HttpURLConnection busy = post("/diff?format=md", body);
+            assertEquals(503, busy.getResponseCode());
+            assertEquals("1", busy.getHeaderField("Retry-After"));
+            assertEquals(0, cache.size());
+        } finally {
+            server.getComparisons().release(2);
+        }
+        assertEquals(200, post("/diff?format=md", body).getResponseCode());
+        assertEquals(2, cache.size());
+    }
+
+    private HttpURLConnection post(String path, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url(path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        return connection;
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL("http://localhost:" + server.getPort() + path);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        in.close();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -3,11 +3,16 @@ package dk.hoejgaard.openapi.diff;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 
 import static junit.framework.TestCase.assertFalse;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class OpenAPITest {
@@ -30,6 +35,59 @@ public class OpenAPITest {
         assertTrue(Files.exists(Paths.get("./target/output/reports/Test-Report.html")));
     }
 
+    @Test
+    public void testSeveralReportsFromOneComparison() throws Exception {
+        String[] args = {"./sample-api/elaborate_example_v1.json", "./sample-api/elaborate_example_v3f.json",
+            "./target/output/reports", "Test-Reports.txt,Test-Reports.md,Test-Reports.html,Test-Reports.json", "all", "full", "1"};
+        OpenAPIDiff.main(args);
+        String[] single = {"./sample-api/elaborate_example_v1.json", "./sample-api/elaborate_example_v3f.json",
+            "./target/output/reports", "Test-Single-Report.md", "all", "full", "1"};
+        OpenAPIDiff.main(single);
+        assertTrue(Files.exists(Paths.get("./target/output/reports/Test-Reports.txt")));
+        assertTrue(Files.exists(Paths.get("./target/output/reports/console-Test-Reports.txt")));
+        assertTrue(Files.exists(Paths.get("./target/output/reports/Test-Reports.html")));
+        assertTrue(Files.exists(Paths.get("./target/output/reports/Test-Reports.json")));
+        assertArrayEquals(Files.readAllBytes(Paths.get("./target/output/reports/Test-Single-Report.md")),
+            Files.readAllBytes(Paths.get("./target/output/reports/Test-Reports.md")));
+    }
+
+    @Test
+    public void testReportListedTwiceIsWrittenOnce() throws Exception {
+        assertEquals(Arrays.asList("a.txt", "b.md"), Reports.names("a.txt,b.md,a.txt"));
+        String[] args = {"./sample-api/elaborate_example_v1.json", "./sample-api/elaborate_example_v3f.json",
+            "./target/output/reports", "Test-Twice.md,Test-Twice.md", "all", "full", "1"};
+        OpenAPIDiff.main(args);
+        String[] once = {"./sample-api/elaborate_example_v1.json", "./sample-api/elaborate_example_v3f.json",
+            "./target/output/reports", "Test-Once.md", "all", "full", "1"};
+        OpenAPIDiff.main(once);
+        assertArrayEquals(Files.readAllBytes(Paths.get("./target/output/reports/Test-Once.md")),
+            Files.readAllBytes(Paths.get("./target/output/reports/Test-Twice.md")));
+    }
+
+    @Test
+    public void testMetricsAreWritten() throws Exception {
+        Files.deleteIfExists(Paths.get("./target/output/Test-Metrics.json"));
+        String[] args = {"./sample-api/elaborate_example_v1.json", "./sample-api/elaborate_example_v3f.json",
+            "--metrics=./target/output/Test-Metrics.json", "./target/output/reports", "Test-Metrics.md", "all", "full", "1"};
+        OpenAPIDiff.main(args);
+        assertTrue(Files.exists(Paths.get("./target/output/reports/Test-Metrics.md")));
+        JsonNode metrics = new ObjectMapper().readTree(Paths.get("./target/output/Test-Metrics.json").toFile());
+        assertTrue(metrics.get("phases").get("render").get("wallNanos").asLong() > 0);
+        assertTrue(metrics.get("paths").asLong() > 0);
+        assertTrue(metrics.get("slowestEndpoints").size() > 0);
+    }
+
+    @Test
+    public void testNumberOfSlowestEndpointsInMetricsIsConfigured() throws Exception {
+        Files.deleteIfExists(Paths.get("./target/output/Test-Metrics-Slowest.json"));
+        String[] args = {"./sample-api/elaborate_example_v1.json", "./sample-api/elaborate_example_v3f.json",
+            "--metrics=./target/output/Test-Metrics-Slowest.json", "--metrics-slowest=3", "./target/output/reports",
+            "Test-Metrics-Slowest.md", "all", "full", "1"};
+        OpenAPIDiff.main(args);
+        JsonNode metrics = new ObjectMapper().readTree(Paths.get("./target/output/Test-Metrics-Slowest.json").toFile());
+        assertEquals(3, metrics.get("slowestEndpoints").size());
+    }
+
     @Test
     public void testIncorrectInput2() throws Exception {
         String[] argsTxt = {"./sample-api/elaborate_example_v1.json", "./sample-api/elaborate_example_v3f.json",
@@ -0,0 +1,283 @@
+package dk.hoejgaard.openapi.diff;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Info;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.HeaderParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+
+/**
+ * Generates APIs of any size for scaling tests and benchmarks, the sample APIs are far smaller than the APIs found in
+ * production.
+ * <p>
+ * The generated API has a number of paths, each holding a number of operations. Every operation produces HAL in a number of
+ * versions, takes an id in the path, a query parameter holding a large enum and a limit having a maximum, and responds with
+ * the head of a chain of definitions referring to each other, e.g. "R1L0" refers to "R1L1" which refers to "R1L2". The same
+ * settings always give the same API.
+ * <pre>
+ *     Swagger existing = new SyntheticAPIs().paths(1000).operations(3).build();
+ *     Swagger future = SyntheticAPIs.mutate(existing, 10, SyntheticAPIs.Mutation.values());
+ * </pre>
+ */
+public final class SyntheticAPIs {
+    private static final HttpMethod[] METHODS = {HttpMethod.GET, HttpMethod.PUT, HttpMethod.POST, HttpMethod.DELETE, HttpMethod.PATCH};
+    private static final String HAL = "application/hal+json";
+    private static final int MAX_LIMIT = 100;
+    private static final String[] RESPONSE_HEADERS = {"X-Log-Token", "Content-Type", "Content-Encoding", "Cache-Control", "Expires",
+        "ETag", "Last-Modified", "X-RateLimit-Limit", "X-RateLimit-Limit-24h", "X-RateLimit-Remaining", "X-RateLimit-Reset"};
+
+    private int paths = 10;
+    private int operations = 3;
+    private int refDepth = 3;
+    private int enumSize = 10;
+    private int versions = 3;
+
+    /**
+     * the mutations a future API may be derived with, every one of them is found by the comparison
+     */
+    public enum Mutation {
+        /** a required query parameter is added */
+        ADDED_PARAMETER,
+        /** the limit parameter is removed */
+        REMOVED_PARAMETER,
+        /** the maximum of the limit parameter is lowered */
+        CHANGED_CONSTRAINT,
+        /** the not found response is removed */
+        REMOVED_RESPONSE
+    }
+
+    /**
+     * @param paths the number of paths in the API
+     */
+    public SyntheticAPIs paths(int paths) {
+        this.paths = atLeast(1, paths, "paths");
+        return this;
+    }
+
+    /**
+     * @param operations the number of operations on every path, from 1 to 5
+     */
+    public SyntheticAPIs operations(int operations) {
+        if (operations < 1 || operations > METHODS.length) {
+            throw new IllegalArgumentException("a path holds from 1 to " + METHODS.length + " operations, not " + operations);
+        }
+        this.operations = operations;
+        return this;
+    }
+
+    /**
+     * @param refDepth the number of definitions in the chain every path responds with
+     */
+    public SyntheticAPIs refDepth(int refDepth) {
+        this.refDepth = atLeast(1, refDepth, "refDepth");
+        return this;
+    }
+
+    /**
+     * @param enumSize the number of values in the enums of the parameters and the definitions
+     */
+    public SyntheticAPIs enumSize(int enumSize) {
+        this.enumSize = atLeast(1, enumSize, "enumSize");
+        return this;
+    }
+
+    /**
+     * @param versions the number of versioned content-types every operation produces
+     */
+    public SyntheticAPIs versions(int versions) {
+        this.versions = atLeast(0, versions, "versions");
+        return this;
+    }
+
+    /**
+     * @return the API having the given number of paths and operations, in the form it has when read from a file
+     */
+    public Swagger build() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < enumSize; i++) {
+            values.add("V" + i);
+        }
+        Swagger api = new Swagger()
+            .info(new Info().title("Synthetic API").version("1.0.0"))
+            .host("api.example.com")
+            .basePath("/");
+        for (int p = 0; p < paths; p++) {
+            String resource = "R" + p;
+            Path path = new Path();
+            for (int o = 0; o < operations; o++) {
+                path.set(METHODS[o].name().toLowerCase(Locale.ROOT), operation(resource, METHODS[o], values));
+            }
+            api.path("/resources" + p + "/{id}", path);
+            for (int level = 0; level < refDepth; level++) {
+                ModelImpl model = new ModelImpl()
+                    .type(ModelImpl.OBJECT)
+                    .property("id", new StringProperty().required(true))
+                    .property("kind", new StringProperty()._enum(values));
+                if (level + 1 < refDepth) {
+                    model.property("next", new RefProperty(resource + "L" + (level + 1)));
+                }
+                api.addDefinition(resource + "L" + level, model);
+            }
+        }
+        return copy(api);
+    }
+
+    /**
+     * derives a future API from an existing API by mutating every n-th operation, the mutations are applied in turn, which
+     * means the first mutated operation gets the first of the mutations, the second mutated operation the second and so on.
+     *
+     * @param existing  the API the future API is derived from, it is not changed
+     * @param every     the distance between the mutated operations, 1 mutates all of them
+     * @param mutations the mutations to apply
+     * @return a copy of the existing API having the mutations
+     */
+    public static Swagger mutate(Swagger existing, int every, Mutation... mutations) {
+        atLeast(1, every, "every");
+        if (mutations.length == 0) {
+            throw new IllegalArgumentException("at least one mutation must be given");
+        }
+        Swagger future = copy(existing);
+        int index = 0;
+        int mutated = 0;
+        for (Path path : future.getPaths().values()) {
+            for (Operation operation : path.getOperations()) {
+                if (index++ % every == 0) {
+                    mutate(operation, mutations[mutated++ % mutations.length]);
+                }
+            }
+        }
+        return future;
+    }
+
+    /**
+     * @param existing the API to count the operations of
+     * @param every    the distance between the mutated operations
+     * @return the number of operations mutated by {@link #mutate(Swagger, int, Mutation...)}
+     */
+    public static int mutated(Swagger existing, int every) {
+        int operations = 0;
+        for (Path path : existing.getPaths().values()) {
+            operations += path.getOperations().size();
+        }
+        return (operations + every - 1) / every;
+    }
+
+    /**
+     * writes the API as JSON, which allows parsing of large APIs to be measured
+     *
+     * @param api  the API to write
+     * @param file where the API is written
+     */
+    public static void write(Swagger api, java.nio.file.Path file) throws IOException {
+        Files.write(file, Json.mapper().writeValueAsBytes(api));
+    }
+
+    private Operation operation(String resource, HttpMethod method, List<String> values) {
+        String name = method.name().toLowerCase(Locale.ROOT) + resource;
+        List<String> produces = new ArrayList<>();
+        produces.add(HAL);
+        for (int v = 1; v <= versions; v++) {
+            produces.add(HAL + ";concept=" + resource.toLowerCase(Locale.ROOT) + ";v=" + v);
+        }
+        Operation operation = new Operation()
+            .operationId(name)
+            .summary(method.name().toLowerCase(Locale.ROOT) + "s " + resource)
+            .tag(resource)
+            .produces(produces)
+            .parameter(new HeaderParameter().name("Accept").type("string").required(true))
+            .parameter(new HeaderParameter().name("X-Service-Generation").type("string").required(true))
+            .parameter(new HeaderParameter().name("X-Client-Version").type("string").required(true))
+            .parameter(new HeaderParameter().name("X-Log-Token").type("string"))
+            .parameter(id())
+            .parameter(new QueryParameter().name("kind").type("string")._enum(values))
+            .parameter(limit(MAX_LIMIT))
+            .response(200, response("ok").schema(new RefProperty(resource + "L0")))
+            .response(404, response("not found"));
+        if (method == HttpMethod.PUT || method == HttpMethod.POST || method == HttpMethod.PATCH) {
+            operation.parameter(new BodyParameter().name("body").schema(new RefModel(resource + "L0")));
+        }
+        return operation;
+    }
+
+    /**
+     * the response has every header the comparison looks for, which keeps findings on the compliance of the generated API out
+     * of the comparison
+     */
+    private static Response response(String description) {
+        Response response = new Response().description(description);
+        for (String header : RESPONSE_HEADERS) {
+            response.header(header, new StringProperty());
+        }
+        return response;
+    }
+
+    private static PathParameter id() {
+        PathParameter id = new PathParameter().name("id").type("string");
+        id.setPattern("^[a-z0-9]{1,36}$");
+        return id;
+    }
+
+    private static QueryParameter limit(int maximum) {
+        QueryParameter limit = new QueryParameter().name("limit").type("integer");
+        limit.setMaximum(BigDecimal.valueOf(maximum));
+        return limit;
+    }
+
+    private static void mutate(Operation operation, Mutation mutation) {
+        switch (mutation) {
+            case ADDED_PARAMETER:
+                operation.parameter(new QueryParameter().name("added").type("string").required(true));
+                break;
+            case REMOVED_PARAMETER:
+                operation.getParameters().removeIf(parameter -> "limit".equals(parameter.getName()));
+                break;
+            case CHANGED_CONSTRAINT:
+                for (Parameter parameter : operation.getParameters()) {
+                    if ("limit".equals(parameter.getName())) {
+                        ((QueryParameter) parameter).setMaximum(BigDecimal.valueOf(MAX_LIMIT / 2));
+                    }
+                }
+                break;
+            default:
+                operation.getResponses().remove("404");
+        }
+    }
+
+    /**
+     * the API is copied through its JSON form, which gives the same model as reading the API from a file
+     */
+    private static Swagger copy(Swagger api) {
+        try {
+            return new SwaggerParser().parse(Json.mapper().writeValueAsString(api));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("could not copy the api", e);
+        }
+    }
+
+    private static int atLeast(int minimum, int value, String name) {
+        if (value < minimum) {
+            throw new IllegalArgumentException(name + " must be at least " + minimum + ", not " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,67 @@
+package dk.hoejgaard.openapi.diff;
+
+import dk.hoejgaard.openapi.diff.compare.OperationDiff;
+import dk.hoejgaard.openapi.diff.compare.ResourceDiff;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.QueryParameter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SyntheticAPIsTest {
+
+    @Test
+    public void testGeneratedAPIHasTheGivenSize() {
+        Swagger api = new SyntheticAPIs().paths(20).operations(5).refDepth(6).enumSize(200).versions(4).build();
+        assertEquals(20, api.getPaths().size());
+        assertEquals(20 * 6, api.getDefinitions().size());
+        Operation patch = api.getPath("/resources19/{id}").getPatch();
+        assertEquals(5, patch.getProduces().size());
+        assertEquals("application/hal+json;concept=r19;v=4", patch.getProduces().get(4));
+        assertEquals(200, patch.getParameters().stream()
+            .filter(parameter -> "kind".equals(parameter.getName()))
+            .mapToInt(parameter -> ((QueryParameter) parameter).getEnum().size())
+            .sum());
+        assertTrue(api.getDefinitions().get("R19L4").getProperties().containsKey("next"));
+        assertFalse(api.getDefinitions().get("R19L5").getProperties().containsKey("next"));
+    }
+
+    @Test
+    public void testIdenticalAPIsHaveNoChanges() {
+        APIDiff diff = new APIDiff(new SyntheticAPIs().paths(100).build(), new SyntheticAPIs().paths(100).build(),
+            Diff.ALL, Maturity.FULL, Versions.SINGLE);
+        assertTrue(diff.getAddedEndpoints().isEmpty());
+        assertTrue(diff.getMissingEndpoints().isEmpty());
+        assertTrue(diff.getChangedResourceDiffs().isEmpty());
+    }
+
+    @Test
+    public void testEveryMutationIsFound() {
+        Swagger existing = new SyntheticAPIs().paths(40).operations(4).build();
+        Swagger future = SyntheticAPIs.mutate(existing, 3, SyntheticAPIs.Mutation.values());
+        APIDiff diff = new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE);
+        int changed = 0;
+        int breaking = 0;
+        for (ResourceDiff resource : diff.getChangedResourceDiffs()) {
+            for (OperationDiff operation : resource.getChangedOperations().values()) {
+                changed++;
+                if (operation.isBroke()) {
+                    breaking++;
+                }
+            }
+        }
+        assertEquals(SyntheticAPIs.mutated(existing, 3), changed);
+        assertTrue(breaking > 0);
+        assertTrue(diff.getAddedEndpoints().isEmpty());
+        assertTrue(diff.getMissingEndpoints().isEmpty());
+        assertTrue(future.getPath("/resources0/{id}").getOperationMap().get(HttpMethod.GET).getParameters().stream()
+            .anyMatch(parameter -> "added".equals(parameter.getName())));
+    }
+}
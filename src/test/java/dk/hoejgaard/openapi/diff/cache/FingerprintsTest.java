@@ -0,0 +1,42 @@
+package dk.hoejgaard.openapi.diff.cache;
+
+import dk.hoejgaard.openapi.diff.SyntheticAPIs;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.StringProperty;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class FingerprintsTest {
+
+    @Test
+    public void testSameAPIHasSameFingerprints() {
+        Fingerprints first = Fingerprints.of(new SyntheticAPIs().paths(5).build());
+        Fingerprints second = Fingerprints.of(new SyntheticAPIs().paths(5).build());
+        assertEquals(first.path("/resources1/{id}"), second.path("/resources1/{id}"));
+        assertEquals(first.definition("R1L2"), second.definition("R1L2"));
+        assertNotEquals(first.path("/resources1/{id}"), first.path("/resources2/{id}"));
+        assertNull(first.path("/missing"));
+        assertNull(first.definition("Missing"));
+        assertEquals(Fingerprints.content("{}"), Fingerprints.content("{}"));
+        assertNotEquals(Fingerprints.content("{}"), Fingerprints.content("{ }"));
+    }
+
+    @Test
+    public void testChangedDefinitionChangesPathsReferringToIt() {
+        Swagger existing = new SyntheticAPIs().paths(5).refDepth(4).build();
+        Swagger future = SyntheticAPIs.mutate(existing, Integer.MAX_VALUE, SyntheticAPIs.Mutation.ADDED_PARAMETER);
+        future.getDefinitions().get("R3L3").getProperties().put("added", new StringProperty());
+        Fingerprints before = Fingerprints.of(existing);
+        Fingerprints after = Fingerprints.of(future);
+        assertNotEquals(before.path("/resources0/{id}"), after.path("/resources0/{id}"));
+        assertNotEquals(before.path("/resources3/{id}"), after.path("/resources3/{id}"));
+        assertNotEquals(before.definition("R3L3"), after.definition("R3L3"));
+        assertEquals(before.definition("R3L2"), after.definition("R3L2"));
+        assertEquals(before.path("/resources1/{id}"), after.path("/resources1/{id}"));
+        assertEquals(before.path("/resources2/{id}"), after.path("/resources2/{id}"));
+        assertEquals(before.path("/resources4/{id}"), after.path("/resources4/{id}"));
+    }
+}
@@ -0,0 +1,109 @@
+package dk.hoejgaard.openapi.diff.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+import dk.hoejgaard.openapi.diff.APIDiff;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import dk.hoejgaard.openapi.diff.output.ConsoleRender;
+import io.swagger.models.Swagger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LruSpecCacheTest {
+
+    private static final String EXISTING = "./sample-api/elaborate_example_v1.json";
+    private static final String FUTURE = "./sample-api/elaborate_example_v3f.json";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSameContentIsParsedOnce() throws IOException {
+        LruSpecCache cache = new LruSpecCache(4);
+        Swagger api = cache.read(EXISTING);
+        assertNotNull(api);
+        assertSame(api, cache.read(EXISTING));
+        Path copy = folder.newFile("copy.json").toPath();
+        Files.copy(new File(EXISTING).toPath(), copy, StandardCopyOption.REPLACE_EXISTING);
+        assertSame(api, cache.read(copy.toString()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testContentIsCachedAsTheLocationHoldingIt() throws IOException {
+        LruSpecCache cache = new LruSpecCache(4);
+        Swagger api = cache.read(EXISTING);
+        String content = new String(Files.readAllBytes(new File(EXISTING).toPath()), StandardCharsets.UTF_8);
+        assertSame(api, cache.readContent(content));
+        assertNull(cache.readContent("not an api-doc"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        LruSpecCache cache = new LruSpecCache(2);
+        Swagger existing = cache.read(EXISTING);
+        cache.read(FUTURE);
+        cache.read(EXISTING);
+        cache.read("./sample-api/petstore_v1.json");
+        assertEquals(2, cache.size());
+        assertSame(existing, cache.read(EXISTING));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNotSame(existing, cache.read(EXISTING));
+    }
+
+    @Test
+    public void testUnknownLocationIsNotCached() {
+        LruSpecCache cache = new LruSpecCache(2);
+        assertNull(cache.read("./sample-api/non_existing.json"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyCacheIsRejected() {
+        new LruSpecCache(0);
+    }
+
+    @Test
+    public void testSerializedFormGivesSameDiff() throws IOException {
+        Path directory = folder.newFolder("specs").toPath();
+        String expected = render(new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE));
+
+        render(new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE, null, new LruSpecCache(2, directory)));
+        try (Stream<Path> stored = Files.list(directory)) {
+            assertEquals(2, stored.filter(p -> p.toString().endsWith(".json")).count());
+        }
+        LruSpecCache reloaded = new LruSpecCache(2, directory);
+        assertEquals(expected,
+            render(new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE, null, reloaded)));
+        assertEquals(2, reloaded.size());
+    }
+
+    @Test
+    public void testCachedReferenceGivesSameDiff() {
+        LruSpecCache cache = new LruSpecCache(4);
+        String expected = render(new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE));
+        assertEquals(expected, render(new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE, null, cache)));
+        assertEquals(expected, render(new APIDiff(EXISTING, FUTURE, Diff.ALL, Maturity.FULL, Versions.SINGLE, null, cache)));
+    }
+
+    private static String render(APIDiff diff) {
+        return new ConsoleRender("title", "subtitle", EXISTING, FUTURE).render(diff);
+    }
+}
@@ -1,13 +1,19 @@
 package dk.hoejgaard.openapi.diff.compare;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import dk.hoejgaard.openapi.diff.model.ScopedProperty;
 import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
 import io.swagger.models.Swagger;
 import io.swagger.models.properties.BooleanProperty;
 import io.swagger.models.properties.LongProperty;
 import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
 import io.swagger.models.properties.StringProperty;
 import io.swagger.parser.SwaggerParser;
 import org.junit.Before;
@@ -15,6 +21,7 @@ import org.junit.Test;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -595,4 +602,105 @@ public class ElementDiffTest {
         assertTrue(pd.getPotentiallyBreaking().isEmpty());
     }
 
+
+    @Test
+    public void testCachedDiffEqualsDiff() {
+        Map<String, Model> models = api.getDefinitions();
+        Map<String, Model> futureModels = swaggerParser.read("elaborate_example_v3e.json").getDefinitions();
+        Model model = futureModels.get("Account");
+        StringProperty prop = new StringProperty();
+        prop.setRequired(true);
+        model.getProperties().put("name", prop);
+        ElementDiffCache cache = new ElementDiffCache();
+        for (String existingRef : models.keySet()) {
+            for (String futureRef : futureModels.keySet()) {
+                for (String scope : new String[]{"scope", "other.scope"}) {
+                    ElementDiff expected = new ElementDiff(models, futureModels, existingRef, futureRef, scope);
+                    ElementDiff cached = cache.diff(models, futureModels, existingRef, futureRef, scope);
+                    assertEquals(els(expected.getAdded()), els(cached.getAdded()));
+                    assertEquals(els(expected.getRemoved()), els(cached.getRemoved()));
+                    assertEquals(els(expected.getChanged()), els(cached.getChanged()));
+                    assertEquals(expected.getChangeCause(), cached.getChangeCause());
+                    assertEquals(expected.getBreaking(), cached.getBreaking());
+                    assertEquals(expected.getPotentiallyBreaking(), cached.getPotentiallyBreaking());
+                }
+            }
+        }
+        assertEquals(models.size() * futureModels.size(), cache.size());
+        ElementDiff account = cache.diff(models, futureModels, "Account", "Account", "scope");
+        assertFalse(account.getChanged().isEmpty());
+        assertFalse(account.getBreaking().isEmpty());
+    }
+
+    private static List<String> els(List<ScopedProperty> properties) {
+        List<String> els = new ArrayList<>();
+        for (ScopedProperty property : properties) {
+            els.add(property.getEl());
+        }
+        return els;
+    }
+
+    @Test
+    public void testDiffWithSelfReferringModel() {
+        Map<String, Model> models = new HashMap<>();
+        models.put("Node", node(new StringProperty(), "Node"));
+        Map<String, Model> futureModels = new HashMap<>();
+        StringProperty name = new StringProperty();
+        name.setRequired(true);
+        futureModels.put("Node", node(name, "Node"));
+        ElementDiff pd = new ElementDiff(models, futureModels, "Node", "Node", "scope");
+        assertEquals(1, pd.getChanged().size());
+        assertEquals("scope.name", pd.getChanged().get(0).getEl());
+        assertTrue(pd.getObservations().isEmpty());
+    }
+
+    @Test
+    public void testDiffWithMutuallyReferringModels() {
+        Map<String, Model> models = new HashMap<>();
+        models.put("Root", new ModelImpl());
+        Map<String, Model> futureModels = new HashMap<>();
+        ModelImpl root = new ModelImpl();
+        root.addProperty("tree", new RefProperty("#/definitions/Tree"));
+        futureModels.put("Root", root);
+        futureModels.put("Tree", node(new StringProperty(), "Forest"));
+        futureModels.put("Forest", node(new StringProperty(), "Tree"));
+        ElementDiff pd = new ElementDiff(models, futureModels, "Root", "Root", "scope");
+        assertEquals(2, pd.getAdded().size());
+        assertEquals("scope.tree.name", pd.getAdded().get(0).getEl());
+        assertEquals("scope.tree.next.name", pd.getAdded().get(1).getEl());
+        assertTrue(pd.getObservations().isEmpty());
+    }
+
+    @Test
+    public void testDiffWithDeeplyNestedModels() {
+        Map<String, Model> models = new HashMap<>();
+        Map<String, Model> futureModels = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            models.put("Level" + i, node(new StringProperty(), "Level" + (i + 1)));
+            futureModels.put("Level" + i, node(new StringProperty(), "Level" + (i + 1)));
+        }
+        StringProperty name = new StringProperty();
+        name.setRequired(true);
+        futureModels.put("Level39", node(name, "Level40"));
+        ElementDiff pd = new ElementDiff(models, futureModels, "Level0", "Level0", "scope");
+        assertTrue(pd.getChanged().isEmpty());
+        assertEquals(1, pd.getObservations().size());
+        assertTrue(pd.getObservations().keySet().iterator().next().endsWith(".next."));
+
+        pd = new ElementDiff(models, futureModels, "Level0", "Level0", "scope", 50);
+        assertEquals(1, pd.getChanged().size());
+        assertTrue(pd.getObservations().isEmpty());
+
+        ElementDiff cached = new ElementDiffCache(3).diff(models, futureModels, "Level0", "Level0", "scope");
+        assertEquals("scope.next.next.next.next.", cached.getObservations().keySet().iterator().next());
+        assertEquals("scope.next.next.next.next.comparison.of.Level4.and.Level4.stopped.at.max.depth.3",
+            cached.getObservations().get("scope.next.next.next.next.").get(0));
+    }
+
+    private static Model node(Property name, String next) {
+        ModelImpl model = new ModelImpl();
+        model.addProperty("name", name);
+        model.addProperty("next", new RefProperty("#/definitions/" + next));
+        return model;
+    }
 }
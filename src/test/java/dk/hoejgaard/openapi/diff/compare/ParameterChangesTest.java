@@ -3,6 +3,8 @@ package dk.hoejgaard.openapi.diff.compare;
 import java.math.BigDecimal;
 
 import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.model.Finding;
+import dk.hoejgaard.openapi.diff.model.Severity;
 import io.swagger.models.parameters.CookieParameter;
 import io.swagger.models.parameters.FormParameter;
 import io.swagger.models.parameters.HeaderParameter;
@@ -152,6 +154,12 @@ public class ParameterChangesTest {
         fdp.setMaxLength(30);
         changes = new ParameterChanges(cp, fdp, Diff.ALL);
         assertEquals(1, changes.getBreaking().size());
+        Finding breaking = changes.getFindings().get(Severity.BREAKING).get(0);
+        assertEquals("cookie.preference", breaking.getLocation());
+        assertEquals(".maxlength.changed", breaking.getRule());
+        assertEquals(50, breaking.getExisting());
+        assertEquals(30, breaking.getFuture());
+        assertEquals(".maxlength.changed.from.50.to.30", changes.getBreaking().get("cookie.preference").get(0));
     }
 
     @Test
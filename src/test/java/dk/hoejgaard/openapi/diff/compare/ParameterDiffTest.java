@@ -1,5 +1,6 @@
 package dk.hoejgaard.openapi.diff.compare;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -11,6 +12,7 @@ import io.swagger.models.Path;
 import io.swagger.models.Swagger;
 import io.swagger.models.parameters.HeaderParameter;
 import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.QueryParameter;
 import io.swagger.models.properties.Property;
 import io.swagger.models.properties.StringProperty;
 import io.swagger.parser.SwaggerParser;
@@ -127,6 +129,55 @@ public class ParameterDiffTest{
         assertEquals(1, pd.getChangedParams().size());
     }
 
+    @Test
+    public void testDiffWithSameNameInDifferentLocations() {
+        Map<String, Model> models = api.getDefinitions();
+        List<Parameter> parameters = new ArrayList<>();
+        parameters.add(new QueryParameter().name("filter"));
+        parameters.add(new HeaderParameter().name("filter"));
+        List<Parameter> changedParameters = new ArrayList<>();
+        changedParameters.add(new HeaderParameter().name("filter"));
+        changedParameters.add(new QueryParameter().name("filter"));
+        ParameterDiff pd = new ParameterDiff(models, models, Diff.BREAKING, parameters, changedParameters);
+        assertTrue(pd.getAddedParams().isEmpty());
+        assertTrue(pd.getMissingParams().isEmpty());
+        assertTrue(pd.getChangedParams().isEmpty());
+
+        changedParameters.set(0, new HeaderParameter().name("filter").required(true));
+        pd = new ParameterDiff(models, models, Diff.BREAKING, parameters, changedParameters);
+        assertEquals(1, pd.getChangedParams().size());
+        assertEquals("header", pd.getChangedParams().get(0).getFuture().getIn());
+    }
+
+    @Test
+    public void testDiffWithChangedLocation() {
+        Map<String, Model> models = api.getDefinitions();
+        List<Parameter> parameters = new ArrayList<>();
+        parameters.add(new QueryParameter().name("moved"));
+        List<Parameter> changedParameters = new ArrayList<>();
+        changedParameters.add(new HeaderParameter().name("moved"));
+        ParameterDiff pd = new ParameterDiff(models, models, Diff.BREAKING, parameters, changedParameters);
+        assertTrue(pd.getAddedParams().isEmpty());
+        assertTrue(pd.getMissingParams().isEmpty());
+    }
+
+    @Test
+    public void testDiffWithManyParameters() {
+        Map<String, Model> models = api.getDefinitions();
+        List<Parameter> parameters = new ArrayList<>();
+        List<Parameter> changedParameters = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            parameters.add(new QueryParameter().name("filter" + i));
+            changedParameters.add(new QueryParameter().name("filter" + (199 - i + 10)));
+        }
+        ParameterDiff pd = new ParameterDiff(models, models, Diff.BREAKING, parameters, changedParameters);
+        assertEquals(10, pd.getAddedParams().size());
+        assertEquals("filter209", pd.getAddedParams().get(0).getName());
+        assertEquals(10, pd.getMissingParams().size());
+        assertEquals("filter0", pd.getMissingParams().get(0).getName());
+        assertTrue(pd.getChangedParams().isEmpty());
+    }
+
     @Test
     public void testDiffWithDifferenceInBody() {
         Map<String, Model> models = api.getDefinitions();
@@ -42,6 +42,33 @@ public class ResponseTest {
         assertTrue(rc.checkCompliance(responses, HttpMethod.GET, true, "scope", observations));
     }
 
+    @Test
+    public void testRequiredResponsesPerVerbAreReused() {
+        List<String> requiredResponses = new ArrayList<>();
+        requiredResponses.add("200");
+        requiredResponses.add("201");
+        requiredResponses.add("404");
+
+        Response r = new Response();
+        Map<String, Response> responses = new LinkedHashMap<>();
+        responses.put("200", r);
+        responses.put("404", r);
+        ResponseChanges rc = new ResponseChanges(requiredResponses, true);
+        for (int i = 0; i < 3; i++) {
+            List<String> observations = new ArrayList<>();
+            assertFalse(rc.checkCompliance(responses, HttpMethod.HEAD, true, "scope", observations));
+            assertEquals(2, observations.size());
+            assertEquals("200", observations.get(0));
+            assertEquals("404", observations.get(1));
+            observations = new ArrayList<>();
+            assertFalse(rc.checkCompliance(responses, HttpMethod.POST, true, "scope", observations));
+            assertTrue(observations.isEmpty());
+        }
+        responses.put("201", r);
+        assertTrue(new ResponseChanges(requiredResponses).checkCompliance(responses, HttpMethod.POST, true, "scope", new ArrayList<>()));
+        assertTrue(new ResponseChanges(requiredResponses).checkCompliance(responses, HttpMethod.OPTIONS, true, "scope", new ArrayList<>()));
+    }
+
     @Test
     public void test200ResponseComplianceIncludingHeaders() {
         List<String> requiredResponses = new ArrayList<>();
@@ -1,7 +1,9 @@
 package dk.hoejgaard.openapi.diff.compare.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -158,4 +160,63 @@ public class ListsTest {
         assertEquals(2, diff.getAdded().size());
         assertEquals(1, diff.getRemoved().size());
     }
+
+    @Test
+    public void testDuplicatesInLists() {
+        List<String> referenceSet = Arrays.asList("A", "B", "A", "C", "A");
+        List<String> candidateSet = Arrays.asList("A", "D", "A", "B", "D", "A", "A");
+        Lists<String> diff = Lists.diff(referenceSet, candidateSet);
+        assertEquals(Arrays.asList("A", "B", "A", "A"), diff.getCommon());
+        assertEquals(Arrays.asList("C"), diff.getRemoved());
+        assertEquals(Arrays.asList("D", "D", "A"), diff.getAdded());
+    }
+
+    @Test
+    public void testOrderingEqualsScanningDiff() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            List<Integer> referenceSet = randomList(random);
+            List<Integer> candidateSet = randomList(random);
+            Lists<Integer> diff = Lists.diff(referenceSet, candidateSet);
+            List<Integer> added = new ArrayList<>(candidateSet);
+            List<Integer> removed = new ArrayList<>();
+            List<Integer> common = new ArrayList<>();
+            for (Integer element : referenceSet) {
+                if (candidateSet.contains(element)) {
+                    added.remove(element);
+                    common.add(element);
+                } else {
+                    removed.add(element);
+                }
+            }
+            assertEquals(added, diff.getAdded());
+            assertEquals(removed, diff.getRemoved());
+            assertEquals(common, diff.getCommon());
+        }
+    }
+
+    @Test
+    public void testLargeLists() {
+        List<String> referenceSet = new ArrayList<>();
+        List<String> candidateSet = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            referenceSet.add("element-" + i);
+            candidateSet.add("element-" + (i + 2500));
+        }
+        Lists<String> diff = Lists.diff(referenceSet, candidateSet);
+        assertEquals(7500, diff.getCommon().size());
+        assertEquals(2500, diff.getAdded().size());
+        assertEquals(2500, diff.getRemoved().size());
+        assertEquals("element-0", diff.getRemoved().get(0));
+        assertEquals("element-10000", diff.getAdded().get(0));
+    }
+
+    private static List<Integer> randomList(Random random) {
+        List<Integer> list = new ArrayList<>();
+        int size = random.nextInt(12);
+        for (int i = 0; i < size; i++) {
+            list.add(random.nextInt(6));
+        }
+        return list;
+    }
 }
@@ -1,10 +1,14 @@
 package dk.hoejgaard.openapi.diff.model;
 
+import java.util.Random;
+
 import org.junit.Test;
 
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ContentTypeTest {
@@ -67,4 +71,67 @@ public class ContentTypeTest {
         assertEquals("application/hal+json;concept=account;v=3", ct.toString());
     }
 
+    @Test
+    public void testContentTypeInstantiationConceptFollowedByMedia() {
+        ContentType ct =  new ContentType("application/hal+json;concept=accountapplication/hal+json;v=2");
+        assertTrue(ct.isJsonConceptCompliant());
+        assertTrue(ct.isSchemeCompliant());
+        assertTrue(ContentType.isHALJson("application/hal+json, application/hal+json;concept=account;v=1, "));
+        assertFalse(ContentType.isHALJson("application/hal+json;concept=a"));
+        assertFalse(ContentType.isJsonOnly("application/json;v=1;concept=account"));
+        assertFalse(new ContentType("application/json;concept=acc\nount;v=1").isSchemeCompliant());
+    }
+
+    @Test
+    public void testSharedContentType() {
+        ContentType ct = ContentType.of("application/hal+json;concept=account;v=3");
+        assertSame(ct, ContentType.of("application/hal+json;concept=account;v=3"));
+        assertNotSame(ct, ContentType.of("application/hal+json;concept=account;v=4"));
+        assertEquals("account", ct.getProjection());
+        assertEquals("3", ct.getVersion());
+        assertTrue(ct.isSchemeCompliant());
+    }
+
+    @Test
+    public void testContentTypeEqualsRegularExpressions() {
+        String[] tokens = {"application/hal+json", "application/json", ", ", ";concept=", ";v=", "concept=", "account", "a", "b2",
+            "1", "23", "application", "/", "+json", "\n", "\u2028", "A", ";", " ", "=", "v"};
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            if (random.nextBoolean()) {
+                sb.append(tokens[random.nextInt(2)]).append(";concept=");
+            }
+            int count = random.nextInt(9);
+            for (int j = 0; j < count; j++) {
+                sb.append(tokens[random.nextInt(tokens.length)]);
+            }
+            if (random.nextBoolean()) {
+                sb.append(";v=").append(random.nextInt(3));
+            }
+            String contentType = sb.toString();
+            if (contentType.indexOf(';') >= 0 && contentType.indexOf(';') < contentType.indexOf('/')) {
+                continue;
+            }
+            ContentType ct = new ContentType(contentType);
+            String media = "application/(hal\\+)?json";
+            String concept = "^((application\\/hal\\+json)+(, )?(;concept=[a-z][a-z0-9]+)?(;v=[0-9]+)?(, )*)+";
+            assertEquals(contentType, contentType.matches("^" + media + ";concept=(.*);v=[0-9]+"), ct.isSchemeCompliant());
+            assertEquals(contentType, contentType.matches(concept) || contentType.matches(concept.replace("hal\\+", "")),
+                ct.isJsonConceptCompliant());
+            assertEquals(contentType, contentType.matches(media), ct.isDefaultContentType());
+            assertEquals(contentType, contentType.matches(concept) || contentType.equals("application/hal+json"),
+                ContentType.isHALJson(contentType));
+            assertEquals(contentType, contentType.matches(concept.replace("hal\\+", "")) || contentType.equals("application/json"),
+                ContentType.isJsonOnly(contentType));
+            String parameters = "";
+            for (String param : contentType.split("concept=")) {
+                if (!param.contains(ct.getType()) && !param.contains(ct.getSubtype())) {
+                    parameters = "concept=" + param;
+                }
+            }
+            assertEquals(contentType, parameters, ct.getParameters());
+        }
+    }
+
 }
@@ -0,0 +1,124 @@
+package dk.hoejgaard.openapi.diff.model;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FindingsTest {
+
+    @Test
+    public void testMessageIsRenderedFromValues() {
+        Finding finding = new Finding(Severity.CHANGE, "query.limit", ".maxlength.changed", 10, 5);
+        assertEquals(".maxlength.changed.from.10.to.5", finding.getMessage());
+        assertEquals("query.limit", finding.getLocation());
+        assertEquals(".maxlength.changed", finding.getRule());
+        assertEquals(10, finding.getExisting());
+        assertEquals(5, finding.getFuture());
+        assertEquals("a plain finding", new Finding(Severity.FLAW, "flaw", "a plain finding").getMessage());
+        assertEquals(".type.changed.from.null.to.string",
+            new Finding(Severity.CHANGE, "path.id", ".type.changed", null, "string").getMessage());
+    }
+
+    @Test
+    public void testSeverityIsPartOfTheFinding() {
+        Finding change = new Finding(Severity.CHANGE, "query.limit", ".maxlength.changed", 10, 5);
+        Finding breaking = change.as(Severity.BREAKING);
+        assertEquals(Severity.BREAKING, breaking.getSeverity());
+        assertEquals(change.getMessage(), breaking.getMessage());
+        assertNotEquals(change, breaking);
+        assertEquals(breaking, new Finding(Severity.BREAKING, "query.limit", ".maxlength.changed", 10, 5));
+        assertEquals("changequery.limit", change.as(Severity.FLAW, "changequery.limit").getLocation());
+    }
+
+    @Test
+    public void testAddIgnoresSameFinding() {
+        Findings findings = new Findings();
+        assertTrue(findings.isEmpty(Severity.BREAKING));
+        assertTrue(findings.add(new Finding(Severity.BREAKING, "origin", "breaking 1")));
+        assertFalse(findings.add(new Finding(Severity.BREAKING, "origin", "breaking 1")));
+        assertTrue(findings.add(new Finding(Severity.BREAKING, "origin", "breaking 2")));
+        assertTrue(findings.add(new Finding(Severity.CHANGE, "origin", "breaking 1")));
+        assertFalse(findings.isEmpty(Severity.BREAKING));
+        assertTrue(findings.contains(Severity.BREAKING, "origin"));
+        assertFalse(findings.contains(Severity.FLAW, "origin"));
+        assertEquals(2, findings.get(Severity.BREAKING).size());
+        assertEquals(1, findings.get(Severity.CHANGE).size());
+        assertTrue(findings.get(Severity.FLAW).isEmpty());
+    }
+
+    @Test
+    public void testAppendKeepsSameFinding() {
+        Findings findings = new Findings();
+        findings.append(new Finding(Severity.FLAW, "origin", "flaw"));
+        findings.append(new Finding(Severity.FLAW, "origin", "flaw"));
+        assertEquals(2, findings.getMessages(Severity.FLAW).get("origin").size());
+    }
+
+    @Test
+    public void testReplaceDropsFindingsAtLocation() {
+        Findings findings = new Findings();
+        findings.add(new Finding(Severity.CHANGE, "origin", "change 1"));
+        findings.add(new Finding(Severity.CHANGE, "origin", "change 2"));
+        findings.add(new Finding(Severity.CHANGE, "other", "change 1"));
+        findings.replace(new Finding(Severity.CHANGE, "origin", "flaw"));
+        Map<String, List<String>> changes = findings.getMessages(Severity.CHANGE);
+        assertEquals(2, changes.size());
+        assertEquals(1, changes.get("origin").size());
+        assertEquals("flaw", changes.get("origin").get(0));
+        assertTrue(findings.add(new Finding(Severity.CHANGE, "origin", "change 1")));
+    }
+
+    @Test
+    public void testReplaceKeepsPlaceOfLocation() {
+        Findings findings = new Findings();
+        findings.add(new Finding(Severity.FLAW, "first", "flaw 1"));
+        findings.add(new Finding(Severity.FLAW, "second", "flaw 2"));
+        findings.add(new Finding(Severity.FLAW, "first", "flaw 3"));
+        findings.replace(new Finding(Severity.FLAW, "first", "flaw 4"));
+        List<Finding> flaws = findings.get(Severity.FLAW);
+        assertEquals(2, flaws.size());
+        assertEquals("flaw 4", flaws.get(0).getMessage());
+        assertEquals("flaw 2", flaws.get(1).getMessage());
+    }
+
+    @Test
+    public void testMessagesAreBuiltInRecordedOrder() {
+        Findings findings = new Findings();
+        assertTrue(findings.getMessages(Severity.POTENTIALLY_BREAKING).isEmpty());
+        findings.add(new Finding(Severity.POTENTIALLY_BREAKING, "origin", ".minlength.changed", 1, 2));
+        findings.add(new Finding(Severity.CHANGE, "origin", "change"));
+        findings.add(new Finding(Severity.POTENTIALLY_BREAKING, "origin", ".maxlength.changed", 1, 2));
+        Map<String, List<String>> messages = findings.getMessages(Severity.POTENTIALLY_BREAKING);
+        assertEquals(1, messages.size());
+        assertEquals(".minlength.changed.from.1.to.2", messages.get("origin").get(0));
+        assertEquals(".maxlength.changed.from.1.to.2", messages.get("origin").get(1));
+    }
+
+    @Test
+    public void testExplainedFindingPlacesValues() {
+        Finding finding = Finding.explained(Severity.BREAKING, "header", "request.header.missing", "the header {0} was not found in {1}",
+            "X-Log-Token", "GET");
+        assertEquals("request.header.missing", finding.getRule());
+        assertEquals("the header X-Log-Token was not found in GET", finding.getMessage());
+        assertFalse(finding.isChange());
+        assertEquals("keeps {2} and {name}", Finding.explained(Severity.FLAW, "flaw", "rule", "keeps {2} and {name}", 1).getMessage());
+    }
+
+    @Test
+    public void testFindingWithinScope() {
+        Finding finding = new Finding(Severity.BREAKING, "", "maxlength.changed", 10, 5).within(".name.");
+        assertEquals(".name.", finding.getLocation());
+        assertEquals(".name.maxlength.changed.from.10.to.5", finding.getMessage());
+        Finding scoped = finding.within("Pet.response.body");
+        assertEquals("Pet.response.body.name.", scoped.getLocation());
+        assertEquals("Pet.response.body.name.maxlength.changed.from.10.to.5", scoped.getMessage());
+        assertEquals(scoped.getMessage(), scoped.as(Severity.CHANGE, "other").getMessage());
+    }
+}
@@ -1,11 +1,24 @@
 package dk.hoejgaard.openapi.diff.output;
 
+import java.io.StringReader;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dk.hoejgaard.openapi.diff.APIDiff;
+import dk.hoejgaard.openapi.diff.compare.OperationDiff;
+import dk.hoejgaard.openapi.diff.compare.ResourceDiff;
 import dk.hoejgaard.openapi.diff.criteria.Diff;
 import dk.hoejgaard.openapi.diff.criteria.Maturity;
 import dk.hoejgaard.openapi.diff.criteria.Versions;
+import dk.hoejgaard.openapi.diff.model.Severity;
 import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -80,4 +93,104 @@ public class RendererTest {
         assertTrue(htmlContent.contains(future));
     }
 
+    @Test
+    public void testXml() throws Exception {
+        APIDiff api = new APIDiff(existing, future, diffLevel, Maturity.FULL, versions);
+        String xmlContent = new XmlRender(
+            "API Comparison Results", "Delivered by Open API Diff tooling", existing, future, "4.3").render(api);
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+            .parse(new InputSource(new StringReader(xmlContent)));
+        assertEquals("checkstyle", document.getDocumentElement().getTagName());
+        assertEquals("4.3", document.getDocumentElement().getAttribute("version"));
+        NodeList files = document.getElementsByTagName("file");
+        assertTrue(files.getLength() > 0);
+        NodeList errors = document.getElementsByTagName("error");
+        int breaking = 0;
+        for (int i = 0; i < errors.getLength(); i++) {
+            Element error = (Element) errors.item(i);
+            assertTrue(error.getAttribute("severity").matches("error|warning|info"));
+            if ("error".equals(error.getAttribute("severity"))) {
+                breaking++;
+            }
+        }
+        int expected = api.getMissingEndpoints().size();
+        for (ResourceDiff resource : api.getAllDiffs()) {
+            for (OperationDiff operation : resource.getChangedOperations().values()) {
+                expected += operation.getFindings().get(Severity.BREAKING).size();
+            }
+        }
+        assertEquals(expected, breaking);
+    }
+
+    @Test
+    public void testXmlHasFlawsOfNonCompliantOperations() throws Exception {
+        String petstore = "./sample-api/petstore_v2.json";
+        String nextPetstore = "./sample-api/petstore_v3.json";
+        APIDiff api = new APIDiff(petstore, nextPetstore, diffLevel, Maturity.FULL, versions);
+        String xmlContent = new XmlRender(
+            "API Comparison Results", "Delivered by Open API Diff tooling", petstore, nextPetstore, "4.3").render(api);
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+            .parse(new InputSource(new StringReader(xmlContent)));
+        assertEquals(21, document.getElementsByTagName("file").getLength());
+        assertEquals(171, document.getElementsByTagName("error").getLength());
+        Element nonCompliant = null;
+        NodeList files = document.getElementsByTagName("file");
+        for (int i = 0; i < files.getLength(); i++) {
+            Element file = (Element) files.item(i);
+            if ("POST /pet/{petId}/image".equals(file.getAttribute("name"))) {
+                nonCompliant = file;
+            }
+        }
+        assertNotNull(nonCompliant);
+        NodeList errors = nonCompliant.getElementsByTagName("error");
+        assertEquals(4, errors.getLength());
+        for (int i = 0; i < errors.getLength(); i++) {
+            assertEquals("info", ((Element) errors.item(i)).getAttribute("severity"));
+        }
+    }
+
+    @Test
+    public void testJson() throws Exception {
+        APIDiff api = new APIDiff(existing, future, diffLevel, Maturity.FULL, versions);
+        String jsonContent = new JsonRender(
+            "API Comparison Results", "Delivered by Open API Diff tooling", existing, future).render(api);
+        JsonNode report = new ObjectMapper().readTree(jsonContent);
+        assertEquals("API Comparison Results", report.get("title").asText());
+        assertEquals(existing, report.get("reference").asText());
+        assertEquals(api.getAddedEndpoints().size(), report.get("addedEndpoints").size());
+        assertEquals(api.getMissingEndpoints().size(), report.get("removedEndpoints").size());
+        assertEquals(api.getChangedEndpoints().size(), report.get("changedEndpoints").size());
+        assertEquals(api.getAllDiffs().size(), report.get("resources").size());
+        ResourceDiff resource = api.getChangedResourceDiffs().get(0);
+        JsonNode resourceNode = report.get("resources").get(api.getAllDiffs().indexOf(resource));
+        assertEquals(resource.getPathUrl(), resourceNode.get("path").asText());
+        OperationDiff operation = resource.getChangedOperations().values().iterator().next();
+        JsonNode findings = resourceNode.get("changedOperations").get(0).get("findings");
+        for (Severity severity : Severity.values()) {
+            assertEquals(operation.getFindings().get(severity).size(), findings.get(severity.name().toLowerCase()).size());
+        }
+    }
+
+    @Test
+    public void testJsonHasNonCompliantOperations() throws Exception {
+        String petstore = "./sample-api/petstore_v2.json";
+        String nextPetstore = "./sample-api/petstore_v3.json";
+        APIDiff api = new APIDiff(petstore, nextPetstore, diffLevel, Maturity.FULL, versions);
+        String jsonContent = new JsonRender(
+            "API Comparison Results", "Delivered by Open API Diff tooling", petstore, nextPetstore).render(api);
+        JsonNode resources = new ObjectMapper().readTree(jsonContent).get("resources");
+        JsonNode nonCompliant = null;
+        int operations = 0;
+        for (JsonNode resource : resources) {
+            for (JsonNode operation : resource.get("nonCompliantOperations")) {
+                assertEquals("/pet/{petId}/image", resource.get("path").asText());
+                nonCompliant = operation;
+                operations++;
+            }
+        }
+        assertEquals(1, operations);
+        assertEquals("POST", nonCompliant.get("verb").asText());
+        assertEquals(4, nonCompliant.get("findings").get("flaw").size());
+        assertEquals(0, nonCompliant.get("findings").get("existing_flaw").size());
+    }
 }
@@ -0,0 +1,62 @@
+package dk.hoejgaard.openapi.diff.output;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import dk.hoejgaard.openapi.diff.APIDiff;
+import dk.hoejgaard.openapi.diff.criteria.Diff;
+import dk.hoejgaard.openapi.diff.criteria.Maturity;
+import dk.hoejgaard.openapi.diff.criteria.Versions;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ReportWriterTest {
+
+    private static String existing = "./sample-api/elaborate_example_v1.json";
+    private static String future = "./sample-api/elaborate_example_v3f.json";
+
+    @Test
+    public void testReportIsTrimmedAndEndedByNewline() throws IOException {
+        assertEquals("a report\n\n  with lines\n", write(false, "  \n a report", "\n\n  with lines", "  \n\t "));
+        assertEquals("\n", write(false, " ", "\n"));
+    }
+
+    @Test
+    public void testColourCodesAreLeftOutOfPlainReport() throws IOException {
+        String coloured = " \u001B[31mred\u001B[0m and\n ";
+        assertEquals("red and  bold \u001B[123m \u001Bx \u001B[\n", write(true, "\u001B[31mred\u001B[0m and \u001B[1",
+            "m bold \u001B[123m \u001Bx \u001B["));
+        assertEquals(coloured.trim() + "\n", write(false, coloured));
+    }
+
+    @Test
+    public void testStreamedReportEqualsRenderedReport() throws IOException {
+        APIDiff api = new APIDiff(existing, future, Diff.ALL, Maturity.FULL, Versions.SINGLE);
+        ConsoleRender console = new ConsoleRender("API Comparison Results", "Delivered by Open API Diff tooling", existing, future);
+        String rendered = console.render(api);
+        StringWriter copy = new StringWriter();
+        StringWriter plain = new StringWriter();
+        try (Writer report = new ReportWriter(plain, true, copy)) {
+            console.render(api, report);
+        }
+        assertEquals(rendered, copy.toString());
+        assertEquals(rendered.replaceAll("\u001B\\[[0-9]{1,2}m", "").trim() + "\n", plain.toString());
+
+        MarkdownRender markdown = new MarkdownRender("API Comparison Results", "Delivered by Open API Diff tooling", existing, future);
+        StringBuilder streamed = new StringBuilder();
+        markdown.render(api, streamed);
+        assertEquals(markdown.render(api), streamed.toString());
+    }
+
+    private static String write(boolean plain, String... parts) throws IOException {
+        StringWriter out = new StringWriter();
+        try (Writer report = new ReportWriter(out, plain)) {
+            for (String part : parts) {
+                report.write(part);
+            }
+        }
+        return out.toString();
+    }
+}